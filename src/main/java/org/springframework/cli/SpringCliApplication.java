@@ -16,10 +16,16 @@
 
 package org.springframework.cli;
 
+import java.io.IOException;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ClientHttpConnectorAutoConfiguration;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.cli.config.SpringCliRuntimeHints;
+import org.springframework.cli.daemon.DaemonClient;
+import org.springframework.cli.daemon.DaemonServer;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.shell.command.annotation.CommandScan;
 
@@ -28,17 +34,54 @@ import org.springframework.shell.command.annotation.CommandScan;
  *
  * @author Janne Valkealahti
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = ClientHttpConnectorAutoConfiguration.class)
 @ImportRuntimeHints(SpringCliRuntimeHints.class)
 @CommandScan
 public class SpringCliApplication {
 
-	public static void main(String[] args) {
+	private static final String DAEMON_PROPERTY_NAME = "spring.cli.daemon.enabled";
+
+	public static void main(String[] args) throws IOException {
+		if (Boolean.getBoolean(DAEMON_PROPERTY_NAME)) {
+			runDaemon(args);
+			return;
+		}
+		// a startup report is about the startup of this process
+		if (args.length > 0 && DaemonClient.isEnabled() && !StartupReport.isRequested(args)) {
+			Integer exitCode = DaemonClient.run(args);
+			if (exitCode != null) {
+				System.exit(exitCode);
+			}
+		}
+		SpringApplication app = new SpringApplicationBuilder(SpringCliApplication.class)
+			.properties("spring.config.name=springcliapp")
+			.properties("spring.config.location=classpath:/springcliapp.yml")
+			.build();
+		if (!StartupReport.isRequested(args)) {
+			app.run(args);
+			return;
+		}
+		StartupReport startupReport = new StartupReport();
+		app.setApplicationStartup(startupReport.getApplicationStartup());
+		try {
+			app.run(StartupReport.removeOption(args));
+		}
+		finally {
+			// printed to stderr so that machine readable output of the command stays intact
+			System.err.print(startupReport.render());
+		}
+	}
+
+	private static void runDaemon(String[] args) throws IOException {
 		SpringApplication app = new SpringApplicationBuilder(SpringCliApplication.class)
 			.properties("spring.config.name=springcliapp")
 			.properties("spring.config.location=classpath:/springcliapp.yml")
+			.properties("spring.shell.interactive.enabled=false")
+			.properties("spring.shell.noninteractive.enabled=false")
 			.build();
-		app.run(args);
+		try (ConfigurableApplicationContext context = app.run(args)) {
+			context.getBean(DaemonServer.class).serve();
+		}
 	}
 
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Timing breakdown of the startup of the CLI, requested with {@code --startup-report}.
+ * Lists the startup phases in order, followed by the beans which took the longest to
+ * create, not counting the time spent creating the beans they depend on.
+ */
+final class StartupReport {
+
+	static final String OPTION = "--startup-report";
+
+	private static final String BEAN_STEP_NAME = "spring.beans.instantiate";
+
+	private static final int CAPACITY = 10_000;
+
+	private static final int MAX_BEANS = 20;
+
+	private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(CAPACITY);
+
+	static boolean isRequested(String[] args) {
+		return Arrays.asList(args).contains(OPTION);
+	}
+
+	static String[] removeOption(String[] args) {
+		return Arrays.stream(args).filter((arg) -> !OPTION.equals(arg)).toArray(String[]::new);
+	}
+
+	ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
+	/**
+	 * Renders the steps recorded so far.
+	 * @return the report
+	 */
+	String render() {
+		return render(this.applicationStartup.getBufferedTimeline());
+	}
+
+	static String render(StartupTimeline timeline) {
+		List<TimelineEvent> events = timeline.getEvents();
+		Map<Long, Duration> childDurations = new HashMap<>();
+		for (TimelineEvent event : events) {
+			Long parentId = event.getStartupStep().getParentId();
+			if (parentId != null) {
+				childDurations.merge(parentId, event.getDuration(), Duration::plus);
+			}
+		}
+		List<TimelineEvent> phases = new ArrayList<>();
+		List<BeanTiming> beans = new ArrayList<>();
+		for (TimelineEvent event : events) {
+			StartupStep step = event.getStartupStep();
+			if (BEAN_STEP_NAME.equals(step.getName())) {
+				Duration own = event.getDuration().minus(childDurations.getOrDefault(step.getId(), Duration.ZERO));
+				beans.add(new BeanTiming(getTag(step, "beanName"), own));
+			}
+			else {
+				phases.add(event);
+			}
+		}
+		phases.sort(Comparator.comparing(TimelineEvent::getStartTime));
+		beans.sort(Comparator.comparing(BeanTiming::duration).reversed());
+
+		StringBuilder report = new StringBuilder();
+		Duration total = events.stream()
+			.map((event) -> Duration.between(timeline.getStartTime(), event.getEndTime()))
+			.max(Comparator.naturalOrder())
+			.orElse(Duration.ZERO);
+		report.append("Startup report, ").append(total.toMillis()).append(" ms").append(System.lineSeparator());
+		report.append(System.lineSeparator()).append("Phases:").append(System.lineSeparator());
+		for (TimelineEvent phase : phases) {
+			appendLine(report, phase.getDuration(), phase.getStartupStep().getName());
+		}
+		report.append(System.lineSeparator()).append("Beans, slowest first:").append(System.lineSeparator());
+		for (BeanTiming bean : beans.subList(0, Math.min(MAX_BEANS, beans.size()))) {
+			appendLine(report, bean.duration(), bean.name());
+		}
+		return report.toString();
+	}
+
+	private static void appendLine(StringBuilder report, Duration duration, String name) {
+		report.append(String.format("%8d ms  %s", duration.toMillis(), name)).append(System.lineSeparator());
+	}
+
+	private static String getTag(StartupStep step, String key) {
+		for (StartupStep.Tag tag : step.getTags()) {
+			if (key.equals(tag.getKey())) {
+				return tag.getValue();
+			}
+		}
+		return "<unknown>";
+	}
+
+	private record BeanTiming(String name, Duration duration) {
+	}
+
+}
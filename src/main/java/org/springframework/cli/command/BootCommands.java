@@ -50,17 +50,23 @@ public class BootCommands extends AbstractSpringCliCommands {
 			@Option(description = "Version of the new project") String version,
 			@Option(description = "Description of the new project") String description,
 			@Option(longNames = "package-name", description = "Package name for the new project") String packageName,
-			@Option(description = "Path on which to run the command. Most of the time, you can not specify the path and use the default value, which is the current working directory.") String path) {
+			@Option(description = "Path on which to run the command. Most of the time, you can not specify the path and use the default value, which is the current working directory.") String path,
+			@Option(description = "Download the project again instead of using a locally cached copy",
+					defaultValue = "false") boolean refresh) {
 		ProjectInfo projectInfo = new ProjectInfo(groupId, artifactId, version, name, description, packageName);
-		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage);
+		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				refresh);
 		handler.create(from, path, projectInfo);
 	}
 
 	@Command(command = "add", description = "Merge an existing project into the current Spring Boot project")
 	public void bootAdd(@Option(
 			description = "Add to the current project from an existing project by specifying the existing project's name or URL.") String from,
-			@Option(description = "Path") String path) {
-		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage);
+			@Option(description = "Path") String path,
+			@Option(description = "Download the project again instead of using a locally cached copy",
+					defaultValue = "false") boolean refresh) {
+		ProjectHandler handler = new ProjectHandler(springCliUserConfig, sourceRepositoryService, terminalMessage,
+				refresh);
 		handler.add(from, path);
 	}
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.util.TerminalMessage;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+import org.springframework.shell.table.ArrayTableModel;
+import org.springframework.shell.table.BorderStyle;
+import org.springframework.shell.table.Table;
+import org.springframework.shell.table.TableBuilder;
+import org.springframework.shell.table.TableModel;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Commands to inspect and clear the locally cached content, such as downloaded
+ * repositories and Maven poms.
+ */
+@Command(command = "cache", group = "Cache")
+public class CacheCommands extends AbstractSpringCliCommands {
+
+	private final SpringCliUserConfig springCliUserConfig;
+
+	private final TerminalMessage terminalMessage;
+
+	@Autowired
+	public CacheCommands(SpringCliUserConfig springCliUserConfig, TerminalMessage terminalMessage) {
+		this.springCliUserConfig = springCliUserConfig;
+		this.terminalMessage = terminalMessage;
+	}
+
+	@Command(command = "list", description = "List local caches and their size")
+	public Table cacheList() {
+		List<String[]> rows = new ArrayList<>();
+		rows.add(new String[] { "Name", "Files", "Size" });
+		for (Path cache : getCaches()) {
+			long[] filesAndSize = filesAndSize(cache);
+			rows.add(new String[] { cache.getFileName().toString(), Long.toString(filesAndSize[0]),
+					formatSize(filesAndSize[1]) });
+		}
+		TableModel model = new ArrayTableModel(rows.toArray(String[][]::new));
+		TableBuilder tableBuilder = new TableBuilder(model);
+		return tableBuilder.addFullBorder(BorderStyle.fancy_light).build();
+	}
+
+	@Command(command = "clear", description = "Clear local caches")
+	public void cacheClear(
+			@Option(description = "Name of the cache to clear, all caches are cleared if not set") String name) {
+		List<Path> caches = getCaches();
+		if (StringUtils.hasText(name)) {
+			caches = caches.stream().filter(cache -> cache.getFileName().toString().equals(name)).toList();
+			if (caches.isEmpty()) {
+				throw new SpringCliException("Cache '" + name + "' does not exist.");
+			}
+		}
+		for (Path cache : caches) {
+			try {
+				FileSystemUtils.deleteRecursively(cache);
+				this.terminalMessage.print("Cache '" + cache.getFileName() + "' cleared.");
+			}
+			catch (IOException ex) {
+				throw new SpringCliException("Could not clear cache " + cache + ".  " + ex.getMessage(), ex);
+			}
+		}
+	}
+
+	private List<Path> getCaches() {
+		Path cacheDir = this.springCliUserConfig.getCacheDir();
+		if (!Files.isDirectory(cacheDir)) {
+			return List.of();
+		}
+		try (Stream<Path> paths = Files.list(cacheDir)) {
+			return paths.filter(Files::isDirectory).sorted().toList();
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Could not list caches in " + cacheDir + ".  " + ex.getMessage(), ex);
+		}
+	}
+
+	private static long[] filesAndSize(Path cache) {
+		try (Stream<Path> paths = Files.walk(cache)) {
+			long[] filesAndSize = new long[2];
+			paths.filter(Files::isRegularFile).forEach(path -> {
+				filesAndSize[0]++;
+				try {
+					filesAndSize[1] += Files.size(path);
+				}
+				catch (IOException ex) {
+					// file removed while walking, ignore
+				}
+			});
+			return filesAndSize;
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Could not read cache " + cache + ".  " + ex.getMessage(), ex);
+		}
+	}
+
+	private static String formatSize(long size) {
+		if (size < 1024) {
+			return size + " B";
+		}
+		if (size < 1024 * 1024) {
+			return String.format("%.1f KB", size / 1024.0);
+		}
+		return String.format("%.1f MB", size / (1024.0 * 1024));
+	}
+
+}
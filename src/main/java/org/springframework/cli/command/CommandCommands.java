@@ -82,8 +82,10 @@ public class CommandCommands extends AbstractSpringCliCommands {
 	}
 
 	@Command(command = "add", description = "Add a user-defined command")
-	public void commandAdd(@Option(description = "Add user-defined command from a URL.") String from) {
-		Path downloadedCommandPath = sourceRepositoryService.retrieveRepositoryContents(from);
+	public void commandAdd(@Option(description = "Add user-defined command from a URL.") String from,
+			@Option(description = "Download the command again instead of using a locally cached copy",
+					defaultValue = "false") boolean refresh) {
+		Path downloadedCommandPath = sourceRepositoryService.retrieveRepositoryContents(from, refresh);
 		logger.debug("downloaded command path ", downloadedCommandPath);
 		Path cwd = IoUtils.getWorkingDirectory().toAbsolutePath();
 
@@ -28,6 +28,7 @@ import org.kohsuke.github.RateLimitChecker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.config.SpringCliUserConfig.Host;
@@ -56,7 +57,7 @@ public class GithubCommands extends AbstractSpringCliCommands {
 
 	private static final RateLimitChecker RATE_LIMIT_CHECKER = new RateLimitChecker.LiteralValue(0);
 
-	private WebClient.Builder webClientBuilder;
+	private ObjectProvider<WebClient.Builder> webClientBuilder;
 
 	private ComponentFlow.Builder componentFlowBuilder;
 
@@ -65,7 +66,7 @@ public class GithubCommands extends AbstractSpringCliCommands {
 	private SpringCliTerminal terminal;
 
 	@Autowired
-	public GithubCommands(Builder webClientBuilder, ComponentFlow.Builder componentFlowBuilder,
+	public GithubCommands(ObjectProvider<Builder> webClientBuilder, ComponentFlow.Builder componentFlowBuilder,
 			SpringCliUserConfig userConfig, SpringCliTerminal springCliTerminal) {
 		this.webClientBuilder = webClientBuilder;
 		this.componentFlowBuilder = componentFlowBuilder;
@@ -85,7 +86,8 @@ public class GithubCommands extends AbstractSpringCliCommands {
 
 		if (ObjectUtils.nullSafeEquals(authType, "web")) {
 			GithubDeviceFlow githubDeviceFlow = new GithubDeviceFlow("https://github.com");
-			Map<String, String> response = githubDeviceFlow.requestDeviceFlow(webClientBuilder, clientId, scopes);
+			WebClient.Builder builder = webClientBuilder.getObject();
+			Map<String, String> response = githubDeviceFlow.requestDeviceFlow(builder, clientId, scopes);
 
 			AttributedString styledStr = terminal.styledString("!", StyleSettings.TAG_LEVEL_WARN);
 			styledStr = terminal.join(styledStr, terminal.styledString(
@@ -94,7 +96,7 @@ public class GithubCommands extends AbstractSpringCliCommands {
 					terminal.styledString(response.get("user_code"), StyleSettings.TAG_HIGHLIGHT));
 			terminal.print(styledStr);
 
-			Optional<String> token = githubDeviceFlow.waitTokenFromDeviceFlow(webClientBuilder, clientId,
+			Optional<String> token = githubDeviceFlow.waitTokenFromDeviceFlow(builder, clientId,
 					response.get("device_code"), Integer.parseInt(response.get("expires_in")),
 					Integer.parseInt(response.get("interval")));
 			if (token.isPresent()) {
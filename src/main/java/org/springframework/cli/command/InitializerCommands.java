@@ -25,14 +25,13 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import org.rauschig.jarchivelib.Archiver;
-import org.rauschig.jarchivelib.ArchiverFactory;
-
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cli.config.SpringCliProperties;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.config.SpringCliUserConfig.Initializr;
 import org.springframework.cli.config.SpringCliUserConfig.Initializrs;
 import org.springframework.cli.initializr.InitializrClient;
+import org.springframework.cli.initializr.InitializrClient.Extraction;
 import org.springframework.cli.initializr.InitializrClientCache;
 import org.springframework.cli.initializr.InitializrUtils;
 import org.springframework.cli.initializr.model.Metadata;
@@ -128,7 +127,7 @@ public class InitializerCommands extends AbstractShellComponent {
 		return NAME_COMPARATOR.compare(o1, o2);
 	};
 
-	private final InitializrClientCache clientCache;
+	private final ObjectProvider<InitializrClientCache> clientCache;
 
 	private final ComponentFlow.Builder componentFlowBuilder;
 
@@ -136,7 +135,7 @@ public class InitializerCommands extends AbstractShellComponent {
 
 	private final SpringCliProperties springCliProperties;
 
-	InitializerCommands(InitializrClientCache clientCache, ComponentFlow.Builder componentFlowBuilder,
+	InitializerCommands(ObjectProvider<InitializrClientCache> clientCache, ComponentFlow.Builder componentFlowBuilder,
 			SpringCliUserConfig springCliUserConfig, SpringCliProperties springCliProperties) {
 		this.clientCache = clientCache;
 		this.componentFlowBuilder = componentFlowBuilder;
@@ -338,26 +337,23 @@ public class InitializerCommands extends AbstractShellComponent {
 
 		Path pathValue = result.getContext().get(PATH_ID);
 		List<String> dependenciesValue = result.getContext().get(DEPENDENCIES_ID);
-		Path generated = client.generate(context.get(PROJECT_ID, String.class), context.get(LANGUAGE_ID, String.class),
-				context.get(BOOT_VERSION_ID, String.class), dependenciesValue, context.get(VERSION_ID, String.class),
-				context.get(GROUP_ID, String.class), context.get(ARTIFACT_ID, String.class),
-				context.get(NAME_ID, String.class), context.get(DESCRIPTION_ID, String.class),
-				context.get(PACKAGE_NAME_ID, String.class), context.get(PACKAGING_ID, String.class),
-				context.get(JAVA_VERSION_ID, String.class));
 
 		File outFile = pathValue.toFile();
 		if (!outFile.mkdirs()) {
 			throw new RuntimeException(String.format("Can't create path %s", outFile.getAbsolutePath()));
 		}
-		Archiver archiver = ArchiverFactory.createArchiver("tar", "gz");
-		try {
-			archiver.extract(generated.toFile(), outFile);
-		}
-		catch (Exception ex) {
-			throw new RuntimeException(String.format("Extraction error from %s to %s",
-					generated.toFile().getAbsolutePath(), outFile.getAbsolutePath()), ex);
+		Extraction extraction = client.generate(context.get(PROJECT_ID, String.class),
+				context.get(LANGUAGE_ID, String.class), context.get(BOOT_VERSION_ID, String.class), dependenciesValue,
+				context.get(VERSION_ID, String.class), context.get(GROUP_ID, String.class),
+				context.get(ARTIFACT_ID, String.class), context.get(NAME_ID, String.class),
+				context.get(DESCRIPTION_ID, String.class), context.get(PACKAGE_NAME_ID, String.class),
+				context.get(PACKAGING_ID, String.class), context.get(JAVA_VERSION_ID, String.class), pathValue);
+		if (extraction.bytes() == 0) {
+			return String.format("Extracted to %s (%d files, from cache)", outFile.getAbsolutePath(),
+					extraction.entries());
 		}
-		return String.format("Extracted to %s", outFile.getAbsolutePath());
+		return String.format("Extracted to %s (%d files, %d bytes downloaded)", outFile.getAbsolutePath(),
+				extraction.entries(), extraction.bytes());
 	}
 
 	@Command(command = "list", description = "Show the Initializr server environments")
@@ -419,7 +415,7 @@ public class InitializerCommands extends AbstractShellComponent {
 				cacheKey = initializr.getUrl();
 			}
 		}
-		return clientCache.get(cacheKey);
+		return clientCache.getObject().get(cacheKey);
 	}
 
 	private static boolean matches(String[] array, String search) {
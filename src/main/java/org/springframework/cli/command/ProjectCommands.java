@@ -16,9 +16,6 @@
 
 package org.springframework.cli.command;
 
-import java.io.IOException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -26,8 +23,6 @@ import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.config.SpringCliUserConfig;
@@ -35,7 +30,8 @@ import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
 import org.springframework.cli.git.SourceRepositoryService;
-import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.cli.util.ProjectCatalogReader;
+import org.springframework.cli.util.ProjectCatalogReader.CatalogContents;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.shell.command.annotation.Command;
 import org.springframework.shell.command.annotation.Option;
@@ -43,14 +39,11 @@ import org.springframework.shell.table.ArrayTableModel;
 import org.springframework.shell.table.BorderStyle;
 import org.springframework.shell.table.TableBuilder;
 import org.springframework.shell.table.TableModel;
-import org.springframework.util.FileSystemUtils;
 import org.springframework.util.ObjectUtils;
 
 @Command(command = "project", group = "Project")
 public class ProjectCommands {
 
-	private static final Logger logger = LoggerFactory.getLogger(ProjectCommands.class);
-
 	private static final String PROJECT = "Project '";
 
 	private final SpringCliUserConfig upCliUserConfig;
@@ -86,7 +79,9 @@ public class ProjectCommands {
 	@Command(command = "list",
 			description = "List projects available for use with the 'boot new' and 'boot add' commands")
 	public Object projectList(
-			@Option(description = "JSON format output", required = false, defaultValue = "false") boolean json)
+			@Option(description = "JSON format output", required = false, defaultValue = "false") boolean json,
+			@Option(description = "Download the catalogs again instead of using locally cached copies",
+					required = false, defaultValue = "false") boolean refresh)
 			throws JsonProcessingException {
 		// Retrieve project that were registered using the `project add` command and
 		// stored locally
@@ -97,24 +92,21 @@ public class ProjectCommands {
 			.collect(Collectors.toList());
 
 		// List projects that are contained in catalogs that the user had added using the
-		// `project-catalog add` command
+		// `project-catalog add` command. Catalogs are fetched concurrently and a
+		// catalog that can't be read is reported without failing the whole listing.
 		List<ProjectCatalog> projectCatalogs = upCliUserConfig.getProjectCatalogs().getProjectCatalogs();
-		for (ProjectCatalog projectCatalog : projectCatalogs) {
-			String url = projectCatalog.getUrl();
-			Path path = sourceRepositoryService.retrieveRepositoryContents(url);
-			YamlConfigFile yamlConfigFile = new YamlConfigFile();
-			for (ProjectRepository pr : yamlConfigFile
-				.read(Paths.get(path.toString(), "project-catalog.yml"), ProjectRepositories.class)
-				.getProjectRepositories()) {
-				projectRepositories.add(new ProjectRepositoryData(pr.getName(), pr.getUrl(), pr.getDescription(),
-						pr.getTags(), projectCatalog.getName()));
+		ProjectCatalogReader projectCatalogReader = new ProjectCatalogReader(sourceRepositoryService, upCliUserConfig);
+		for (CatalogContents catalogContents : projectCatalogReader.read(projectCatalogs, refresh)) {
+			if (catalogContents.isFailed()) {
+				if (!json) {
+					this.terminalMessage.print("Could not read project catalog '" + catalogContents.catalog().getName()
+							+ "': " + catalogContents.error());
+				}
+				continue;
 			}
-			// clean up temp files
-			try {
-				FileSystemUtils.deleteRecursively(path);
-			}
-			catch (IOException ex) {
-				logger.warn("Could not delete path " + path, ex);
+			for (ProjectRepository pr : catalogContents.projectRepositories()) {
+				projectRepositories.add(new ProjectRepositoryData(pr.getName(), pr.getUrl(), pr.getDescription(),
+						pr.getTags(), catalogContents.catalog().getName()));
 			}
 		}
 
@@ -27,7 +27,9 @@ import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.TerminalMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.shell.command.annotation.Command;
 import org.springframework.shell.command.annotation.Option;
 import org.springframework.shell.table.ArrayTableModel;
@@ -42,12 +44,13 @@ public class RoleCommands extends AbstractSpringCliCommands {
 
 	private final TerminalMessage terminalMessage;
 
-	private RoleService roleService;
+	@Nullable
+	private final Path workingDir;
 
 	@Autowired
 	public RoleCommands(TerminalMessage terminalMessage) {
 		this.terminalMessage = terminalMessage;
-		this.roleService = new RoleService();
+		this.workingDir = null;
 	}
 
 	/**
@@ -57,15 +60,16 @@ public class RoleCommands extends AbstractSpringCliCommands {
 	 */
 	public RoleCommands(TerminalMessage terminalMessage, Path workingDir) {
 		this.terminalMessage = terminalMessage;
-		this.roleService = new RoleService(workingDir);
+		this.workingDir = workingDir;
 	}
 
 	@Command(command = "add", description = "Add a role")
 	public void roleAdd(@Option(description = "Role name", required = true) String name) {
-		File roleFile = this.roleService.getFile(name);
+		RoleService roleService = getRoleService();
+		File roleFile = roleService.getFile(name);
 		if (!roleFile.exists()) {
 			try {
-				this.roleService.createRolesDirectoryIfNecessary();
+				roleService.createRolesDirectoryIfNecessary();
 				roleFile.createNewFile();
 				this.terminalMessage.print("Role '" + name + "' created.");
 			}
@@ -81,7 +85,7 @@ public class RoleCommands extends AbstractSpringCliCommands {
 
 	@Command(command = "remove", description = "Remove a named role")
 	public void roleRemove(@Option(description = "Role name", required = true) String name) {
-		File roleFile = this.roleService.getFile(name);
+		File roleFile = getRoleService().getFile(name);
 		if (roleFile.exists()) {
 			if (roleFile.delete()) {
 				String message = StringUtils.hasText(name) ? "Role '" + name + "'" : "The default role file was ";
@@ -100,7 +104,7 @@ public class RoleCommands extends AbstractSpringCliCommands {
 		if (!StringUtils.hasText(name)) {
 			name = "";
 		}
-		this.roleService.updateRole(name, key, value);
+		getRoleService().updateRole(name, key, value);
 		String message = StringUtils.hasText(name) ? "to role '" + name + "'" : "to the default role";
 		this.terminalMessage.print("Key-value pair added " + message);
 	}
@@ -108,7 +112,7 @@ public class RoleCommands extends AbstractSpringCliCommands {
 	@Command(command = "get", description = "Get the value of a key for a role")
 	public void roleGet(@Option(description = "Property key", required = true) String key,
 			@Option(description = "Role name") String name) {
-		Map<String, Object> map = this.roleService.loadAsMap(name);
+		Map<String, Object> map = getRoleService().loadAsMap(name);
 		if (!map.isEmpty()) {
 			Object value = map.get(key);
 			if (value != null) {
@@ -127,8 +131,9 @@ public class RoleCommands extends AbstractSpringCliCommands {
 
 	@Command(command = "list", description = "List roles")
 	public Table roleList() {
-		File directory = this.roleService.getRolesVarPath();
-		List<String> rolesNames = this.roleService.getRoleNames(directory);
+		RoleService roleService = getRoleService();
+		File directory = roleService.getRolesVarPath();
+		List<String> rolesNames = roleService.getRoleNames(directory);
 		Stream<String[]> header = Stream.<String[]>of(new String[] { "Name" });
 		Stream<String[]> rows;
 		if (rolesNames != null) {
@@ -144,8 +149,13 @@ public class RoleCommands extends AbstractSpringCliCommands {
 		return tableBuilder.addFullBorder(BorderStyle.fancy_light).build();
 	}
 
+	/**
+	 * Returns the role service for the current working directory, which changes between
+	 * commands run on behalf of other processes.
+	 * @return the role service
+	 */
 	public RoleService getRoleService() {
-		return roleService;
+		return new RoleService((this.workingDir != null) ? this.workingDir : IoUtils.getWorkingDirectory());
 	}
 
 }
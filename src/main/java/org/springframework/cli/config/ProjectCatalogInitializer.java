@@ -23,7 +23,8 @@ import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalogs;
 
 /**
- * Registers a project catalog if there are no project catalogs already registered.
+ * Registers a project catalog if there are no project catalogs already registered. The
+ * check is deferred until project catalogs are first read.
  */
 public class ProjectCatalogInitializer implements InitializingBean {
 
@@ -39,6 +40,10 @@ public class ProjectCatalogInitializer implements InitializingBean {
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
+		springCliUserConfig.setProjectCatalogsInitializer(this::initialize);
+	}
+
+	private void initialize() {
 		List<ProjectCatalog> projectCatalogList = springCliUserConfig.getProjectCatalogs().getProjectCatalogs();
 		if (projectCatalogList.isEmpty()) {
 			// add to catalogs
@@ -18,23 +18,41 @@ package org.springframework.cli.config;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 
 import io.netty.resolver.DefaultAddressResolverGroup;
 import org.jline.terminal.Terminal;
+import org.openrewrite.maven.cache.MavenPomCache;
+import reactor.netty.http.client.HttpClient;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cli.initializr.InitializrClientCache;
+import org.springframework.cli.initializr.InitializrMetadataCache;
+import org.springframework.cli.initializr.InitializrProjectCache;
+import org.springframework.cli.recipe.DiskMavenPomCache;
+import org.springframework.cli.recipe.RecipeUtils;
+import org.springframework.cli.runtime.command.CommandIndex;
 import org.springframework.cli.runtime.command.DynamicMethodCommandResolver;
+import org.springframework.cli.runtime.engine.actions.ActionPlanCache;
 import org.springframework.cli.runtime.engine.model.MavenModelPopulator;
 import org.springframework.cli.runtime.engine.model.ModelPopulator;
 import org.springframework.cli.runtime.engine.model.RootPackageModelPopulator;
 import org.springframework.cli.runtime.engine.model.SystemModelPopulator;
+import org.springframework.cli.runtime.engine.spel.SpELCondition;
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
+import org.springframework.cli.runtime.engine.templating.TemplateEngine;
 import org.springframework.cli.util.SpringCliTerminal;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorResourceFactory;
 import org.springframework.shell.command.CommandExceptionResolver;
 import org.springframework.shell.command.CommandRegistration;
@@ -81,14 +99,37 @@ public class SpringCliConfiguration {
 		return new RootPackageModelPopulator();
 	}
 
+	@Bean
+	public CommandIndex commandIndex(ApplicationArguments arguments, Environment environment,
+			SpringCliProperties springCliProperties) {
+		// the interactive shell runs without arguments, commands may change while it runs
+		boolean interactive = arguments.getSourceArgs().length == 0
+				&& environment.getProperty("spring.shell.interactive.enabled", Boolean.class, true);
+		return new CommandIndex(interactive, springCliProperties.getCommandIndex().isPersistent());
+	}
+
+	@Bean
+	public TemplateEngine templateEngine() {
+		return new HandlebarsTemplateEngine();
+	}
+
+	@Bean
+	public ActionPlanCache actionPlanCache(SpringCliProperties springCliProperties) {
+		return new ActionPlanCache(springCliProperties.getActionPlanCache().isPersistent());
+	}
+
 	@Bean
 	public DynamicMethodCommandResolver dynamicMethodTargetRegistrar(Collection<ModelPopulator> modelPopulators,
 			CommandRegistration.BuilderSupplier builder, TerminalMessage terminalMessage,
-			ObjectProvider<Terminal> terminalProvider) {
-		return new DynamicMethodCommandResolver(modelPopulators, builder, terminalMessage, terminalProvider);
+			ObjectProvider<Terminal> terminalProvider, CommandIndex commandIndex, TemplateEngine templateEngine,
+			ActionPlanCache actionPlanCache, SpringCliProperties springCliProperties) {
+		return new DynamicMethodCommandResolver(modelPopulators, builder, terminalMessage, terminalProvider,
+				commandIndex, templateEngine, actionPlanCache, springCliProperties.getExec(),
+				SpELCondition.parserConfiguration(springCliProperties.getSpel().getCompilerMode()));
 	}
 
 	@Bean
+	@Lazy
 	public ReactorResourceFactory reactorClientResourceFactory() {
 		// change default 2s quiet period so that context terminates more quick
 		ReactorResourceFactory factory = new ReactorResourceFactory();
@@ -96,6 +137,23 @@ public class SpringCliConfiguration {
 		return factory;
 	}
 
+	@Bean
+	@Lazy
+	WebClientCustomizer webClientHttpConnectorCustomizer(ReactorResourceFactory reactorResourceFactory,
+			ObjectProvider<ReactorNettyHttpClientMapper> httpClientMappers) {
+		// in place of boot's ClientHttpConnectorAutoConfiguration, whose singletons create
+		// the reactor resources at startup, created with the first WebClient.Builder
+		List<ReactorNettyHttpClientMapper> mappers = httpClientMappers.orderedStream().toList();
+		ClientHttpConnector connector = new ReactorClientHttpConnector(reactorResourceFactory, (httpClient) -> {
+			HttpClient mapped = httpClient;
+			for (ReactorNettyHttpClientMapper mapper : mappers) {
+				mapped = mapper.configure(mapped);
+			}
+			return mapped;
+		});
+		return (builder) -> builder.clientConnector(connector);
+	}
+
 	@Bean
 	ReactorNettyHttpClientMapper reactorNettyHttpClientMapper() {
 		// workaround for native/graal issue
@@ -105,8 +163,19 @@ public class SpringCliConfiguration {
 	}
 
 	@Bean
-	InitializrClientCache initializrClientCache(WebClient.Builder webClientBuilder) {
-		return new InitializrClientCache(webClientBuilder);
+	@Lazy
+	InitializrClientCache initializrClientCache(WebClient.Builder webClientBuilder,
+			SpringCliUserConfig springCliUserConfig, ReactorResourceFactory reactorResourceFactory,
+			ObjectProvider<ReactorNettyHttpClientMapper> httpClientMappers) {
+		InitializrMetadataCache metadataCache = new InitializrMetadataCache(
+				() -> springCliUserConfig.getCacheDir().resolve(InitializrMetadataCache.CACHE_DIR_NAME),
+				InitializrMetadataCache.DEFAULT_MAX_AGE);
+		InitializrProjectCache projectCache = new InitializrProjectCache(
+				() -> springCliUserConfig.getCacheDir().resolve(InitializrProjectCache.CACHE_DIR_NAME),
+				InitializrProjectCache.DEFAULT_MAX_SIZE);
+		return new InitializrClientCache(webClientBuilder, metadataCache, projectCache,
+				InitializrClientCache.DEFAULT_MAX_CLIENTS, reactorResourceFactory,
+				httpClientMappers.orderedStream().toList());
 	}
 
 	@Bean
@@ -114,6 +183,16 @@ public class SpringCliConfiguration {
 		return new SpringCliUserConfig();
 	}
 
+	@Bean
+	public MavenPomCache mavenPomCache(SpringCliUserConfig springCliUserConfig) {
+		// recipes create their execution contexts through RecipeUtils
+		MavenPomCache mavenPomCache = RecipeUtils.createMavenPomCache(
+				() -> springCliUserConfig.getCacheDir().resolve(DiskMavenPomCache.CACHE_DIR_NAME),
+				DiskMavenPomCache.DEFAULT_MAX_SIZE);
+		RecipeUtils.setMavenPomCache(mavenPomCache);
+		return mavenPomCache;
+	}
+
 	@Bean
 	public ProjectCatalogInitializer projectCatalogInitializer(SpringCliUserConfig springCliUserConfig,
 			SpringCliProjectCatalogProperties springCliProjectCatalogProperties) {
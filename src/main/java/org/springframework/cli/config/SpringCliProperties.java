@@ -16,7 +16,10 @@
 
 package org.springframework.cli.config;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 /**
  * Configuration properties for cli.
@@ -30,6 +33,16 @@ public class SpringCliProperties {
 
 	private Github github = new Github();
 
+	private Daemon daemon = new Daemon();
+
+	private ActionPlanCache actionPlanCache = new ActionPlanCache();
+
+	private CommandIndex commandIndex = new CommandIndex();
+
+	private Exec exec = new Exec();
+
+	private Spel spel = new Spel();
+
 	public Initializr getInitializr() {
 		return initializr;
 	}
@@ -46,9 +59,51 @@ public class SpringCliProperties {
 		this.github = github;
 	}
 
+	public Daemon getDaemon() {
+		return daemon;
+	}
+
+	public void setDaemon(Daemon daemon) {
+		this.daemon = daemon;
+	}
+
+	public ActionPlanCache getActionPlanCache() {
+		return actionPlanCache;
+	}
+
+	public void setActionPlanCache(ActionPlanCache actionPlanCache) {
+		this.actionPlanCache = actionPlanCache;
+	}
+
+	public CommandIndex getCommandIndex() {
+		return commandIndex;
+	}
+
+	public void setCommandIndex(CommandIndex commandIndex) {
+		this.commandIndex = commandIndex;
+	}
+
+	public Exec getExec() {
+		return exec;
+	}
+
+	public void setExec(Exec exec) {
+		this.exec = exec;
+	}
+
+	public Spel getSpel() {
+		return spel;
+	}
+
+	public void setSpel(Spel spel) {
+		this.spel = spel;
+	}
+
 	@Override
 	public String toString() {
-		return "SpringCliProperties{" + "initializr=" + initializr + ", github=" + github + '}';
+		return "SpringCliProperties{" + "initializr=" + initializr + ", github=" + github + ", daemon=" + daemon
+				+ ", actionPlanCache=" + actionPlanCache + ", commandIndex=" + commandIndex + ", exec=" + exec
+				+ ", spel=" + spel + '}';
 	}
 
 	/**
@@ -109,4 +164,174 @@ public class SpringCliProperties {
 
 	}
 
+	/**
+	 * Settings for running as a daemon serving commands of other processes.
+	 */
+	public static class Daemon {
+
+		/**
+		 * Whether this process runs as a daemon instead of running a shell.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Time without any command after which the daemon stops.
+		 */
+		private Duration idleTimeout = Duration.ofMinutes(30);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getIdleTimeout() {
+			return idleTimeout;
+		}
+
+		public void setIdleTimeout(Duration idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+		@Override
+		public String toString() {
+			return "Daemon{" + "enabled=" + enabled + ", idleTimeout=" + idleTimeout + '}';
+		}
+
+	}
+
+	/**
+	 * Settings for the cache of parsed action files of user-defined commands.
+	 */
+	public static class ActionPlanCache {
+
+		/**
+		 * Whether commands keep the list of their action files below .spring/cache, so
+		 * that new processes don't need to detect them again.
+		 */
+		private boolean persistent;
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+		@Override
+		public String toString() {
+			return "ActionPlanCache{" + "persistent=" + persistent + '}';
+		}
+
+	}
+
+	/**
+	 * Settings for the index of user-defined commands.
+	 */
+	public static class CommandIndex {
+
+		/**
+		 * Whether the index of user-defined commands is kept below .spring/cache, so that
+		 * new processes don't need to scan the commands again.
+		 */
+		private boolean persistent;
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+		@Override
+		public String toString() {
+			return "CommandIndex{" + "persistent=" + persistent + '}';
+		}
+
+	}
+
+	/**
+	 * Settings for the exec action of user-defined commands.
+	 */
+	public static class Exec {
+
+		/**
+		 * Whether the output of commands is printed while they run.
+		 */
+		private boolean streamOutput;
+
+		/**
+		 * Maximum number of characters of stdout and of stderr kept in the outputs, older
+		 * lines are dropped once it is exceeded.
+		 */
+		private long maxCapturedLength = 4 * 1024 * 1024;
+
+		/**
+		 * Default maximum number of commands of a fan-out running at the same time, the
+		 * number of processors if not set.
+		 */
+		private Integer maxParallel;
+
+		public boolean isStreamOutput() {
+			return streamOutput;
+		}
+
+		public void setStreamOutput(boolean streamOutput) {
+			this.streamOutput = streamOutput;
+		}
+
+		public long getMaxCapturedLength() {
+			return maxCapturedLength;
+		}
+
+		public void setMaxCapturedLength(long maxCapturedLength) {
+			this.maxCapturedLength = maxCapturedLength;
+		}
+
+		public Integer getMaxParallel() {
+			return maxParallel;
+		}
+
+		public void setMaxParallel(Integer maxParallel) {
+			this.maxParallel = maxParallel;
+		}
+
+		@Override
+		public String toString() {
+			return "Exec{" + "streamOutput=" + streamOutput + ", maxCapturedLength=" + maxCapturedLength
+					+ ", maxParallel=" + maxParallel + '}';
+		}
+
+	}
+
+	/**
+	 * Settings for the SpEL conditions of actions of user-defined commands.
+	 */
+	public static class Spel {
+
+		/**
+		 * Mode of the SpEL compiler, e.g. mixed compiles frequently evaluated 'if'
+		 * conditions to bytecode.
+		 */
+		private SpelCompilerMode compilerMode = SpelCompilerMode.OFF;
+
+		public SpelCompilerMode getCompilerMode() {
+			return compilerMode;
+		}
+
+		public void setCompilerMode(SpelCompilerMode compilerMode) {
+			this.compilerMode = compilerMode;
+		}
+
+		@Override
+		public String toString() {
+			return "Spel{" + "compilerMode=" + compilerMode + '}';
+		}
+
+	}
+
 }
@@ -26,6 +26,7 @@ import java.util.function.Function;
 
 import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.cli.support.configfile.UserConfig;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
 
 /**
@@ -37,7 +38,8 @@ import org.springframework.util.ObjectUtils;
 		SpringCliUserConfig.ProjectRepositories.class, SpringCliUserConfig.ProjectRepository.class,
 		SpringCliUserConfig.CommandDefaults.class, SpringCliUserConfig.CommandDefault.class,
 		SpringCliUserConfig.Option.class, SpringCliUserConfig.Initializrs.class, SpringCliUserConfig.Initializr.class,
-		SpringCliUserConfig.Hosts.class, SpringCliUserConfig.Host.class })
+		SpringCliUserConfig.Hosts.class, SpringCliUserConfig.Host.class, SpringCliUserConfig.ProjectCatalogIndex.class,
+		SpringCliUserConfig.ProjectCatalogIndexEntry.class })
 public class SpringCliUserConfig {
 
 	/**
@@ -55,6 +57,11 @@ public class SpringCliUserConfig {
 	 */
 	public static final String PROJECT_CATALOGS_FILE_NAME = "project-catalogs.yml";
 
+	/**
+	 * {@code project-catalog-index.yml} stores the contents of installed project catalogs.
+	 */
+	public static final String PROJECT_CATALOG_INDEX_FILE_NAME = "project-catalog-index.yml";
+
 	/**
 	 * {@code repositories.yml} stores project repository specific info.
 	 */
@@ -70,6 +77,11 @@ public class SpringCliUserConfig {
 	 */
 	public static final String INITIALIZR_FILE_NAME = "initializr.yml";
 
+	/**
+	 * Directory name under the config dir where cached content is stored.
+	 */
+	public static final String CACHE_DIR_NAME = "cache";
+
 	/**
 	 * Base directory name we store our config files.
 	 */
@@ -85,6 +97,11 @@ public class SpringCliUserConfig {
 	 */
 	private final UserConfig<ProjectCatalogs> projectCatalogsUserConfig;
 
+	/**
+	 * Locally indexed contents of installed project catalogs.
+	 */
+	private final UserConfig<ProjectCatalogIndex> projectCatalogIndexUserConfig;
+
 	/**
 	 * Keeps project repositories as list.
 	 */
@@ -94,6 +111,9 @@ public class SpringCliUserConfig {
 
 	private final UserConfig<Initializrs> initializrsUserConfig;
 
+	@Nullable
+	private volatile Runnable projectCatalogsInitializer;
+
 	public SpringCliUserConfig() {
 		this(null);
 	}
@@ -103,6 +123,8 @@ public class SpringCliUserConfig {
 				SPRING_CLI_CONFIG_DIR_NAME);
 		this.projectCatalogsUserConfig = new UserConfig<>(PROJECT_CATALOGS_FILE_NAME, ProjectCatalogs.class,
 				SPRING_CLI_CONFIG_DIR, SPRING_CLI_CONFIG_DIR_NAME);
+		this.projectCatalogIndexUserConfig = new UserConfig<>(PROJECT_CATALOG_INDEX_FILE_NAME,
+				ProjectCatalogIndex.class, SPRING_CLI_CONFIG_DIR, SPRING_CLI_CONFIG_DIR_NAME);
 		this.projectRepositoriesUserConfig = new UserConfig<>(PROJECT_REPOSITORIES_FILE_NAME, ProjectRepositories.class,
 				SPRING_CLI_CONFIG_DIR, SPRING_CLI_CONFIG_DIR_NAME);
 		this.commandDefaultsUserConfig = new UserConfig<>(COMMAND_DEFAULTS_FILE_NAME, CommandDefaults.class,
@@ -112,12 +134,29 @@ public class SpringCliUserConfig {
 		if (pathProvider != null) {
 			this.hostsUserConfig.setPathProvider(pathProvider);
 			this.projectCatalogsUserConfig.setPathProvider(pathProvider);
+			this.projectCatalogIndexUserConfig.setPathProvider(pathProvider);
 			this.projectRepositoriesUserConfig.setPathProvider(pathProvider);
 			this.commandDefaultsUserConfig.setPathProvider(pathProvider);
 			this.initializrsUserConfig.setPathProvider(pathProvider);
 		}
 	}
 
+	/**
+	 * Gets the directory where user level settings are stored.
+	 * @return the config directory
+	 */
+	public Path getConfigDir() {
+		return hostsUserConfig.getConfigDir();
+	}
+
+	/**
+	 * Gets the directory where user level cached content is stored.
+	 * @return the cache directory
+	 */
+	public Path getCacheDir() {
+		return getConfigDir().resolve(CACHE_DIR_NAME);
+	}
+
 	/**
 	 * Gets hosts.
 	 * @return mappings for hosts
@@ -162,10 +201,33 @@ public class SpringCliUserConfig {
 	 * @return project catalogs
 	 */
 	public ProjectCatalogs getProjectCatalogs() {
+		initializeProjectCatalogs();
 		ProjectCatalogs catalogs = projectCatalogsUserConfig.getConfig();
 		return (catalogs != null) ? catalogs : new ProjectCatalogs();
 	}
 
+	/**
+	 * Sets a callback run once before project catalogs are first read, so that commands
+	 * not using project catalogs do not touch their file.
+	 * @param projectCatalogsInitializer the callback
+	 */
+	public void setProjectCatalogsInitializer(@Nullable Runnable projectCatalogsInitializer) {
+		this.projectCatalogsInitializer = projectCatalogsInitializer;
+	}
+
+	private void initializeProjectCatalogs() {
+		Runnable initializer = this.projectCatalogsInitializer;
+		if (initializer != null) {
+			synchronized (this) {
+				if (this.projectCatalogsInitializer == initializer) {
+					// cleared first as the callback reads project catalogs itself
+					this.projectCatalogsInitializer = null;
+					initializer.run();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Sets project catalogs
 	 * @param projectCatalogs the project catalogs
@@ -174,6 +236,23 @@ public class SpringCliUserConfig {
 		projectCatalogsUserConfig.setConfig(projectCatalogs);
 	}
 
+	/**
+	 * Get the project catalog index.
+	 * @return project catalog index
+	 */
+	public ProjectCatalogIndex getProjectCatalogIndex() {
+		ProjectCatalogIndex index = projectCatalogIndexUserConfig.getConfig();
+		return (index != null) ? index : new ProjectCatalogIndex();
+	}
+
+	/**
+	 * Sets the project catalog index.
+	 * @param projectCatalogIndex the project catalog index
+	 */
+	public void setProjectCatalogIndex(ProjectCatalogIndex projectCatalogIndex) {
+		projectCatalogIndexUserConfig.setConfig(projectCatalogIndex);
+	}
+
 	/**
 	 * Get project repositories.
 	 * @return project repositories
@@ -396,6 +475,89 @@ public class SpringCliUserConfig {
 
 	}
 
+	public static class ProjectCatalogIndex {
+
+		/**
+		 * Default number of seconds an indexed catalog is used without revalidation.
+		 */
+		public static final long DEFAULT_TTL_SECONDS = 3600;
+
+		private long ttlSeconds = DEFAULT_TTL_SECONDS;
+
+		private Map<String, ProjectCatalogIndexEntry> entries = new HashMap<>();
+
+		public long getTtlSeconds() {
+			return ttlSeconds;
+		}
+
+		public void setTtlSeconds(long ttlSeconds) {
+			this.ttlSeconds = ttlSeconds;
+		}
+
+		public Map<String, ProjectCatalogIndexEntry> getEntries() {
+			return entries;
+		}
+
+		public void setEntries(Map<String, ProjectCatalogIndexEntry> entries) {
+			this.entries = entries;
+		}
+
+		@Override
+		public String toString() {
+			return "ProjectCatalogIndex{" + "ttlSeconds=" + ttlSeconds + ", entries=" + entries + '}';
+		}
+
+	}
+
+	public static class ProjectCatalogIndexEntry {
+
+		private String commitSha;
+
+		private long fetchedAt;
+
+		private List<ProjectRepository> projectRepositories = new ArrayList<>();
+
+		public ProjectCatalogIndexEntry() {
+		}
+
+		public ProjectCatalogIndexEntry(String commitSha, long fetchedAt, List<ProjectRepository> projectRepositories) {
+			this.commitSha = commitSha;
+			this.fetchedAt = fetchedAt;
+			this.projectRepositories = projectRepositories;
+		}
+
+		public String getCommitSha() {
+			return commitSha;
+		}
+
+		public void setCommitSha(String commitSha) {
+			this.commitSha = commitSha;
+		}
+
+		public long getFetchedAt() {
+			return fetchedAt;
+		}
+
+		public void setFetchedAt(long fetchedAt) {
+			this.fetchedAt = fetchedAt;
+		}
+
+		public List<ProjectRepository> getProjectRepositories() {
+			return projectRepositories;
+		}
+
+		public void setProjectRepositories(List<ProjectRepository> projectRepositories) {
+			this.projectRepositories = projectRepositories;
+		}
+
+		@Override
+		public String toString() {
+			return "ProjectCatalogIndexEntry{" + "commitSha='" + commitSha + '\'' + ", fetchedAt=" + fetchedAt
+					+ ", projectRepositories=" + projectRepositories + '}';
+		}
+
+	}
+
 	public static class ProjectRepositories {
 
 		private List<ProjectRepository> projectRepositories = new ArrayList<>();
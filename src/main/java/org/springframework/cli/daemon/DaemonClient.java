@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.cli.SpringCliApplication;
+import org.springframework.cli.util.IoUtils;
+import org.springframework.core.NativeDetector;
+import org.springframework.lang.Nullable;
+
+/**
+ * Runs commands through a {@link DaemonServer daemon}, starting one when none is running
+ * for the version of the CLI.
+ */
+public final class DaemonClient {
+
+	/**
+	 * Environment variable opting into running commands through the daemon.
+	 */
+	public static final String DAEMON_ENVIRONMENT_VARIABLE = "SPRING_CLI_DAEMON";
+
+	private static final long STARTUP_TIMEOUT_MILLIS = 30_000;
+
+	private static final long STARTUP_POLL_MILLIS = 50;
+
+	private DaemonClient() {
+	}
+
+	/**
+	 * Returns whether commands should be run through the daemon. A native image starts
+	 * quickly on its own and can not start a daemon, its {@link DaemonConfiguration} is
+	 * left out when the image is built.
+	 * @return whether the daemon is enabled in the environment
+	 */
+	public static boolean isEnabled() {
+		return !NativeDetector.inNativeImage() && Boolean.parseBoolean(System.getenv(DAEMON_ENVIRONMENT_VARIABLE));
+	}
+
+	/**
+	 * Runs a command through the daemon, printing its output.
+	 * @param args the arguments of the command
+	 * @return the exit code of the command, or null if it has to be run by this process
+	 */
+	@Nullable
+	public static Integer run(String[] args) {
+		String version = DaemonProtocol.getVersion();
+		Path socketPath = DaemonProtocol.getSocketPath(version);
+		SocketChannel connection;
+		try {
+			connection = connect(version, socketPath);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		try (SocketChannel channel = connection) {
+			if (channel == null) {
+				return null;
+			}
+			DaemonProtocol.Request request = new DaemonProtocol.Request(version,
+					IoUtils.getWorkingDirectory().toString(), System.getenv(), Arrays.asList(args));
+			DaemonProtocol.writeRequest(Channels.newOutputStream(channel), request);
+			return DaemonProtocol.readResponse(Channels.newInputStream(channel), System.out);
+		}
+		catch (IOException ex) {
+			// the command may have run partially, so it is not run again
+			System.err.println("Lost connection to the Spring CLI daemon: " + ex.getMessage());
+			return 1;
+		}
+	}
+
+	@Nullable
+	private static SocketChannel connect(String version, Path socketPath) throws IOException {
+		SocketChannel channel = tryConnect(socketPath);
+		if (channel != null) {
+			return channel;
+		}
+		Files.createDirectories(socketPath.getParent());
+		try (FileChannel lockChannel = FileChannel.open(DaemonProtocol.getStartLockPath(version),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE); FileLock lock = lockChannel.lock()) {
+			// another client may have started the daemon while this one waited for the lock
+			channel = tryConnect(socketPath);
+			if (channel != null) {
+				return channel;
+			}
+			startDaemon(socketPath);
+			return awaitDaemon(socketPath);
+		}
+	}
+
+	@Nullable
+	private static SocketChannel awaitDaemon(Path socketPath) throws IOException {
+		SocketChannel channel;
+		long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+		while (System.currentTimeMillis() < deadline) {
+			channel = tryConnect(socketPath);
+			if (channel != null) {
+				return channel;
+			}
+			try {
+				Thread.sleep(STARTUP_POLL_MILLIS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static SocketChannel tryConnect(Path socketPath) throws IOException {
+		if (!Files.exists(socketPath)) {
+			return null;
+		}
+		SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.connect(UnixDomainSocketAddress.of(socketPath));
+			return channel;
+		}
+		catch (IOException ex) {
+			channel.close();
+			return null;
+		}
+	}
+
+	private static void startDaemon(Path socketPath) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-Dspring.cli.daemon.enabled=true");
+		String javaCommand = System.getProperty("sun.java.command", "");
+		String main = javaCommand.isBlank() ? "" : javaCommand.split(" ")[0];
+		if (main.endsWith(".jar")) {
+			command.add("-jar");
+			command.add(main);
+		}
+		else {
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(main.isBlank() ? SpringCliApplication.class.getName() : main);
+		}
+		Path log = socketPath.resolveSibling(socketPath.getFileName().toString().replace(".sock", ".log"));
+		new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cli.config.SpringCliProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.shell.Shell;
+
+/**
+ * Configuration of the daemon, replacing the system terminal with one whose output goes
+ * to the client of the running command.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "spring.cli.daemon", name = "enabled", havingValue = "true")
+public class DaemonConfiguration {
+
+	@Bean
+	RedirectingOutputStream daemonTerminalOutput() {
+		return new RedirectingOutputStream();
+	}
+
+	@Bean(destroyMethod = "close")
+	public Terminal terminal(RedirectingOutputStream daemonTerminalOutput) throws IOException {
+		// questions can not be answered through the daemon
+		return TerminalBuilder.builder()
+			.system(false)
+			.streams(InputStream.nullInputStream(), daemonTerminalOutput)
+			.type(Terminal.TYPE_DUMB)
+			.encoding(StandardCharsets.UTF_8)
+			.build();
+	}
+
+	@Bean
+	public DaemonServer daemonServer(Shell shell, Terminal terminal, RedirectingOutputStream daemonTerminalOutput,
+			SpringCliProperties properties) {
+		return new DaemonServer(shell, terminal, daemonTerminalOutput, properties.getDaemon().getIdleTimeout());
+	}
+
+}
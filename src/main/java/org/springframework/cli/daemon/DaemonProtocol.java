@@ -0,0 +1,234 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Wire format between the daemon and its clients. A client sends a single
+ * {@link Request}, the daemon answers with {@link #OUTPUT} frames carrying what the
+ * command printed, followed by either an {@link #EXIT} frame with the exit code or a
+ * {@link #REJECTED} frame when the client has to run the command itself.
+ * <p>
+ * Each version of the CLI listens on its own socket, so that a client never talks to a
+ * daemon of another version, which stops once idle.
+ */
+final class DaemonProtocol {
+
+	static final byte OUTPUT = 1;
+
+	static final byte EXIT = 2;
+
+	static final byte REJECTED = 3;
+
+	// read by the daemon itself, other variables are passed on to the commands
+	private static final Set<String> DAEMON_VARIABLES = Set.of("HOME", "JAVA_HOME", "JAVA_TOOL_OPTIONS",
+			"JDK_JAVA_OPTIONS", "XDG_CONFIG_HOME", "APP_DATA", "GITHUB_OAUTH");
+
+	private static final String DAEMON_VARIABLE_PREFIX = "SPRING_";
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private DaemonProtocol() {
+	}
+
+	/**
+	 * Returns the version of the CLI, as recorded in the build info.
+	 * @return the version
+	 */
+	static String getVersion() {
+		try (InputStream input = DaemonProtocol.class.getClassLoader()
+			.getResourceAsStream("META-INF/build-info.properties")) {
+			if (input != null) {
+				Properties properties = new Properties();
+				properties.load(input);
+				return properties.getProperty("build.version", "dev");
+			}
+		}
+		catch (IOException ex) {
+			// use the development version
+		}
+		return "dev";
+	}
+
+	/**
+	 * Returns the socket of the daemon of a version.
+	 * @param version the version of the CLI
+	 * @return the path of the Unix domain socket
+	 */
+	static Path getSocketPath(String version) {
+		return Path.of(System.getProperty("user.home"), ".spring-cli", "daemon", "spring-cli-" + version + ".sock");
+	}
+
+	/**
+	 * Returns the file locked by the daemon of a version for as long as it runs, so that
+	 * a second daemon does not take over the socket of the first one.
+	 * @param version the version of the CLI
+	 * @return the path of the lock file
+	 */
+	static Path getDaemonLockPath(String version) {
+		return getSocketPath(version).resolveSibling("spring-cli-" + version + ".lock");
+	}
+
+	/**
+	 * Returns the file locked by a client while it starts the daemon of a version, so
+	 * that concurrent clients start a single daemon.
+	 * @param version the version of the CLI
+	 * @return the path of the lock file
+	 */
+	static Path getStartLockPath(String version) {
+		return getSocketPath(version).resolveSibling("spring-cli-" + version + ".start.lock");
+	}
+
+	/**
+	 * Returns whether commands of a client with the given environment can be run by a
+	 * process with another environment. Only the variables read by the daemon itself,
+	 * such as {@code JAVA_HOME} or the {@code SPRING_} ones, have to be the same, the
+	 * commands see the environment of the client.
+	 * @param clientEnvironment the environment of the client
+	 * @param daemonEnvironment the environment of the daemon
+	 * @return whether the relevant variables are the same
+	 */
+	static boolean isSameEnvironment(Map<String, String> clientEnvironment, Map<String, String> daemonEnvironment) {
+		return getDaemonVariables(clientEnvironment).equals(getDaemonVariables(daemonEnvironment));
+	}
+
+	private static Map<String, String> getDaemonVariables(Map<String, String> environment) {
+		Map<String, String> variables = new HashMap<>();
+		environment.forEach((name, value) -> {
+			if (DAEMON_VARIABLES.contains(name) || name.startsWith(DAEMON_VARIABLE_PREFIX)) {
+				variables.put(name, value);
+			}
+		});
+		return variables;
+	}
+
+	static void writeRequest(OutputStream output, Request request) throws IOException {
+		byte[] bytes = objectMapper.writeValueAsBytes(request);
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeInt(bytes.length);
+		data.write(bytes);
+		data.flush();
+	}
+
+	static Request readRequest(InputStream input) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		byte[] bytes = new byte[data.readInt()];
+		data.readFully(bytes);
+		return objectMapper.readValue(bytes, Request.class);
+	}
+
+	static void writeFrame(OutputStream output, byte type, byte[] bytes, int offset, int length)
+			throws IOException {
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeByte(type);
+		data.writeInt(length);
+		data.write(bytes, offset, length);
+		data.flush();
+	}
+
+	static void writeExit(OutputStream output, int exitCode) throws IOException {
+		DataOutputStream data = new DataOutputStream(output);
+		data.writeByte(EXIT);
+		data.writeInt(4);
+		data.writeInt(exitCode);
+		data.flush();
+	}
+
+	static void writeRejected(OutputStream output) throws IOException {
+		writeFrame(output, REJECTED, new byte[0], 0, 0);
+	}
+
+	/**
+	 * Copies the output frames of a response to a stream.
+	 * @param input the response
+	 * @param output the stream receiving the output of the command
+	 * @return the exit code of the command, or null if the daemon rejected the command
+	 * @throws IOException if the response ended without an exit code
+	 */
+	static Integer readResponse(InputStream input, OutputStream output) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		while (true) {
+			byte type = data.readByte();
+			byte[] bytes = new byte[data.readInt()];
+			data.readFully(bytes);
+			switch (type) {
+				case OUTPUT -> {
+					output.write(bytes);
+					output.flush();
+				}
+				case EXIT -> {
+					return ByteBuffer.wrap(bytes).getInt();
+				}
+				case REJECTED -> {
+					return null;
+				}
+				default -> throw new IOException("Unknown frame type " + type);
+			}
+		}
+	}
+
+	/**
+	 * A command to run.
+	 *
+	 * @param version the version of the client
+	 * @param workingDirectory the working directory of the client
+	 * @param environment the environment variables of the client
+	 * @param args the arguments of the command
+	 */
+	record Request(String version, String workingDirectory, Map<String, String> environment, List<String> args) {
+	}
+
+	/**
+	 * Stream sending what is written as {@link #OUTPUT} frames.
+	 */
+	static final class FrameOutputStream extends OutputStream {
+
+		private final OutputStream output;
+
+		FrameOutputStream(OutputStream output) {
+			this.output = output;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) throws IOException {
+			if (length > 0) {
+				writeFrame(this.output, OUTPUT, bytes, offset, length);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import org.jline.terminal.Terminal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.daemon.DaemonProtocol.FrameOutputStream;
+import org.springframework.cli.daemon.DaemonProtocol.Request;
+import org.springframework.cli.util.IoUtils;
+import org.springframework.shell.ExitRequest;
+import org.springframework.shell.Input;
+import org.springframework.shell.InputProvider;
+import org.springframework.shell.Shell;
+
+/**
+ * Serves the commands of {@link DaemonClient clients} from a warm application context,
+ * listening on a Unix domain socket until no command arrived for the idle timeout.
+ * <p>
+ * Commands run one at a time in the working directory and with the environment of the
+ * client, and print through a terminal whose output is sent to the client. Commands of a
+ * client whose environment differs from the one of the daemon in variables affecting the
+ * daemon itself are rejected, the client then runs them itself.
+ */
+public class DaemonServer {
+
+	private static final Logger logger = LoggerFactory.getLogger(DaemonServer.class);
+
+	private final Shell shell;
+
+	private final Terminal terminal;
+
+	private final RedirectingOutputStream terminalOutput;
+
+	private final Duration idleTimeout;
+
+	private final String version;
+
+	DaemonServer(Shell shell, Terminal terminal, RedirectingOutputStream terminalOutput, Duration idleTimeout) {
+		this.shell = shell;
+		this.terminal = terminal;
+		this.terminalOutput = terminalOutput;
+		this.idleTimeout = idleTimeout;
+		this.version = DaemonProtocol.getVersion();
+	}
+
+	/**
+	 * Serves commands until the daemon was idle for the idle timeout.
+	 * @throws IOException if the socket can not be opened
+	 */
+	public void serve() throws IOException {
+		Path socketPath = DaemonProtocol.getSocketPath(this.version);
+		Files.createDirectories(socketPath.getParent());
+		try (FileChannel lockChannel = FileChannel.open(DaemonProtocol.getDaemonLockPath(this.version),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE); FileLock lock = lockChannel.tryLock()) {
+			if (lock == null) {
+				logger.info("Spring CLI daemon " + this.version + " is already running, stopping");
+				return;
+			}
+			// only the daemon holding the lock binds the socket, one found now was left
+			// over by a daemon which did not stop cleanly
+			Files.deleteIfExists(socketPath);
+			serve(socketPath);
+		}
+	}
+
+	private void serve(Path socketPath) throws IOException {
+		try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+				Selector selector = Selector.open()) {
+			server.bind(UnixDomainSocketAddress.of(socketPath));
+			try {
+				server.configureBlocking(false);
+				server.register(selector, SelectionKey.OP_ACCEPT);
+				logger.info("Spring CLI daemon " + this.version + " listening on " + socketPath);
+				while (selector.select(this.idleTimeout.toMillis()) > 0) {
+					selector.selectedKeys().clear();
+					try (SocketChannel channel = server.accept()) {
+						if (channel != null) {
+							channel.configureBlocking(true);
+							handle(channel);
+						}
+					}
+					catch (IOException ex) {
+						logger.debug("Lost connection to client", ex);
+					}
+				}
+				logger.info("Spring CLI daemon idle for " + this.idleTimeout + ", stopping");
+			}
+			finally {
+				// created by the bind above
+				Files.deleteIfExists(socketPath);
+			}
+		}
+	}
+
+	private void handle(SocketChannel channel) throws IOException {
+		handle(Channels.newInputStream(channel), Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Runs the command of a client.
+	 * @param input the stream of the request of the client
+	 * @param output the stream of the response to the client
+	 * @throws IOException if the request can not be read or the response not written
+	 */
+	void handle(InputStream input, OutputStream output) throws IOException {
+		Request request = DaemonProtocol.readRequest(input);
+		if (!this.version.equals(request.version())
+				|| !DaemonProtocol.isSameEnvironment(request.environment(), System.getenv())) {
+			logger.debug("Rejecting command of client with another version or environment");
+			DaemonProtocol.writeRejected(output);
+			return;
+		}
+		this.terminalOutput.redirect(new FrameOutputStream(output));
+		IoUtils.setWorkingDirectory(Path.of(request.workingDirectory()));
+		IoUtils.setEnvironment(request.environment());
+		int exitCode;
+		try {
+			exitCode = execute(request.args());
+		}
+		finally {
+			this.terminal.writer().flush();
+			this.terminalOutput.redirect(null);
+			IoUtils.setWorkingDirectory(null);
+			IoUtils.setEnvironment(null);
+		}
+		DaemonProtocol.writeExit(output, exitCode);
+	}
+
+	private int execute(List<String> args) {
+		InputProvider inputProvider = new InputProvider() {
+
+			private boolean done;
+
+			@Override
+			public Input readInput() {
+				if (this.done) {
+					return null;
+				}
+				this.done = true;
+				return new Input() {
+
+					@Override
+					public String rawText() {
+						return String.join(" ", args);
+					}
+
+					@Override
+					public List<String> words() {
+						return args;
+					}
+
+				};
+			}
+
+		};
+		try {
+			this.shell.run(inputProvider);
+			return 0;
+		}
+		catch (ExitRequest ex) {
+			return ex.status();
+		}
+		catch (Exception ex) {
+			this.terminal.writer().println(ex.getMessage());
+			return 1;
+		}
+	}
+
+}
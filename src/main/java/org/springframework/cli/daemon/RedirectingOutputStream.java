@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Output of the terminal of the daemon, sent to the client of the running command and
+ * discarded in between commands.
+ */
+class RedirectingOutputStream extends OutputStream {
+
+	@Nullable
+	private volatile OutputStream target;
+
+	void redirect(@Nullable OutputStream target) {
+		this.target = target;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		OutputStream output = this.target;
+		if (output != null) {
+			output.write(b);
+		}
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		OutputStream output = this.target;
+		if (output != null) {
+			output.write(bytes, offset, length);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		OutputStream output = this.target;
+		if (output != null) {
+			output.flush();
+		}
+	}
+
+}
@@ -16,7 +16,6 @@
 
 package org.springframework.cli.git;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,7 +26,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.gitlab4j.api.Constants.ArchiveFormat;
 import org.gitlab4j.api.Constants.SortOrder;
@@ -39,18 +39,18 @@ import org.gitlab4j.api.models.Tag;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
-import org.rauschig.jarchivelib.Archiver;
-import org.rauschig.jarchivelib.ArchiverFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.config.SpringCliUserConfig.Host;
+import org.springframework.cli.util.TarGzExtractor;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.util.ResourceUtils;
-import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -61,16 +61,33 @@ import org.springframework.util.StringUtils;
 @Component
 public class GitSourceRepositoryService implements SourceRepositoryService {
 
+	private static final String REPOSITORIES_CACHE_DIR_NAME = "repositories";
+
 	private final Logger logger = LoggerFactory.getLogger(GitSourceRepositoryService.class);
 
 	private final SpringCliUserConfig userConfig;
 
+	private final RepositoryArchiveCache repositoryArchiveCache;
+
+	@Autowired
 	public GitSourceRepositoryService(SpringCliUserConfig userConfig) {
+		this(userConfig, new RepositoryArchiveCache(
+				() -> userConfig.getCacheDir().resolve(REPOSITORIES_CACHE_DIR_NAME),
+				RepositoryArchiveCache.DEFAULT_MAX_SIZE));
+	}
+
+	public GitSourceRepositoryService(SpringCliUserConfig userConfig, RepositoryArchiveCache repositoryArchiveCache) {
 		this.userConfig = userConfig;
+		this.repositoryArchiveCache = repositoryArchiveCache;
 	}
 
 	@Override
 	public Path retrieveRepositoryContents(String sourceRepoUrl) {
+		return retrieveRepositoryContents(sourceRepoUrl, false);
+	}
+
+	@Override
+	public Path retrieveRepositoryContents(String sourceRepoUrl, boolean refresh) {
 		Path targetPath;
 		try {
 			targetPath = Files.createTempDirectory("source-repo-");
@@ -86,10 +103,10 @@ public class GitSourceRepositoryService implements SourceRepositoryService {
 		else {
 			GitRepoUrlRef gitRepoUrlRef = GitRepoUrlRef.fromUriString(sourceRepoUrl);
 			if (gitRepoUrlRef.getRepoUrl().toString().contains("github.com")) {
-				contentPath = retrieveGitHubRepositoryContents(gitRepoUrlRef, targetPath);
+				contentPath = retrieveGitHubRepositoryContents(gitRepoUrlRef, targetPath, refresh);
 			}
 			else {
-				contentPath = retrieveGitLabRepositoryContents(gitRepoUrlRef, targetPath);
+				contentPath = retrieveGitLabRepositoryContents(gitRepoUrlRef, targetPath, refresh);
 			}
 		}
 		logger.debug("Source from " + sourceRepoUrl + " retrieved into " + contentPath.toFile().getAbsolutePath());
@@ -115,83 +132,43 @@ public class GitSourceRepositoryService implements SourceRepositoryService {
 	/**
 	 * Retrieve contents from a GitHub repository.
 	 */
-	private Path retrieveGitHubRepositoryContents(GitRepoUrlRef url, Path targetPath) {
+	private Path retrieveGitHubRepositoryContents(GitRepoUrlRef url, Path targetPath, boolean refresh) {
 
 		try {
 			URI gitUri = new URI(url.getRepoUrl().toString());
-			String token = getToken(gitUri.getHost());
-			GitHub github = null;
-			if (token == null) {
-				// try to use an environment variable
-				if (StringUtils.hasText(System.getenv("GITHUB_OAUTH"))) {
-					try {
-						github = GitHubBuilder.fromEnvironment().build();
-					}
-					catch (IOException ex) {
-						logger.trace("No environment variable GITHUB_AUTH found.", ex.getMessage());
-						// do nothing
-					}
-				}
-				// fallback to property file
-				if (github == null) {
-					try {
-						github = GitHubBuilder.fromPropertyFile().build();
-					}
-					catch (IOException ex) {
-						logger.trace("No .github directory found under the base user.dir.", ex.getMessage());
-						// ignore as there is not a .github directory under the user.dir
-					}
-				}
-				// connect anonymously
-				if (github == null) {
-					// TODO terminal warning about rate limiting
-					github = GitHub.connectAnonymously();
-				}
-			}
-			else {
-				github = new GitHubBuilder().withOAuthToken(token).build();
-			}
-			String repo = gitUri.getPath().substring(1);
-			if (repo.endsWith(".git")) {
-				repo = repo.substring(0, repo.length() - 4);
-			}
+			GitHub github = connectGitHub(gitUri);
 			String ref = url.getRef();
-			GHRepository ghRepository = github.getRepository(repo);
-			InputStream inputStream = ghRepository
-				.readTar((inputstream) -> new ByteArrayInputStream(StreamUtils.copyToByteArray(inputstream)), ref);
-
-			File targetFile = targetPath.toFile();
-			Archiver archiver = ArchiverFactory.createArchiver("tar", "gz");
-			try {
-				archiver.extract(inputStream, targetPath.toFile());
-			}
-			catch (Exception ex) {
-				throw new SpringCliException(String.format("Extraction error to %s", targetFile.getAbsolutePath()), ex);
-			}
+			GHRepository ghRepository = github.getRepository(getRepositoryName(gitUri));
+			String subPath = normalizeSubPath(url.getSubPath());
+			String commitSha = resolveGitHubCommitSha(ghRepository, ref);
+			String cacheKey = (commitSha != null)
+					? RepositoryArchiveCache.cacheKey(url.getRepoUrl().toString(), ref, subPath, commitSha) : null;
 
-			Path unTar = Paths.get(targetPath.toFile().getAbsolutePath());
-			AtomicReference<Path> tarDir = new AtomicReference<>();
-			Files.list(unTar.toFile().toPath()).forEach((path) -> {
-				if (path.toFile().isDirectory()) {
-					if (tarDir.get() != null) {
-						throw new SpringCliException("Detected multiple directories '" + tarDir.get().toFile().getName()
-								+ "' and '" + path.toFile().getName() + " in downloaded zip file");
-					}
-					tarDir.set(path);
-				}
-			});
-			if (tarDir.get() == null) {
-				throw new SpringCliException(
-						"Downloaded zip file not unzipped correctly into " + unTar.toFile().getAbsolutePath());
-			}
-			Path contentPath;
-			if (StringUtils.hasText(url.getSubPath())) {
-				contentPath = Paths.get(tarDir.get().toFile().getAbsolutePath(), url.getSubPath());
+			Path rootPath;
+			if (cacheKey != null && !refresh && this.repositoryArchiveCache.copyTo(cacheKey, targetPath)) {
+				logger.debug("Using cached contents of " + url + " at commit " + commitSha);
+				rootPath = targetPath;
 			}
 			else {
-				contentPath = tarDir.get();
+				// download the exact commit the cache key was computed for, extracting
+				// entries as they arrive rather than buffering the archive in memory
+				String archiveRef = (commitSha != null) ? commitSha : ref;
+				try {
+					long files = ghRepository.readTar((inputStream) -> TarGzExtractor.extract(inputStream, targetPath,
+							archiveEntryFilter(subPath)), archiveRef);
+					logger.debug("Extracted " + files + " files from " + url);
+					checkSubPathExtracted(targetPath, subPath, url);
+				}
+				catch (IOException ex) {
+					throw new SpringCliException(
+							String.format("Extraction error to %s", targetPath.toFile().getAbsolutePath()), ex);
+				}
+				rootPath = findArchiveRootDirectory(targetPath);
+				if (cacheKey != null) {
+					this.repositoryArchiveCache.put(cacheKey, rootPath);
+				}
 			}
-			return contentPath;
+			return resolveContentPath(rootPath, subPath, url);
 		}
 		catch (IOException | URISyntaxException ex) {
 			throw new SpringCliException("Failed processing " + url, ex);
@@ -201,63 +178,255 @@ public class GitSourceRepositoryService implements SourceRepositoryService {
 	/**
 	 * Retrieve contents from a GitLab repository.
 	 */
-	private Path retrieveGitLabRepositoryContents(GitRepoUrlRef url, Path targetPath) {
+	private Path retrieveGitLabRepositoryContents(GitRepoUrlRef url, Path targetPath, boolean refresh) {
 		try {
 			URI gitUri = new URI(url.getRepoUrl().toString());
-			String token = getToken(gitUri.getHost());
-			if (token == null) {
-				throw new SpringCliException("Access token not provided for " + gitUri);
+			GitLabApi gitLabApi = connectGitLab(gitUri);
+			String repo = getRepositoryName(gitUri);
+			String refSha = resolveGitLabRefSha(gitLabApi, repo, url.getRef());
+			String subPath = normalizeSubPath(url.getSubPath());
+			String commitSha = (refSha != null) ? refSha : resolveGitLabDefaultBranchSha(gitLabApi, repo);
+			String cacheKey = (commitSha != null)
+					? RepositoryArchiveCache.cacheKey(url.getRepoUrl().toString(), url.getRef(), subPath, commitSha)
+					: null;
+
+			Path rootPath;
+			if (cacheKey != null && !refresh && this.repositoryArchiveCache.copyTo(cacheKey, targetPath)) {
+				logger.debug("Using cached contents of " + url + " at commit " + commitSha);
+				rootPath = targetPath;
+			}
+			else {
+				try (InputStream inputStream = gitLabApi.getRepositoryApi()
+					.getRepositoryArchive(repo, commitSha, ArchiveFormat.TAR_GZ)) {
+					long files = TarGzExtractor.extract(inputStream, targetPath, archiveEntryFilter(subPath));
+					logger.debug("Extracted " + files + " files from GitLab Repo " + repo);
+					checkSubPathExtracted(targetPath, subPath, url);
+				}
+				catch (IOException ex) {
+					throw new SpringCliException(
+							String.format("Extraction error to %s", targetPath.toFile().getAbsolutePath()), ex);
+				}
+				rootPath = findArchiveRootDirectory(targetPath);
+				if (cacheKey != null) {
+					this.repositoryArchiveCache.put(cacheKey, rootPath);
+				}
 			}
-			GitLabApi gitLabApi = new GitLabApi(gitUri.getScheme() + "://" + gitUri.getHost(), token);
-			String repo = gitUri.getPath().substring(1);
-			if (repo.endsWith(".git")) {
-				repo = repo.substring(0, repo.length() - 4);
+			return resolveContentPath(rootPath, subPath, url);
+		}
+		catch (URISyntaxException | GitLabApiException ex) {
+			throw new SpringCliException("Failed processing " + url, ex);
+		}
+	}
+
+	@Override
+	@Nullable
+	public String resolveCommitSha(String sourceRepoUrl) {
+		if (sourceRepoUrl.startsWith("file:")) {
+			return null;
+		}
+		try {
+			GitRepoUrlRef url = GitRepoUrlRef.fromUriString(sourceRepoUrl);
+			URI gitUri = new URI(url.getRepoUrl().toString());
+			if (url.getRepoUrl().toString().contains("github.com")) {
+				GHRepository ghRepository = connectGitHub(gitUri).getRepository(getRepositoryName(gitUri));
+				return resolveGitHubCommitSha(ghRepository, url.getRef());
 			}
+			GitLabApi gitLabApi = connectGitLab(gitUri);
+			String repo = getRepositoryName(gitUri);
+			String refSha = resolveGitLabRefSha(gitLabApi, repo, url.getRef());
+			return (refSha != null) ? refSha : resolveGitLabDefaultBranchSha(gitLabApi, repo);
+		}
+		catch (IOException | URISyntaxException | GitLabApiException | RuntimeException ex) {
+			logger.debug("Not able to resolve commit of " + sourceRepoUrl, ex);
+			return null;
+		}
+	}
 
-			String refSha = null;
-			if (StringUtils.hasText(url.getRef())) {
-				List<Branch> branches = gitLabApi.getRepositoryApi().getBranches(repo, url.getRef());
-				if (branches.size() == 1) {
-					refSha = branches.get(0).getCommit().getId();
+	private GitHub connectGitHub(URI gitUri) throws IOException {
+		String token = getToken(gitUri.getHost());
+		GitHub github = null;
+		if (token == null) {
+			// try to use an environment variable
+			if (StringUtils.hasText(System.getenv("GITHUB_OAUTH"))) {
+				try {
+					github = GitHubBuilder.fromEnvironment().build();
 				}
-				else {
-					List<Tag> tags = gitLabApi.getTagsApi().getTags(repo, TagOrderBy.NAME, SortOrder.ASC, url.getRef());
-					if (tags.size() == 1) {
-						refSha = tags.get(0).getCommit().getId();
-					}
-					else {
-						throw new SpringCliException("Not able to find ref " + url.getRef() + " for " + repo);
-					}
+				catch (IOException ex) {
+					logger.trace("No environment variable GITHUB_AUTH found.", ex.getMessage());
+					// do nothing
 				}
 			}
-			File tarfile = gitLabApi.getRepositoryApi()
-				.getRepositoryArchive(repo, refSha, targetPath.toFile(), ArchiveFormat.TAR_GZ);
-			logger.debug("Wrote GitLab Repo " + repo + " to " + tarfile.getAbsolutePath());
-
-			File targetFile = targetPath.toFile();
-			Archiver archiver = ArchiverFactory.createArchiver("tar", "gz");
-			try {
-				archiver.extract(tarfile, targetPath.toFile());
+			// fallback to property file
+			if (github == null) {
+				try {
+					github = GitHubBuilder.fromPropertyFile().build();
+				}
+				catch (IOException ex) {
+					logger.trace("No .github directory found under the base user.dir.", ex.getMessage());
+					// ignore as there is not a .github directory under the user.dir
+				}
 			}
-			catch (Exception ex) {
-				throw new SpringCliException(String.format("Extraction error to %s", targetFile.getAbsolutePath()), ex);
+			// connect anonymously
+			if (github == null) {
+				// TODO terminal warning about rate limiting
+				github = GitHub.connectAnonymously();
 			}
+		}
+		else {
+			github = new GitHubBuilder().withOAuthToken(token).build();
+		}
+		return github;
+	}
+
+	private GitLabApi connectGitLab(URI gitUri) {
+		String token = getToken(gitUri.getHost());
+		if (token == null) {
+			throw new SpringCliException("Access token not provided for " + gitUri);
+		}
+		return new GitLabApi(gitUri.getScheme() + "://" + gitUri.getHost(), token);
+	}
+
+	private static String getRepositoryName(URI gitUri) {
+		String repo = gitUri.getPath().substring(1);
+		if (repo.endsWith(".git")) {
+			repo = repo.substring(0, repo.length() - 4);
+		}
+		return repo;
+	}
+
+	/**
+	 * Resolve the commit a GitLab branch or tag points to.
+	 */
+	@Nullable
+	private String resolveGitLabRefSha(GitLabApi gitLabApi, String repo, @Nullable String ref)
+			throws GitLabApiException {
+		if (!StringUtils.hasText(ref)) {
+			return null;
+		}
+		List<Branch> branches = gitLabApi.getRepositoryApi().getBranches(repo, ref);
+		if (branches.size() == 1) {
+			return branches.get(0).getCommit().getId();
+		}
+		List<Tag> tags = gitLabApi.getTagsApi().getTags(repo, TagOrderBy.NAME, SortOrder.ASC, ref);
+		if (tags.size() == 1) {
+			return tags.get(0).getCommit().getId();
+		}
+		throw new SpringCliException("Not able to find ref " + ref + " for " + repo);
+	}
+
+	@Nullable
+	private static String normalizeSubPath(@Nullable String subPath) {
+		if (!StringUtils.hasText(subPath)) {
+			return null;
+		}
+		String normalized = StringUtils.trimTrailingCharacter(StringUtils.trimLeadingCharacter(subPath, '/'), '/');
+		return StringUtils.hasText(normalized) ? normalized : null;
+	}
 
-			String zipDirName = tarfile.getName().substring(0, tarfile.getName().indexOf('.'));
-			if (!tarfile.delete()) {
-				logger.warn("Not able to delete zip file " + tarfile.getAbsolutePath());
+	/**
+	 * Create a filter for archive entries so that only the files below the sub path are
+	 * extracted. Repository archives wrap all entries in a single top level directory,
+	 * which is skipped when matching against the sub path.
+	 */
+	private static Predicate<String> archiveEntryFilter(@Nullable String subPath) {
+		if (subPath == null) {
+			return (name) -> true;
+		}
+		String prefix = subPath + "/";
+		return (name) -> {
+			int index = name.indexOf('/');
+			if (index < 0) {
+				return false;
 			}
-			Path contentPath;
-			if (StringUtils.hasText(url.getSubPath())) {
-				contentPath = Paths.get(targetPath.toFile().getAbsolutePath(), zipDirName, url.getSubPath());
+			String relativeName = name.substring(index + 1);
+			return relativeName.startsWith(prefix) || relativeName.equals(subPath);
+		};
+	}
+
+	private Path resolveContentPath(Path rootPath, @Nullable String subPath, GitRepoUrlRef url) {
+		if (subPath == null) {
+			return rootPath;
+		}
+		Path contentPath = Paths.get(rootPath.toFile().getAbsolutePath(), subPath);
+		if (!Files.isDirectory(contentPath)) {
+			throw subPathNotFound(subPath, url);
+		}
+		return contentPath;
+	}
+
+	/**
+	 * Nothing is extracted when the archive has no entries below the sub path, which has
+	 * to be reported before looking for the root directory of the archive.
+	 */
+	private static void checkSubPathExtracted(Path targetPath, @Nullable String subPath, GitRepoUrlRef url)
+			throws IOException {
+		if (subPath == null) {
+			return;
+		}
+		try (Stream<Path> paths = Files.list(targetPath)) {
+			if (paths.findAny().isEmpty()) {
+				throw subPathNotFound(subPath, url);
 			}
-			else {
-				contentPath = Paths.get(targetPath.toFile().getAbsolutePath(), zipDirName);
+		}
+	}
+
+	private static SpringCliException subPathNotFound(String subPath, GitRepoUrlRef url) {
+		return new SpringCliException("Sub path '" + subPath + "' not found in " + url.getRepoUrl());
+	}
+
+	/**
+	 * Find the single top level directory that repository archives are wrapped in.
+	 */
+	private Path findArchiveRootDirectory(Path targetPath) {
+		Path rootDir = null;
+		try (Stream<Path> paths = Files.list(targetPath)) {
+			for (Path path : paths.toList()) {
+				if (Files.isDirectory(path)) {
+					if (rootDir != null) {
+						throw new SpringCliException("Detected multiple directories '" + rootDir.getFileName()
+								+ "' and '" + path.getFileName() + " in downloaded archive");
+					}
+					rootDir = path;
+				}
 			}
-			return contentPath;
 		}
-		catch (URISyntaxException | GitLabApiException ex) {
-			throw new SpringCliException("Failed processing " + url, ex);
+		catch (IOException ex) {
+			throw new SpringCliException("Failed listing " + targetPath, ex);
+		}
+		if (rootDir == null) {
+			throw new SpringCliException(
+					"Downloaded archive not extracted correctly into " + targetPath.toFile().getAbsolutePath());
+		}
+		return rootDir;
+	}
+
+	/**
+	 * Resolve the commit a GitHub ref currently points to, used as part of the cache key.
+	 */
+	@Nullable
+	private String resolveGitHubCommitSha(GHRepository ghRepository, @Nullable String ref) {
+		try {
+			String refToResolve = StringUtils.hasText(ref) ? ref : ghRepository.getDefaultBranch();
+			return ghRepository.getCommit(refToResolve).getSHA1();
+		}
+		catch (IOException ex) {
+			logger.debug("Not able to resolve commit for ref " + ref + ", contents will not be cached", ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve the commit the default branch of a GitLab project points to.
+	 */
+	@Nullable
+	private String resolveGitLabDefaultBranchSha(GitLabApi gitLabApi, String repo) {
+		try {
+			String defaultBranch = gitLabApi.getProjectApi().getProject(repo).getDefaultBranch();
+			return gitLabApi.getRepositoryApi().getBranch(repo, defaultBranch).getCommit().getId();
+		}
+		catch (GitLabApiException ex) {
+			logger.debug("Not able to resolve default branch of " + repo + ", contents will not be cached", ex);
+			return null;
 		}
 	}
 
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Content addressed on-disk cache of extracted repository archives. Entries are keyed
+ * by repository URL, requested ref and the commit SHA the ref resolved to, so a cached
+ * entry never goes stale. The total size of the cache is bounded and least recently
+ * used entries are evicted first.
+ */
+public class RepositoryArchiveCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(RepositoryArchiveCache.class);
+
+	/**
+	 * Default upper bound for the total size of cached entries.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 512L * 1024 * 1024;
+
+	private static final String CONTENTS_DIR_NAME = "contents";
+
+	private static final String ENTRY_FILE_NAME = "entry.properties";
+
+	private static final String SIZE_PROPERTY = "size";
+
+	private final Supplier<Path> cacheDirSupplier;
+
+	private final long maxSize;
+
+	/**
+	 * Creates a cache.
+	 * @param cacheDirSupplier supplier for the directory holding cached entries, resolved
+	 * lazily so that nothing is touched on disk until the cache is used
+	 * @param maxSize the maximum total size in bytes of all cached entries
+	 */
+	public RepositoryArchiveCache(Supplier<Path> cacheDirSupplier, long maxSize) {
+		Assert.notNull(cacheDirSupplier, "cacheDirSupplier must be set");
+		Assert.isTrue(maxSize > 0, "maxSize must be positive");
+		this.cacheDirSupplier = cacheDirSupplier;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Creates the key for a cache entry.
+	 * @param repoUrl the repository URL
+	 * @param ref the requested ref, may be null
+	 * @param subPath the sub path the entry is limited to, may be null
+	 * @param commitSha the commit SHA the ref resolved to
+	 * @return the cache key
+	 */
+	public static String cacheKey(String repoUrl, String ref, String subPath, String commitSha) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			String value = repoUrl + "#" + ((ref != null) ? ref : "") + "#" + ((subPath != null) ? subPath : "") + "#"
+					+ commitSha;
+			return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Gets the contents of a cached entry and marks it as recently used.
+	 * @param key the cache key
+	 * @return the path to the cached contents, empty if not cached
+	 */
+	public Optional<Path> get(String key) {
+		Path entryDir = getCacheDir().resolve(key);
+		Path entryFile = entryDir.resolve(ENTRY_FILE_NAME);
+		Path contents = entryDir.resolve(CONTENTS_DIR_NAME);
+		if (!Files.isRegularFile(entryFile) || !Files.isDirectory(contents)) {
+			return Optional.empty();
+		}
+		try {
+			Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to update access time of cache entry " + entryDir, ex);
+		}
+		logger.debug("Cache hit for " + key);
+		return Optional.of(contents);
+	}
+
+	/**
+	 * Copies the contents of a cached entry into a target directory.
+	 * @param key the cache key
+	 * @param targetDir the directory to copy the contents into
+	 * @return true if the entry was found and copied
+	 */
+	public boolean copyTo(String key, Path targetDir) {
+		Optional<Path> contents = get(key);
+		if (contents.isEmpty()) {
+			return false;
+		}
+		try {
+			copyDirectory(contents.get(), targetDir);
+			return true;
+		}
+		catch (IOException ex) {
+			logger.warn("Unable to copy cache entry " + key + ", discarding it", ex);
+			evict(key);
+			return false;
+		}
+	}
+
+	/**
+	 * Stores a copy of a directory in the cache. Failures are logged and otherwise
+	 * ignored as the cache is only an optimization.
+	 * @param key the cache key
+	 * @param sourceDir the directory whose contents to cache
+	 */
+	public void put(String key, Path sourceDir) {
+		Path cacheDir = getCacheDir();
+		Path entryDir = cacheDir.resolve(key);
+		Path stagingDir = cacheDir.resolve(key + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(stagingDir);
+			long size = copyDirectory(sourceDir, stagingDir.resolve(CONTENTS_DIR_NAME));
+			Properties properties = new Properties();
+			properties.setProperty(SIZE_PROPERTY, Long.toString(size));
+			try (OutputStream out = Files.newOutputStream(stagingDir.resolve(ENTRY_FILE_NAME))) {
+				properties.store(out, null);
+			}
+			if (Files.exists(entryDir)) {
+				FileSystemUtils.deleteRecursively(entryDir);
+			}
+			Files.move(stagingDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+			logger.debug("Cached " + sourceDir + " as " + key);
+		}
+		catch (FileAlreadyExistsException ex) {
+			logger.debug("Cache entry " + key + " was created concurrently");
+		}
+		catch (IOException ex) {
+			logger.warn("Unable to cache " + sourceDir, ex);
+		}
+		finally {
+			deleteQuietly(stagingDir);
+		}
+		enforceMaxSize(key);
+	}
+
+	/**
+	 * Removes a single entry from the cache.
+	 * @param key the cache key
+	 */
+	public void evict(String key) {
+		deleteQuietly(getCacheDir().resolve(key));
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		deleteQuietly(getCacheDir());
+	}
+
+	private void enforceMaxSize(String keep) {
+		Path cacheDir = getCacheDir();
+		if (!Files.isDirectory(cacheDir)) {
+			return;
+		}
+		List<Entry> entries = new ArrayList<>();
+		try (Stream<Path> paths = Files.list(cacheDir)) {
+			paths.forEach(path -> readEntry(path).ifPresent(entries::add));
+		}
+		catch (IOException ex) {
+			logger.warn("Unable to list cache directory " + cacheDir, ex);
+			return;
+		}
+		long total = entries.stream().mapToLong(Entry::size).sum();
+		entries.sort(Comparator.comparing(Entry::lastAccess));
+		for (Entry entry : entries) {
+			if (total <= this.maxSize) {
+				break;
+			}
+			if (entry.path().getFileName().toString().equals(keep)) {
+				continue;
+			}
+			logger.debug("Evicting cache entry " + entry.path());
+			deleteQuietly(entry.path());
+			total -= entry.size();
+		}
+	}
+
+	private Optional<Entry> readEntry(Path entryDir) {
+		Path entryFile = entryDir.resolve(ENTRY_FILE_NAME);
+		if (!Files.isRegularFile(entryFile)) {
+			return Optional.empty();
+		}
+		try (InputStream in = Files.newInputStream(entryFile)) {
+			Properties properties = new Properties();
+			properties.load(in);
+			long size = Long.parseLong(properties.getProperty(SIZE_PROPERTY, "0"));
+			return Optional.of(new Entry(entryDir, size, Files.getLastModifiedTime(entryFile)));
+		}
+		catch (IOException | NumberFormatException ex) {
+			logger.debug("Ignoring unreadable cache entry " + entryDir, ex);
+			return Optional.empty();
+		}
+	}
+
+	private Path getCacheDir() {
+		return this.cacheDirSupplier.get();
+	}
+
+	/**
+	 * Copies a directory tree, resolving by name so that source and target may live on
+	 * different file systems.
+	 * @return the number of bytes copied
+	 */
+	private static long copyDirectory(Path source, Path target) throws IOException {
+		long[] size = new long[1];
+		Files.walkFileTree(source, new SimpleFileVisitor<>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				Files.createDirectories(resolve(dir));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.copy(file, resolve(file), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.COPY_ATTRIBUTES);
+				size[0] += attrs.size();
+				return FileVisitResult.CONTINUE;
+			}
+
+			private Path resolve(Path path) {
+				Path resolved = target;
+				for (Path element : source.relativize(path)) {
+					resolved = resolved.resolve(element.toString());
+				}
+				return resolved;
+			}
+
+		});
+		return size[0];
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			FileSystemUtils.deleteRecursively(path);
+		}
+		catch (IOException ex) {
+			logger.warn("Could not delete path " + path, ex);
+		}
+	}
+
+	private record Entry(Path path, long size, FileTime lastAccess) {
+	}
+
+}
@@ -18,6 +18,8 @@ package org.springframework.cli.git;
 
 import java.nio.file.Path;
 
+import org.springframework.lang.Nullable;
+
 /**
  * @author Thomas Risberg
  */
@@ -32,4 +34,26 @@ public interface SourceRepositoryService {
 	 */
 	Path retrieveRepositoryContents(String sourceRepoUrl);
 
+	/**
+	 * Retrieve contents from a source repository.
+	 * @param sourceRepoUrl the URL of the repository to retrieve the content for.
+	 * @param refresh whether to bypass any locally cached copy of the contents
+	 * @return the full Path to where the contents have been retrieved
+	 */
+	default Path retrieveRepositoryContents(String sourceRepoUrl, boolean refresh) {
+		return retrieveRepositoryContents(sourceRepoUrl);
+	}
+
+	/**
+	 * Resolve the commit the contents of a source repository currently correspond to,
+	 * without retrieving the contents. Used to cheaply check whether previously
+	 * retrieved contents are still current.
+	 * @param sourceRepoUrl the URL of the repository
+	 * @return the commit SHA, or {@code null} if it can't be determined
+	 */
+	@Nullable
+	default String resolveCommitSha(String sourceRepoUrl) {
+		return null;
+	}
+
 }
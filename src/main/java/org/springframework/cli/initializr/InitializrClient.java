@@ -16,17 +16,38 @@
 
 package org.springframework.cli.initializr;
 
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.cli.initializr.InitializrMetadataCache.CachedMetadata;
 import org.springframework.cli.initializr.model.Metadata;
+import org.springframework.cli.util.ProjectInfo;
+import org.springframework.cli.util.TarGzExtractor;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -62,6 +83,16 @@ public interface InitializrClient {
 			String version, String groupId, String artifact, String name, String description, String packageName,
 			String packaging, String javaVersion);
 
+	/**
+	 * Generate a project and extract it into a directory while it is downloaded, without
+	 * going through a temporary file. With a project cache configured, a previously
+	 * generated project with the same content is reused instead.
+	 * @return the amount of data processed
+	 */
+	Extraction generate(String projectType, String languageType, String bootVersion, List<String> dependencies,
+			String version, String groupId, String artifact, String name, String description, String packageName,
+			String packaging, String javaVersion, Path targetDirectory);
+
 	/**
 	 * Gets a new builder instance for initializr client.
 	 * @param webClientBuilder the webclient builder
@@ -71,6 +102,15 @@ public interface InitializrClient {
 		return new DefaultBuilder(webClientBuilder);
 	}
 
+	/**
+	 * Amount of data processed when extracting a generated project.
+	 *
+	 * @param bytes the number of compressed bytes downloaded
+	 * @param entries the number of files extracted
+	 */
+	record Extraction(long bytes, long entries) {
+	}
+
 	/**
 	 * Interface for a initializr client builder.
 	 */
@@ -83,6 +123,20 @@ public interface InitializrClient {
 		 */
 		Builder target(String baseUrl);
 
+		/**
+		 * Sets a cache keeping metadata across runs.
+		 * @param metadataCache the metadata cache
+		 * @return the builder
+		 */
+		Builder metadataCache(InitializrMetadataCache metadataCache);
+
+		/**
+		 * Sets a cache keeping generated projects across runs.
+		 * @param projectCache the project cache
+		 * @return the builder
+		 */
+		Builder projectCache(InitializrProjectCache projectCache);
+
 		/**
 		 * Builds an initializr client.
 		 * @return the initializr client
@@ -97,6 +151,10 @@ public interface InitializrClient {
 
 		private WebClient.Builder webClientBuilder;
 
+		private InitializrMetadataCache metadataCache;
+
+		private InitializrProjectCache projectCache;
+
 		DefaultBuilder(WebClient.Builder webClientBuilder) {
 			this.webClientBuilder = webClientBuilder;
 		}
@@ -106,29 +164,66 @@ public interface InitializrClient {
 			return this;
 		}
 
+		public Builder metadataCache(InitializrMetadataCache metadataCache) {
+			this.metadataCache = metadataCache;
+			return this;
+		}
+
+		public Builder projectCache(InitializrProjectCache projectCache) {
+			this.projectCache = projectCache;
+			return this;
+		}
+
 		public InitializrClient build() {
 			WebClient client = webClientBuilder.baseUrl(this.baseUrl).build();
-			return new DefaultInitializrClient(client, this.baseUrl);
+			return new DefaultInitializrClient(client, this.baseUrl, this.metadataCache, this.projectCache);
 		}
 
 	}
 
 	class DefaultInitializrClient implements InitializrClient {
 
+		private static final Logger logger = LoggerFactory.getLogger(DefaultInitializrClient.class);
+
+		private static final ObjectMapper objectMapper = new ObjectMapper()
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+		private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+		private static final int STREAM_PREFETCH = 4;
+
 		private static final MediaType INITIALIZER_MEDIA_TYPE = new MediaType("application",
 				"vnd.initializr.v2.2+json");
 
 		private WebClient client;
 
-		private Metadata metadata;
+		private volatile Metadata metadata;
 
 		private AtomicBoolean connected = new AtomicBoolean(false);
 
 		private String baseUrl;
 
+		@Nullable
+		private InitializrMetadataCache metadataCache;
+
+		@Nullable
+		private InitializrProjectCache projectCache;
+
 		public DefaultInitializrClient(WebClient client, String baseUrl) {
+			this(client, baseUrl, null);
+		}
+
+		public DefaultInitializrClient(WebClient client, String baseUrl,
+				@Nullable InitializrMetadataCache metadataCache) {
+			this(client, baseUrl, metadataCache, null);
+		}
+
+		public DefaultInitializrClient(WebClient client, String baseUrl,
+				@Nullable InitializrMetadataCache metadataCache, @Nullable InitializrProjectCache projectCache) {
 			this.client = client;
 			this.baseUrl = baseUrl;
+			this.metadataCache = metadataCache;
+			this.projectCache = projectCache;
 		}
 
 		@Override
@@ -157,24 +252,8 @@ public interface InitializrClient {
 				String packaging, String javaVersion) {
 			try {
 				Path tmp = Files.createTempFile("initializrcli", null);
-				Flux<DataBuffer> dataBuffer = client.get()
-					.uri(uriBuilder -> uriBuilder.path("starter.tgz")
-						.queryParam("type", projectType)
-						.queryParam("dependencies", StringUtils.collectionToCommaDelimitedString(dependencies))
-						.queryParam("packaging", packaging)
-						.queryParam("javaVersion", javaVersion)
-						.queryParam("language", languageType)
-						.queryParam("bootVersion", bootVersion)
-						.queryParam("version", version)
-						.queryParam("groupId", groupId)
-						.queryParam("artifactId", artifact)
-						.queryParam("name", name)
-						.queryParam("description", description)
-						.queryParam("packageName", packageName)
-						.build())
-					.accept(MediaType.ALL)
-					.retrieve()
-					.bodyToFlux(DataBuffer.class);
+				Flux<DataBuffer> dataBuffer = starter(projectType, languageType, bootVersion, dependencies, version,
+						groupId, artifact, name, description, packageName, packaging, javaVersion);
 				DataBufferUtils.write(dataBuffer, tmp).block();
 				return tmp;
 			}
@@ -183,13 +262,173 @@ public interface InitializrClient {
 			}
 		}
 
+		@Override
+		public Extraction generate(String projectType, String languageType, String bootVersion,
+				List<String> dependencies, String version, String groupId, String artifact, String name,
+				String description, String packageName, String packaging, String javaVersion, Path targetDirectory) {
+			ProjectInfo projectInfo = new ProjectInfo(groupId, artifact, version, name, description, packageName);
+			Optional<String> cacheKey = (this.projectCache != null)
+					? InitializrProjectCache.cacheKey(this.baseUrl, projectType, languageType, bootVersion,
+							dependencies, packaging, javaVersion, projectInfo)
+					: Optional.empty();
+			if (cacheKey.isPresent() && this.projectCache.restore(cacheKey.get(), targetDirectory, projectInfo)) {
+				return new Extraction(0, countFiles(targetDirectory));
+			}
+			// only cache what was generated into a directory of its own
+			boolean cacheable = cacheKey.isPresent() && isEmptyDirectory(targetDirectory);
+			Extraction extraction = download(projectType, languageType, bootVersion, dependencies, version, groupId,
+					artifact, name, description, packageName, packaging, javaVersion, targetDirectory);
+			if (cacheable) {
+				this.projectCache.put(cacheKey.get(), targetDirectory);
+			}
+			return extraction;
+		}
+
+		private Extraction download(String projectType, String languageType, String bootVersion,
+				List<String> dependencies, String version, String groupId, String artifact, String name,
+				String description, String packageName, String packaging, String javaVersion, Path targetDirectory) {
+			AtomicLong bytes = new AtomicLong();
+			AtomicReference<Throwable> downloadError = new AtomicReference<>();
+			Flux<DataBuffer> dataBuffer = starter(projectType, languageType, bootVersion, dependencies, version,
+					groupId, artifact, name, description, packageName, packaging, javaVersion)
+				.doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+				// hand buffers over to a thread allowed to block, the small prefetch is the
+				// only buffering between network and extraction
+				.publishOn(Schedulers.boundedElastic(), STREAM_PREFETCH);
+			try (PipedInputStream in = new PipedInputStream(STREAM_BUFFER_SIZE)) {
+				PipedOutputStream out = new PipedOutputStream(in);
+				// closing the pipe signals the end of the archive to the extracting side
+				Disposable download = DataBufferUtils.write(dataBuffer, out)
+					.doFinally(signal -> closeQuietly(out))
+					.subscribe(DataBufferUtils.releaseConsumer(), downloadError::set);
+				try {
+					long entries = TarGzExtractor.extract(in, targetDirectory);
+					if (downloadError.get() != null) {
+						throw new IOException("Download of project failed", downloadError.get());
+					}
+					return new Extraction(bytes.get(), entries);
+				}
+				catch (IOException ex) {
+					Throwable cause = (downloadError.get() != null) ? downloadError.get() : ex;
+					throw new RuntimeException("Could not extract project to " + targetDirectory, cause);
+				}
+				finally {
+					download.dispose();
+				}
+			}
+			catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		private static boolean isEmptyDirectory(Path dir) {
+			try (Stream<Path> paths = Files.list(dir)) {
+				return paths.findAny().isEmpty();
+			}
+			catch (IOException ex) {
+				return false;
+			}
+		}
+
+		private static long countFiles(Path dir) {
+			try (Stream<Path> paths = Files.walk(dir)) {
+				return paths.filter(Files::isRegularFile).count();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private static void closeQuietly(PipedOutputStream out) {
+			try {
+				out.close();
+			}
+			catch (IOException ex) {
+				logger.debug("Could not close archive stream", ex);
+			}
+		}
+
+		private Flux<DataBuffer> starter(String projectType, String languageType, String bootVersion,
+				List<String> dependencies, String version, String groupId, String artifact, String name,
+				String description, String packageName, String packaging, String javaVersion) {
+			return client.get()
+				.uri(uriBuilder -> uriBuilder.path("starter.tgz")
+					.queryParam("type", projectType)
+					.queryParam("dependencies", StringUtils.collectionToCommaDelimitedString(dependencies))
+					.queryParam("packaging", packaging)
+					.queryParam("javaVersion", javaVersion)
+					.queryParam("language", languageType)
+					.queryParam("bootVersion", bootVersion)
+					.queryParam("version", version)
+					.queryParam("groupId", groupId)
+					.queryParam("artifactId", artifact)
+					.queryParam("name", name)
+					.queryParam("description", description)
+					.queryParam("packageName", packageName)
+					.build())
+				.accept(MediaType.ALL)
+				.retrieve()
+				.bodyToFlux(DataBuffer.class);
+		}
+
 		private void updateMetadata() {
-			this.metadata = client.get()
+			Optional<CachedMetadata> cached = (this.metadataCache != null) ? this.metadataCache.get(this.baseUrl)
+					: Optional.empty();
+			if (cached.isPresent()) {
+				try {
+					this.metadata = readMetadata(cached.get().body());
+				}
+				catch (UncheckedIOException ex) {
+					logger.debug("Ignoring unreadable cached metadata of " + this.baseUrl, ex);
+					cached = Optional.empty();
+				}
+			}
+			if (cached.isEmpty()) {
+				this.metadata = fetchMetadata(null).block();
+			}
+			else if (!cached.get().fresh()) {
+				// use the cached copy right away and revalidate it in the background, if
+				// that fails, e.g. when offline, the stale copy stays in use
+				fetchMetadata(cached.get()).subscribeOn(Schedulers.boundedElastic())
+					.subscribe(metadata -> this.metadata = metadata,
+							ex -> logger.debug("Could not refresh metadata of " + this.baseUrl, ex));
+			}
+		}
+
+		private Mono<Metadata> fetchMetadata(@Nullable CachedMetadata cached) {
+			return client.get()
 				.accept(INITIALIZER_MEDIA_TYPE)
+				.headers(headers -> {
+					if (cached != null && cached.etag() != null) {
+						headers.setIfNoneMatch(cached.etag());
+					}
+					if (cached != null && cached.lastModified() != null) {
+						headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+					}
+				})
 				.retrieve()
-				.toEntity(Metadata.class)
-				.block()
-				.getBody();
+				.toEntity(String.class)
+				.map(entity -> {
+					if (cached != null && entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+						this.metadataCache.revalidated(this.baseUrl);
+						return readMetadata(cached.body());
+					}
+					Metadata metadata = readMetadata(entity.getBody());
+					if (this.metadataCache != null) {
+						this.metadataCache.put(this.baseUrl, entity.getBody(), entity.getHeaders().getETag(),
+								entity.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+					}
+					return metadata;
+				});
+		}
+
+		private static Metadata readMetadata(String body) {
+			try {
+				return objectMapper.readValue(body, Metadata.class);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
 		}
 
 	}
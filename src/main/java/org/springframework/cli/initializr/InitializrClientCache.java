@@ -16,26 +16,139 @@
 
 package org.springframework.cli.initializr;
 
-import java.util.HashMap;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
 /**
- * Simple cache/factory implementation for {@link InitializrClient}.
+ * Cache/factory implementation for {@link InitializrClient}. Safe for concurrent use,
+ * holds a bounded number of clients evicting the least recently used one, and lets all
+ * clients share one connection pool.
  *
  * @author Janne Valkealahti
  */
-public class InitializrClientCache {
+public class InitializrClientCache implements AutoCloseable {
+
+	/**
+	 * Default maximum number of cached clients.
+	 */
+	public static final int DEFAULT_MAX_CLIENTS = 16;
+
+	private static final int MAX_CONNECTIONS = 50;
+
+	private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
 
 	private final WebClient.Builder webClientBuilder;
 
-	private final Map<String, InitializrClient> cache = new HashMap<>();
+	private final InitializrMetadataCache metadataCache;
+
+	private final InitializrProjectCache projectCache;
+
+	private final Map<String, InitializrClient> cache;
+
+	private final ConnectionProvider connectionProvider;
+
+	private final Map<String, ConnectionPoolMetrics> poolMetrics = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder requests = new LongAdder();
+
+	private final LongAdder requestNanos = new LongAdder();
+
+	private final LongAccumulator maxRequestNanos = new LongAccumulator(Math::max, 0);
 
 	public InitializrClientCache(WebClient.Builder webClientBuilder) {
+		this(webClientBuilder, null, null);
+	}
+
+	/**
+	 * Creates a client cache.
+	 * @param webClientBuilder the webclient builder
+	 * @param metadataCache cache keeping initializr metadata across runs, may be null
+	 * @param projectCache cache keeping generated projects across runs, may be null
+	 */
+	public InitializrClientCache(WebClient.Builder webClientBuilder, InitializrMetadataCache metadataCache,
+			InitializrProjectCache projectCache) {
+		this(webClientBuilder, metadataCache, projectCache, DEFAULT_MAX_CLIENTS);
+	}
+
+	/**
+	 * Creates a client cache.
+	 * @param webClientBuilder the webclient builder
+	 * @param metadataCache cache keeping initializr metadata across runs, may be null
+	 * @param projectCache cache keeping generated projects across runs, may be null
+	 * @param maxClients the maximum number of cached clients
+	 */
+	public InitializrClientCache(WebClient.Builder webClientBuilder, InitializrMetadataCache metadataCache,
+			InitializrProjectCache projectCache, int maxClients) {
+		this(webClientBuilder, metadataCache, projectCache, maxClients, null, Collections.emptyList());
+	}
+
+	/**
+	 * Creates a client cache.
+	 * @param webClientBuilder the webclient builder
+	 * @param metadataCache cache keeping initializr metadata across runs, may be null
+	 * @param projectCache cache keeping generated projects across runs, may be null
+	 * @param maxClients the maximum number of cached clients
+	 * @param resourceFactory factory providing the event loop resources, may be null
+	 * @param httpClientMappers mappers applied to the http client of the shared pool, as
+	 * boot applies them to the connector it configures
+	 */
+	public InitializrClientCache(WebClient.Builder webClientBuilder, InitializrMetadataCache metadataCache,
+			InitializrProjectCache projectCache, int maxClients, @Nullable ReactorResourceFactory resourceFactory,
+			List<ReactorNettyHttpClientMapper> httpClientMappers) {
 		Assert.notNull(webClientBuilder, "webClientBuilder must be set");
-		this.webClientBuilder = webClientBuilder;
+		Assert.notNull(httpClientMappers, "httpClientMappers must be set");
+		Assert.isTrue(maxClients > 0, "maxClients must be positive");
+		this.metadataCache = metadataCache;
+		this.projectCache = projectCache;
+		this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, InitializrClient> eldest) {
+				return size() > maxClients;
+			}
+
+		});
+		this.connectionProvider = ConnectionProvider.builder("initializr")
+			.maxConnections(MAX_CONNECTIONS)
+			.maxIdleTime(MAX_IDLE_TIME)
+			.metrics(true, PoolMetricsRegistrar::new)
+			.build();
+		// boot managed connectors use the connection provider of the resource factory,
+		// the shared pool replaces it but everything else is configured the same way
+		HttpClient httpClient = HttpClient.create(this.connectionProvider);
+		if (resourceFactory != null) {
+			httpClient = httpClient.runOn(resourceFactory.getLoopResources());
+		}
+		for (ReactorNettyHttpClientMapper httpClientMapper : httpClientMappers) {
+			httpClient = httpClientMapper.configure(httpClient);
+		}
+		this.webClientBuilder = webClientBuilder.clone()
+			.clientConnector(new ReactorClientHttpConnector(httpClient))
+			.filter(latencyRecorder());
 	}
 
 	/**
@@ -44,9 +157,88 @@ public class InitializrClientCache {
 	 * @return initializr client
 	 */
 	public InitializrClient get(String url) {
+		InitializrClient client = cache.get(url);
+		if (client != null) {
+			hits.increment();
+			return client;
+		}
 		return cache.computeIfAbsent(url, baseUrl -> {
-			return InitializrClient.builder(webClientBuilder).target(baseUrl).build();
+			misses.increment();
+			return InitializrClient.builder(webClientBuilder.clone())
+				.target(baseUrl)
+				.metadataCache(metadataCache)
+				.projectCache(projectCache)
+				.build();
 		});
 	}
 
+	/**
+	 * Gets a snapshot of the cache and connection statistics.
+	 * @return the statistics
+	 */
+	public Statistics getStatistics() {
+		int pooled = 0;
+		int active = 0;
+		for (ConnectionPoolMetrics metrics : poolMetrics.values()) {
+			pooled += metrics.allocatedSize();
+			active += metrics.acquiredSize();
+		}
+		long count = requests.sum();
+		Duration averageLatency = (count > 0) ? Duration.ofNanos(requestNanos.sum() / count) : Duration.ZERO;
+		return new Statistics(hits.sum(), misses.sum(), cache.size(), pooled, active, count, averageLatency,
+				Duration.ofNanos(maxRequestNanos.get()));
+	}
+
+	/**
+	 * Closes the connections shared by all clients.
+	 */
+	@Override
+	public void close() {
+		cache.clear();
+		connectionProvider.dispose();
+	}
+
+	private ExchangeFilterFunction latencyRecorder() {
+		return (request, next) -> Mono.defer(() -> {
+			long start = System.nanoTime();
+			return next.exchange(request).doFinally(signal -> {
+				long nanos = System.nanoTime() - start;
+				requests.increment();
+				requestNanos.add(nanos);
+				maxRequestNanos.accumulate(nanos);
+			});
+		});
+	}
+
+	/**
+	 * Cache and connection statistics.
+	 *
+	 * @param hits the number of lookups served by a cached client
+	 * @param misses the number of lookups that created a client
+	 * @param clients the number of currently cached clients
+	 * @param pooledConnections the number of connections held by the shared pool
+	 * @param activeConnections the number of pooled connections currently in use
+	 * @param requests the number of requests sent
+	 * @param averageLatency the average time until response headers were received
+	 * @param maxLatency the longest time until response headers were received
+	 */
+	public record Statistics(long hits, long misses, int clients, int pooledConnections, int activeConnections,
+			long requests, Duration averageLatency, Duration maxLatency) {
+	}
+
+	private class PoolMetricsRegistrar implements ConnectionProvider.MeterRegistrar {
+
+		@Override
+		public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+				ConnectionPoolMetrics metrics) {
+			poolMetrics.put(id + remoteAddress, metrics);
+		}
+
+		@Override
+		public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+			poolMetrics.remove(id + remoteAddress);
+		}
+
+	}
+
 }
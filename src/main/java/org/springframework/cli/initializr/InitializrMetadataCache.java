@@ -0,0 +1,199 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * On-disk cache of initializr metadata documents, one per initializr server. Along
+ * with the document the validators the server sent are kept, so that an expired copy
+ * can be revalidated with a conditional request instead of being downloaded again.
+ */
+public class InitializrMetadataCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InitializrMetadataCache.class);
+
+	/**
+	 * Name of the directory below the cli cache directory holding cached metadata.
+	 */
+	public static final String CACHE_DIR_NAME = "initializr";
+
+	/**
+	 * Default time a cached document is used without revalidating it.
+	 */
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+	private static final String METADATA_FILE_NAME = "metadata.json";
+
+	private static final String ENTRY_FILE_NAME = "entry.properties";
+
+	private static final String URL_PROPERTY = "url";
+
+	private static final String ETAG_PROPERTY = "etag";
+
+	private static final String LAST_MODIFIED_PROPERTY = "last-modified";
+
+	private final Supplier<Path> cacheDirSupplier;
+
+	private final Duration maxAge;
+
+	/**
+	 * Creates a cache.
+	 * @param cacheDirSupplier supplier for the directory holding cached metadata,
+	 * resolved lazily so that nothing is touched on disk until the cache is used
+	 * @param maxAge the time a cached document is used without revalidating it
+	 */
+	public InitializrMetadataCache(Supplier<Path> cacheDirSupplier, Duration maxAge) {
+		Assert.notNull(cacheDirSupplier, "cacheDirSupplier must be set");
+		Assert.notNull(maxAge, "maxAge must be set");
+		this.cacheDirSupplier = cacheDirSupplier;
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Gets the cached metadata of a server, regardless of its age.
+	 * @param baseUrl the initializr base url
+	 * @return the cached metadata, empty if there is none
+	 */
+	public Optional<CachedMetadata> get(String baseUrl) {
+		Path entryDir = getEntryDir(baseUrl);
+		Path entryFile = entryDir.resolve(ENTRY_FILE_NAME);
+		Path metadataFile = entryDir.resolve(METADATA_FILE_NAME);
+		if (!Files.isRegularFile(entryFile) || !Files.isRegularFile(metadataFile)) {
+			return Optional.empty();
+		}
+		try (InputStream in = Files.newInputStream(entryFile)) {
+			Properties properties = new Properties();
+			properties.load(in);
+			String body = Files.readString(metadataFile);
+			Instant validatedAt = Files.getLastModifiedTime(entryFile).toInstant();
+			boolean fresh = validatedAt.plus(this.maxAge).isAfter(Instant.now());
+			return Optional.of(new CachedMetadata(body, properties.getProperty(ETAG_PROPERTY),
+					properties.getProperty(LAST_MODIFIED_PROPERTY), fresh));
+		}
+		catch (IOException ex) {
+			logger.debug("Ignoring unreadable cached metadata " + entryDir, ex);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Stores the metadata of a server. Failures are logged and otherwise ignored as the
+	 * cache is only an optimization.
+	 * @param baseUrl the initializr base url
+	 * @param body the metadata document
+	 * @param etag the entity tag sent by the server, if any
+	 * @param lastModified the last modified date sent by the server, if any
+	 */
+	public void put(String baseUrl, String body, @Nullable String etag, @Nullable String lastModified) {
+		Path entryDir = getEntryDir(baseUrl);
+		Path stagingDir = entryDir.resolveSibling(entryDir.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(stagingDir);
+			Files.writeString(stagingDir.resolve(METADATA_FILE_NAME), body);
+			Properties properties = new Properties();
+			properties.setProperty(URL_PROPERTY, baseUrl);
+			if (etag != null) {
+				properties.setProperty(ETAG_PROPERTY, etag);
+			}
+			if (lastModified != null) {
+				properties.setProperty(LAST_MODIFIED_PROPERTY, lastModified);
+			}
+			try (OutputStream out = Files.newOutputStream(stagingDir.resolve(ENTRY_FILE_NAME))) {
+				properties.store(out, null);
+			}
+			FileSystemUtils.deleteRecursively(entryDir);
+			Files.move(stagingDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to cache metadata of " + baseUrl, ex);
+		}
+		finally {
+			deleteQuietly(stagingDir);
+		}
+	}
+
+	/**
+	 * Marks the cached metadata of a server as fresh after the server confirmed it is
+	 * unchanged.
+	 * @param baseUrl the initializr base url
+	 */
+	public void revalidated(String baseUrl) {
+		Path entryFile = getEntryDir(baseUrl).resolve(ENTRY_FILE_NAME);
+		try {
+			Files.setLastModifiedTime(entryFile, FileTime.from(Instant.now()));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to update cached metadata of " + baseUrl, ex);
+		}
+	}
+
+	private Path getEntryDir(String baseUrl) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			String key = HexFormat.of().formatHex(digest.digest(baseUrl.getBytes(StandardCharsets.UTF_8)));
+			return this.cacheDirSupplier.get().resolve(key);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			FileSystemUtils.deleteRecursively(path);
+		}
+		catch (IOException ex) {
+			logger.warn("Could not delete path " + path, ex);
+		}
+	}
+
+	/**
+	 * A cached metadata document.
+	 *
+	 * @param body the metadata document
+	 * @param etag the entity tag sent by the server, null if none
+	 * @param lastModified the last modified date sent by the server, null if none
+	 * @param fresh whether the document is younger than the max age
+	 */
+	public record CachedMetadata(String body, @Nullable String etag, @Nullable String lastModified, boolean fresh) {
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.git.RepositoryArchiveCache;
+import org.springframework.cli.merger.ProjectHandler;
+import org.springframework.cli.util.ProjectInfo;
+import org.springframework.cli.util.RefactorUtils;
+import org.springframework.cli.util.RootPackageFinder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Local cache of projects generated by initializr. Entries are keyed by the request
+ * parameters that shape the generated content, the project identity (group, artifact,
+ * version, description and package) is re-applied to a cached project instead of
+ * generating it again.
+ * <p>
+ * Only Maven based Java projects are cached, as identity is re-applied by rewriting the
+ * pom and refactoring Java sources. The project name is part of the key since
+ * initializr derives class names from it.
+ */
+public class InitializrProjectCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InitializrProjectCache.class);
+
+	/**
+	 * Name of the directory below the cli cache directory holding cached projects.
+	 */
+	public static final String CACHE_DIR_NAME = "initializr-projects";
+
+	/**
+	 * Default maximum size of the cache in bytes.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 128L * 1024 * 1024;
+
+	private final RepositoryArchiveCache archiveCache;
+
+	/**
+	 * Creates a cache.
+	 * @param cacheDirSupplier supplier for the directory holding cached projects,
+	 * resolved lazily so that nothing is touched on disk until the cache is used
+	 * @param maxSize the maximum size of the cache in bytes, least recently used
+	 * projects are evicted when exceeded
+	 */
+	public InitializrProjectCache(Supplier<Path> cacheDirSupplier, long maxSize) {
+		this.archiveCache = new RepositoryArchiveCache(cacheDirSupplier, maxSize);
+	}
+
+	/**
+	 * Creates the key for a generated project, or returns empty if such a project can't
+	 * be cached.
+	 * @param baseUrl the initializr base url
+	 * @param projectType the project type
+	 * @param languageType the language
+	 * @param bootVersion the boot version
+	 * @param dependencies the dependency ids, order doesn't matter
+	 * @param packaging the packaging
+	 * @param javaVersion the java version
+	 * @param projectInfo the identity of the requested project
+	 * @return the cache key, empty if the project is not cacheable
+	 */
+	public static Optional<String> cacheKey(String baseUrl, String projectType, String languageType,
+			String bootVersion, @Nullable List<String> dependencies, String packaging, String javaVersion,
+			ProjectInfo projectInfo) {
+		if (!isCacheable(projectType, languageType, projectInfo)) {
+			return Optional.empty();
+		}
+		List<String> sortedDependencies = (dependencies != null)
+				? dependencies.stream().map(InitializrProjectCache::normalize).distinct().sorted().toList()
+				: List.of();
+		String value = String.join("#", baseUrl, normalize(projectType), normalize(languageType),
+				normalize(bootVersion), String.join(",", sortedDependencies), normalize(packaging),
+				normalize(javaVersion), projectInfo.getName());
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Optional.of(HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8))));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Copies a cached project into a directory and applies the given identity to it.
+	 * @param key the cache key
+	 * @param targetDir the directory to restore the project into
+	 * @param projectInfo the identity of the requested project
+	 * @return true if the project was restored, false if it has to be generated
+	 */
+	public boolean restore(String key, Path targetDir, ProjectInfo projectInfo) {
+		if (!this.archiveCache.copyTo(key, targetDir)) {
+			return false;
+		}
+		try {
+			Optional<String> cachedPackageName = RootPackageFinder.findRootPackage(targetDir.toFile());
+			if (cachedPackageName.isPresent() && !cachedPackageName.get().equals(projectInfo.getPackageName())) {
+				RefactorUtils.refactorPackage(projectInfo.getPackageName(), cachedPackageName.get(), targetDir);
+			}
+			ProjectHandler.updatePom(targetDir, projectInfo);
+			return true;
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Unable to reuse cached project " + key + ", discarding it", ex);
+			this.archiveCache.evict(key);
+			deleteContents(targetDir);
+			return false;
+		}
+	}
+
+	/**
+	 * Stores a generated project. Failures are logged and otherwise ignored as the cache
+	 * is only an optimization.
+	 * @param key the cache key
+	 * @param projectDir the directory of the generated project
+	 */
+	public void put(String key, Path projectDir) {
+		this.archiveCache.put(key, projectDir);
+	}
+
+	private static boolean isCacheable(String projectType, String languageType, ProjectInfo projectInfo) {
+		// without every identity field the server picks defaults that couldn't be
+		// re-applied to a cached project
+		return normalize(projectType).startsWith("maven") && normalize(languageType).equals("java")
+				&& StringUtils.hasText(projectInfo.getGroupId()) && StringUtils.hasText(projectInfo.getArtifactId())
+				&& StringUtils.hasText(projectInfo.getVersion()) && StringUtils.hasText(projectInfo.getName())
+				&& StringUtils.hasText(projectInfo.getDescription())
+				&& StringUtils.hasText(projectInfo.getPackageName());
+	}
+
+	private static String normalize(@Nullable String value) {
+		return (value != null) ? value.trim().toLowerCase(Locale.ROOT) : "";
+	}
+
+	private static void deleteContents(Path dir) {
+		try (Stream<Path> paths = Files.list(dir)) {
+			for (Path path : paths.toList()) {
+				FileSystemUtils.deleteRecursively(path);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Could not clean directory " + dir, ex);
+		}
+	}
+
+}
@@ -34,7 +34,6 @@ import org.codehaus.plexus.util.DirectoryScanner;
 import org.jline.utils.AttributedStringBuilder;
 import org.jline.utils.AttributedStyle;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
@@ -46,14 +45,14 @@ import org.springframework.cli.SpringCliException;
 import org.springframework.cli.config.SpringCliUserConfig;
 import org.springframework.cli.config.SpringCliUserConfig.CommandDefaults;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
-import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
 import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
 import org.springframework.cli.git.SourceRepositoryService;
 import org.springframework.cli.recipe.RecipeUtils;
-import org.springframework.cli.support.configfile.YamlConfigFile;
 import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.JavaUtils;
 import org.springframework.cli.util.PackageNameUtils;
+import org.springframework.cli.util.ProjectCatalogReader;
+import org.springframework.cli.util.ProjectCatalogReader.CatalogContents;
 import org.springframework.cli.util.ProjectInfo;
 import org.springframework.cli.util.RefactorUtils;
 import org.springframework.cli.util.RootPackageFinder;
@@ -84,6 +83,8 @@ public class ProjectHandler {
 
 	private final TerminalMessage terminalMessage;
 
+	private final boolean refresh;
+
 	/**
 	 * Creates a project handler.
 	 * @param springCliUserConfig the user config
@@ -92,12 +93,25 @@ public class ProjectHandler {
 	 */
 	public ProjectHandler(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
 			TerminalMessage terminalMessage) {
+		this(springCliUserConfig, sourceRepositoryService, terminalMessage, false);
+	}
+
+	/**
+	 * Creates a project handler.
+	 * @param springCliUserConfig the user config
+	 * @param sourceRepositoryService the repo service
+	 * @param terminalMessage the terminal to write user messages to
+	 * @param refresh whether to bypass locally cached repository contents
+	 */
+	public ProjectHandler(SpringCliUserConfig springCliUserConfig, SourceRepositoryService sourceRepositoryService,
+			TerminalMessage terminalMessage, boolean refresh) {
 		Assert.notNull(springCliUserConfig, "springCliUserConfig must be set");
 		Assert.notNull(sourceRepositoryService, "sourceRepositoryService must be set");
 		Assert.notNull(terminalMessage, "terminalMessage must be set");
 		this.springCliUserConfig = springCliUserConfig;
 		this.sourceRepositoryService = sourceRepositoryService;
 		this.terminalMessage = terminalMessage;
+		this.refresh = refresh;
 	}
 
 	/**
@@ -173,7 +187,7 @@ public class ProjectHandler {
 		sb.append("Getting project with URL " + urlToUse);
 		this.terminalMessage.print(sb.toAttributedString());
 
-		Path repositoryContentsPath = sourceRepositoryService.retrieveRepositoryContents(urlToUse);
+		Path repositoryContentsPath = sourceRepositoryService.retrieveRepositoryContents(urlToUse, this.refresh);
 		Path projectDir = IoUtils.getProjectPath(path);
 		Path workingPath = (projectDir != null) ? projectDir : IoUtils.getWorkingDirectory();
 
@@ -272,7 +286,7 @@ public class ProjectHandler {
 		else {
 			toDir = IoUtils.getWorkingDirectory().toFile();
 		}
-		Path repositoryContentsPath = sourceRepositoryService.retrieveRepositoryContents(url);
+		Path repositoryContentsPath = sourceRepositoryService.retrieveRepositoryContents(url, this.refresh);
 
 		// Get existing package name
 		Optional<String> existingPackageName = this.getRootPackageName(repositoryContentsPath);
@@ -333,7 +347,13 @@ public class ProjectHandler {
 
 	}
 
-	private void updatePom(Path repositoryContentsPath, ProjectInfo projectInfo) {
+	/**
+	 * Updates the GAV, name and description in the pom of a project where they are set
+	 * in the given project info.
+	 * @param repositoryContentsPath the project directory containing the pom
+	 * @param projectInfo the new project identity
+	 */
+	public static void updatePom(Path repositoryContentsPath, ProjectInfo projectInfo) {
 		// Get Files
 		List<Path> paths = new ArrayList<>();
 		Path pomPath = repositoryContentsPath.resolve("pom.xml");
@@ -343,12 +363,12 @@ public class ProjectHandler {
 			logger.error("error in xml parser execution", e);
 		};
 		List<SourceFile> documentList = xmlParser
-			.parse(paths, repositoryContentsPath, new InMemoryExecutionContext(onError))
+			.parse(paths, repositoryContentsPath, RecipeUtils.createExecutionContext(onError))
 			.toList();
 
 		// Execute Recipe
 		ChangeNewlyClonedPomRecipe changeNewlyClonedPomRecipe = new ChangeNewlyClonedPomRecipe(projectInfo);
-		ExecutionContext executionContext = new InMemoryExecutionContext();
+		ExecutionContext executionContext = RecipeUtils.createExecutionContext(onError);
 		List<Result> resultList = changeNewlyClonedPomRecipe
 			.run(new InMemoryLargeSourceSet(documentList), executionContext)
 			.getChangeset()
@@ -411,30 +431,29 @@ public class ProjectHandler {
 			}
 		}
 
+		// fetch all catalogs concurrently, then search them in their configured order
 		List<ProjectCatalog> projectCatalogs = springCliUserConfig.getProjectCatalogs().getProjectCatalogs();
-		if (projectCatalogs != null) {
-			for (ProjectCatalog projectCatalog : projectCatalogs) {
-				String url = projectCatalog.getUrl();
-				Path path = sourceRepositoryService.retrieveRepositoryContents(url);
-				YamlConfigFile yamlConfigFile = new YamlConfigFile();
-				projectRepositories = yamlConfigFile
-					.read(Paths.get(path.toString(), "project-catalog.yml"), ProjectRepositories.class)
-					.getProjectRepositories();
-				try {
-					FileSystemUtils.deleteRecursively(path);
-				}
-				catch (IOException ex) {
-					logger.warn("Could not delete path " + path, ex);
-				}
-				url = findUrlFromProjectRepositories(projectName, projectRepositories);
-				if (url != null) {
-					return url;
-				}
+		ProjectCatalogReader projectCatalogReader = new ProjectCatalogReader(sourceRepositoryService,
+				springCliUserConfig);
+		List<String> catalogErrors = new ArrayList<>();
+		for (CatalogContents catalogContents : projectCatalogReader.read(projectCatalogs, this.refresh)) {
+			if (catalogContents.isFailed()) {
+				catalogErrors.add(catalogContents.catalog().getUrl() + ": " + catalogContents.error());
+				continue;
+			}
+			String url = findUrlFromProjectRepositories(projectName, catalogContents.projectRepositories());
+			if (url != null) {
+				return url;
 			}
 		}
 
-		throw new SpringCliException("Could not resolve project name " + projectName
-				+ " to URL.  The command `project list` shows the available project names.");
+		String message = "Could not resolve project name " + projectName
+				+ " to URL.  The command `project list` shows the available project names.";
+		if (!catalogErrors.isEmpty()) {
+			// the project may be listed in a catalog that could not be read
+			message += "  Failed reading project catalogs: " + String.join(", ", catalogErrors);
+		}
+		throw new SpringCliException(message);
 	}
 
 	@Nullable
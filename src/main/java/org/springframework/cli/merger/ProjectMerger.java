@@ -23,17 +23,20 @@ import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -47,18 +50,20 @@ import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.Repository;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.tools.ant.util.FileUtils;
 import org.codehaus.plexus.util.DirectoryScanner;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.jline.utils.AttributedStringBuilder;
 import org.jline.utils.AttributedStyle;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
 import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.config.DeclarativeRecipe;
 import org.openrewrite.internal.InMemoryLargeSourceSet;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AddImport;
@@ -81,6 +86,7 @@ import org.springframework.beans.factory.config.YamlMapFactoryBean;
 import org.springframework.beans.factory.config.YamlProcessor.ResolutionMethod;
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.recipe.AddManagedDependencyRecipeFactory;
+import org.springframework.cli.recipe.RecipeUtils;
 import org.springframework.cli.util.ConversionUtils;
 import org.springframework.cli.util.PomReader;
 import org.springframework.cli.util.PropertyFileUtils;
@@ -145,19 +151,11 @@ public class ProjectMerger {
 		Model currentModel = pomReader.readPom(currentProjectPomPath.toFile());
 		Model toMergeModel = pomReader.readPom(toMergeProjectPomPath.toFile());
 
-		List<Path> paths = new ArrayList<>();
-		paths.add(currentProjectPomPath);
-		MavenParser mavenParser = MavenParser.builder().build();
-
 		MergerPreCheck.canMergeProject(currentModel, toMergeModel, this.toMergeProjectPath);
 
 		try {
 			// Maven merges
-			mergeMavenRepositories(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
-			mergeMavenProperties(currentProjectPomPath, toMergeModel);
-			mergeMavenDependencyManagement(currentProjectPomPath, toMergeModel, paths, mavenParser);
-			mergeMavenDependencies(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
-			mergeMavenPlugins(currentProjectPomPath, currentModel, toMergeModel, paths, mavenParser);
+			mergeMavenPom(currentProjectPomPath, currentModel, toMergeModel);
 
 			// Code Refactoring
 			refactorToMergeCodebase();
@@ -182,7 +180,7 @@ public class ProjectMerger {
 			Consumer<Throwable> onError = e -> {
 				logger.error("error in javaParser execution", e);
 			};
-			InMemoryExecutionContext executionContext = new InMemoryExecutionContext(onError);
+			InMemoryExecutionContext executionContext = RecipeUtils.createExecutionContext(onError);
 			List<Path> paths = new ArrayList<>();
 			paths.add(springBootApplicationFile.get().toPath());
 			JavaParser javaParser = new Java17Parser.Builder().build();
@@ -210,7 +208,7 @@ public class ProjectMerger {
 			Optional<File> currentSpringBootApplicationFile = RootPackageFinder
 				.findSpringBootApplicationFile(this.currentProjectPath.toFile());
 			if (currentSpringBootApplicationFile.isPresent()) {
-				executionContext = new InMemoryExecutionContext(onError);
+				executionContext = RecipeUtils.createExecutionContext(onError);
 				paths = new ArrayList<>();
 				paths.add(currentSpringBootApplicationFile.get().toPath());
 				javaParser = new Java17Parser.Builder().build();
@@ -417,11 +415,118 @@ public class ProjectMerger {
 		}
 	}
 
-	private void mergeMavenPlugins(Path currentProjectPomPath, Model currentModel, Model toMergeModel, List<Path> paths,
-			MavenParser mavenParser) throws IOException {
+	/**
+	 * Merges the repositories, properties, managed dependencies, dependencies and plugins
+	 * of the project to merge into the current pom. The current pom is parsed once, all
+	 * changes are applied in a single recipe run and the result is written once.
+	 */
+	private void mergeMavenPom(Path currentProjectPomPath, Model currentModel, Model toMergeModel)
+			throws IOException {
+		DeclarativeRecipe aggregateRecipe = new DeclarativeRecipe("spring.cli.merger.MavenMerge",
+				"Merge Pom changes from project", "", Collections.emptySet(), null, null, false,
+				Collections.emptyList());
+		List<Recipe> recipes = aggregateRecipe.getRecipeList();
+		mergeMavenRepositories(currentModel, toMergeModel, recipes);
+		mergeMavenProperties(toMergeModel, recipes);
+		mergeMavenDependencyManagement(toMergeModel, recipes);
+		mergeMavenDependencies(currentModel, toMergeModel, recipes);
+		mergeMavenPlugins(currentModel, toMergeModel, recipes);
+		if (recipes.isEmpty()) {
+			logger.debug("No update of pom.xml from from " + this.toMergeProjectPath);
+			return;
+		}
+
+		ExecutionContext executionContext = getExecutionContext();
+		MavenParser mavenParser = MavenParser.builder().build();
+		List<SourceFile> pomFiles = mavenParser
+			.parse(List.of(currentProjectPomPath), this.currentProjectPath, executionContext)
+			.toList();
+		List<Result> resultList = aggregateRecipe.run(new InMemoryLargeSourceSet(pomFiles), executionContext)
+			.getChangeset()
+			.getAllResults();
+		if (!resultList.isEmpty()) {
+			reportMavenMerge(currentModel, toMergeModel, readModel(resultList.get(0).getAfter().printAll()));
+		}
+		updatePomFile(currentProjectPomPath, resultList);
+	}
+
+	private void reportMavenMerge(Model currentModel, Model toMergeModel, Model mergedModel) {
+		List<Repository> currentRepositories = currentModel.getRepositories();
+		for (Repository repository : toMergeModel.getRepositories()) {
+			if (!candidateRepositoryAlreadyPresent(repository, currentRepositories)
+					&& candidateRepositoryAlreadyPresent(repository, mergedModel.getRepositories())) {
+				printMergeMessage("Merging repository section " + repository.getId() + ", " + repository.getUrl());
+			}
+		}
+		Properties propertiesToMerge = toMergeModel.getProperties();
+		for (String key : propertiesToMerge.stringPropertyNames()) {
+			String value = propertiesToMerge.getProperty(key);
+			if (!value.equals(currentModel.getProperties().getProperty(key))
+					&& value.equals(mergedModel.getProperties().getProperty(key))) {
+				printMergeMessage("Merging maven property key " + key);
+			}
+		}
+		if (toMergeModel.getDependencyManagement() != null) {
+			List<Dependency> currentManaged = getManagedDependencies(currentModel);
+			List<Dependency> mergedManaged = getManagedDependencies(mergedModel);
+			for (Dependency dependency : toMergeModel.getDependencyManagement().getDependencies()) {
+				if (!managedDependencyPresent(dependency, currentManaged)
+						&& managedDependencyPresent(dependency, mergedManaged)) {
+					printMergeMessage("Merging dependency management section " + dependency.getGroupId() + ":"
+							+ dependency.getArtifactId());
+				}
+			}
+		}
+		for (Dependency dependency : toMergeModel.getDependencies()) {
+			if (!candidateDependencyAlreadyPresent(dependency, currentModel.getDependencies())
+					&& candidateDependencyAlreadyPresent(dependency, mergedModel.getDependencies())) {
+				printMergeMessage(
+						"Merging dependency " + dependency.getGroupId() + ":" + dependency.getArtifactId());
+			}
+		}
+	}
+
+	private void printMergeMessage(String message) {
+		AttributedStringBuilder sb = new AttributedStringBuilder();
+		sb.style(sb.style().foreground(AttributedStyle.WHITE));
+		sb.append(message);
+		terminalMessage.print(sb.toAttributedString());
+	}
+
+	private static List<Dependency> getManagedDependencies(Model model) {
+		return (model.getDependencyManagement() != null) ? model.getDependencyManagement().getDependencies()
+				: List.of();
+	}
+
+	private static boolean managedDependencyPresent(Dependency candidateDependency, List<Dependency> dependencies) {
+		for (Dependency dependency : dependencies) {
+			if (candidateDependency.getGroupId().equals(dependency.getGroupId())
+					&& candidateDependency.getArtifactId().equals(dependency.getArtifactId())
+					&& Objects.equals(candidateDependency.getVersion(), dependency.getVersion())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Model readModel(String pomContent) {
+		try {
+			return new MavenXpp3Reader().read(new StringReader(pomContent));
+		}
+		catch (XmlPullParserException | IOException ex) {
+			throw new SpringCliException("Could not read merged pom.xml. " + ex.getMessage(), ex);
+		}
+	}
 
+	private void mergeMavenPlugins(Model currentModel, Model toMergeModel, List<Recipe> recipes) {
 		Build currentModelBuild = currentModel.getBuild();
 		Build toMergeModelBuild = toMergeModel.getBuild();
+		if (toMergeModelBuild == null) {
+			return;
+		}
+		List<Plugin> currentPlugins = (currentModelBuild != null) ? currentModelBuild.getPlugins() : List.of();
+		Map<String, Plugin> currentPluginsAsMap = (currentModelBuild != null) ? currentModelBuild.getPluginsAsMap()
+				: Map.of();
 
 		List<Plugin> plugins = toMergeModelBuild.getPlugins();
 		for (Plugin plugin : plugins) {
@@ -429,45 +534,25 @@ public class ProjectMerger {
 			String configuration = (plugin.getConfiguration() != null)
 					? ConversionUtils.fromDomToString((Xpp3Dom) plugin.getConfiguration()) : null;
 			String dependencies = null;
-			if (!currentModelBuild.getPlugins().contains(plugin)
-					&& !CollectionUtils.isEmpty(plugin.getDependencies())) {
+			if (!currentPlugins.contains(plugin) && !CollectionUtils.isEmpty(plugin.getDependencies())) {
 				dependencies = ConversionUtils.fromDependencyListToString(plugin.getDependencies());
 			}
 
-			Recipe addPluginRecipe = new AddPlugin(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(),
-					configuration, dependencies, null, null);
-
-			List<SourceFile> parsedPomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-				.toList();
-			List<Result> resultList = addPluginRecipe
-				.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-				.getChangeset()
-				.getAllResults();
-			updatePomFile(currentProjectPomPath, resultList);
+			recipes.add(new AddPlugin(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), configuration,
+					dependencies, null, null));
 
-			if (currentModelBuild.getPluginsAsMap()
-				.containsKey(Plugin.constructKey(plugin.getGroupId(), plugin.getArtifactId()))) {
+			if (currentPluginsAsMap.containsKey(Plugin.constructKey(plugin.getGroupId(), plugin.getArtifactId()))) {
 				if (!CollectionUtils.isEmpty(plugin.getDependencies())) {
 					for (Dependency dependency : plugin.getDependencies()) {
-						Recipe addPluginDependencies = new AddPluginDependency(plugin.getGroupId(),
-								plugin.getArtifactId(), dependency.getGroupId(), dependency.getArtifactId(),
-								dependency.getVersion());
-						parsedPomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-							.toList();
-						List<Result> result = addPluginDependencies
-							.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-							.getChangeset()
-							.getAllResults();
-						updatePomFile(currentProjectPomPath, result);
+						recipes.add(new AddPluginDependency(plugin.getGroupId(), plugin.getArtifactId(),
+								dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
 					}
 				}
-
 			}
 		}
 	}
 
-	private void mergeMavenDependencies(Path currentProjectPomPath, Model currentModel, Model toMergeModel,
-			List<Path> paths, MavenParser mavenParser) throws IOException {
+	private void mergeMavenDependencies(Model currentModel, Model toMergeModel, List<Recipe> recipes) {
 		logger.debug("mergeMavenDependencies: Merging Maven Dependencies...");
 		List<Dependency> toMergeModelDependencies = toMergeModel.getDependencies();
 		List<Dependency> currentDependencies = currentModel.getDependencies();
@@ -477,9 +562,6 @@ public class ProjectMerger {
 				logger.debug("mergeMavenDependencies: Not merging dependency " + candidateDependency);
 			}
 			else {
-				List<SourceFile> parsedPomFiles = mavenParser
-					.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
 				String scope = candidateDependency.getScope();
 				if (scope == null) {
 					scope = "compile";
@@ -498,23 +580,10 @@ public class ProjectMerger {
 				Pattern familyRegex = null;
 				@Nullable
 				Boolean acceptTransitive = false;
-				Recipe addDependency = getRecipeAddDependency(candidateDependency.getGroupId(),
+				recipes.add(getRecipeAddDependency(candidateDependency.getGroupId(),
 						candidateDependency.getArtifactId(), version, scope,
 						"org.springframework.boot.SpringApplication", versionPattern, type, classifier, optional,
-						familyRegex, acceptTransitive);
-
-				List<Result> resultList = addDependency
-					.run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
-					AttributedStringBuilder sb = new AttributedStringBuilder();
-					sb.style(sb.style().foreground(AttributedStyle.WHITE));
-					sb.append("Merging dependency " + candidateDependency.getGroupId() + ":"
-							+ candidateDependency.getArtifactId());
-					terminalMessage.print(sb.toAttributedString());
-				}
-				updatePomFile(currentProjectPomPath, resultList);
+						familyRegex, acceptTransitive));
 			}
 		}
 	}
@@ -549,62 +618,25 @@ public class ProjectMerger {
 		return candidateRepositoryIdAlreadyPresent;
 	}
 
-	private void mergeMavenDependencyManagement(Path currentProjectPomPath, Model modelToMerge, List<Path> paths,
-			MavenParser mavenParser) throws IOException {
+	private void mergeMavenDependencyManagement(Model modelToMerge, List<Recipe> recipes) {
 		DependencyManagement dependencyManagement = modelToMerge.getDependencyManagement();
 		if (dependencyManagement != null) {
-			List<Dependency> dependencies = dependencyManagement.getDependencies();
-
-			for (Dependency dependency : dependencies) {
-				List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
-				Recipe addManagedDependency = new AddManagedDependencyRecipeFactory().create(dependency);
-				List<Result> resultList = addManagedDependency
-					.run(new InMemoryLargeSourceSet(pomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
-					AttributedStringBuilder sb = new AttributedStringBuilder();
-					sb.style(sb.style().foreground(AttributedStyle.WHITE));
-					sb.append("Merging dependency management section " + dependency.getGroupId() + ":"
-							+ dependency.getArtifactId());
-					terminalMessage.print(sb.toAttributedString());
-				}
-				updatePomFile(currentProjectPomPath, resultList);
+			for (Dependency dependency : dependencyManagement.getDependencies()) {
+				recipes.add(new AddManagedDependencyRecipeFactory().create(dependency));
 			}
 		}
 	}
 
-	private void mergeMavenProperties(Path currentProjectPomPath, Model modelToMerge) throws IOException {
-		List<Path> paths = new ArrayList<>();
-		paths.add(currentProjectPomPath);
-		MavenParser mavenParser = MavenParser.builder().build();
-
+	private void mergeMavenProperties(Model modelToMerge, List<Recipe> recipes) {
 		Properties propertiesToMerge = modelToMerge.getProperties();
 		Set<String> keysToMerge = propertiesToMerge.stringPropertyNames();
 
 		for (String keyToMerge : keysToMerge) {
-			ChangePropertyValue changePropertyValueRecipe = new ChangePropertyValue(keyToMerge,
-					propertiesToMerge.getProperty(keyToMerge), true, false);
-			// TODO - parse is expensive call, move out of loop?
-			List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-				.toList();
-			RecipeRun recipeRun = changePropertyValueRecipe.run(new InMemoryLargeSourceSet(pomFiles),
-					getExecutionContext());
-			List<Result> resultList = recipeRun.getChangeset().getAllResults();
-			if (!resultList.isEmpty()) {
-				AttributedStringBuilder sb = new AttributedStringBuilder();
-				sb.style(sb.style().foreground(AttributedStyle.WHITE));
-				sb.append("Merging maven property key " + keyToMerge);
-				terminalMessage.print(sb.toAttributedString());
-			}
-			updatePomFile(currentProjectPomPath, resultList);
-
+			recipes.add(new ChangePropertyValue(keyToMerge, propertiesToMerge.getProperty(keyToMerge), true, false));
 		}
 	}
 
-	private void mergeMavenRepositories(Path currentProjectPomPath, Model currentModel, Model toMergeModel,
-			List<Path> paths, MavenParser mavenParser) throws IOException {
+	private void mergeMavenRepositories(Model currentModel, Model toMergeModel, List<Recipe> recipes) {
 		logger.debug("mergeMavenRepositories: Merging Maven Repositories...");
 		List<Repository> toMergeRepositories = toMergeModel.getRepositories();
 		List<Repository> currentRepositories = currentModel.getRepositories();
@@ -613,22 +645,8 @@ public class ProjectMerger {
 				logger.debug("mergeMavenDependencies: Not merging repository " + candidateRepository);
 			}
 			else {
-				AddRepository recipeAddRepository = getRecipeAddRepository(candidateRepository.getId(),
-						candidateRepository.getUrl(), candidateRepository.getName(), false, false);
-				List<SourceFile> pomFiles = mavenParser.parse(paths, this.currentProjectPath, getExecutionContext())
-					.toList();
-				List<Result> resultList = recipeAddRepository
-					.run(new InMemoryLargeSourceSet(pomFiles), getExecutionContext())
-					.getChangeset()
-					.getAllResults();
-				if (!resultList.isEmpty()) {
-					AttributedStringBuilder sb = new AttributedStringBuilder();
-					sb.style(sb.style().foreground(AttributedStyle.WHITE));
-					sb.append("Merging repository section " + candidateRepository.getId() + ", "
-							+ candidateRepository.getUrl());
-					terminalMessage.print(sb.toAttributedString());
-				}
-				updatePomFile(currentProjectPomPath, resultList);
+				recipes.add(getRecipeAddRepository(candidateRepository.getId(), candidateRepository.getUrl(),
+						candidateRepository.getName(), false, false));
 			}
 		}
 	}
@@ -669,7 +687,7 @@ public class ProjectMerger {
 		Consumer<Throwable> onError = e -> {
 			logger.error("error in javaParser execution", e);
 		};
-		return new InMemoryExecutionContext(onError);
+		return RecipeUtils.createExecutionContext(onError);
 	}
 
 	public static AddManagedDependency getRecipeAddManagedDependency(String groupId, String artifactId, String version,
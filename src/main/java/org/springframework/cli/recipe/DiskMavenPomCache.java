@@ -0,0 +1,274 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.recipe;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.tree.GroupArtifactVersion;
+import org.openrewrite.maven.tree.MavenMetadata;
+import org.openrewrite.maven.tree.MavenRepository;
+import org.openrewrite.maven.tree.Pom;
+import org.openrewrite.maven.tree.ResolvedGroupArtifactVersion;
+import org.openrewrite.maven.tree.ResolvedPom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * {@link MavenPomCache} keeping downloaded poms on disk so that parent poms and BOMs
+ * don't need to be downloaded again by later cli runs. Only released poms are stored as
+ * they never change, snapshots, metadata and resolution results are left to the
+ * in-memory cache this one is meant to be layered under. The total size of the cache is
+ * bounded and least recently used poms are evicted first.
+ */
+public class DiskMavenPomCache implements MavenPomCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DiskMavenPomCache.class);
+
+	/**
+	 * Name of the directory below the cli cache directory holding cached poms.
+	 */
+	public static final String CACHE_DIR_NAME = "maven-poms";
+
+	/**
+	 * Default upper bound for the total size of cached poms.
+	 */
+	public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+	private static final String ENTRY_FILE_EXTENSION = ".json";
+
+	private static final ObjectMapper objectMapper = createObjectMapper();
+
+	private final Supplier<Path> cacheDirSupplier;
+
+	private final long maxSize;
+
+	// total size of the cached poms, -1 until read from disk
+	private long size = -1;
+
+	/**
+	 * Creates a cache.
+	 * @param cacheDirSupplier supplier for the directory holding cached poms, resolved
+	 * lazily so that nothing is touched on disk until the cache is used
+	 * @param maxSize the maximum total size in bytes of all cached poms
+	 */
+	public DiskMavenPomCache(Supplier<Path> cacheDirSupplier, long maxSize) {
+		Assert.notNull(cacheDirSupplier, "cacheDirSupplier must be set");
+		Assert.isTrue(maxSize > 0, "maxSize must be positive");
+		this.cacheDirSupplier = cacheDirSupplier;
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	@Nullable
+	public Optional<Pom> getPom(ResolvedGroupArtifactVersion gav) {
+		if (!isCacheable(gav)) {
+			return null;
+		}
+		Path entry = getEntry(gav);
+		if (!Files.isRegularFile(entry)) {
+			return null;
+		}
+		try {
+			Pom pom = objectMapper.readValue(entry.toFile(), Pom.class);
+			markUsed(entry);
+			return Optional.of(pom);
+		}
+		catch (IOException ex) {
+			logger.debug("Ignoring unreadable cached pom " + entry, ex);
+			deleteQuietly(entry);
+			return null;
+		}
+	}
+
+	@Override
+	public void putPom(ResolvedGroupArtifactVersion gav, @Nullable Pom pom) {
+		// a missing pom may just be a network problem, don't remember it across runs
+		if (pom == null || !isCacheable(gav)) {
+			return;
+		}
+		Path entry = getEntry(gav);
+		Path stagingFile = entry.resolveSibling(entry.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(entry.getParent());
+			byte[] content = objectMapper.writeValueAsBytes(pom);
+			Files.write(stagingFile, content);
+			Files.move(stagingFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			enforceMaxSize(content.length);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to cache pom " + gav, ex);
+		}
+		finally {
+			deleteQuietly(stagingFile);
+		}
+	}
+
+	@Override
+	@Nullable
+	public ResolvedPom getResolvedDependencyPom(ResolvedGroupArtifactVersion dependency) {
+		return null;
+	}
+
+	@Override
+	public void putResolvedDependencyPom(ResolvedGroupArtifactVersion dependency, ResolvedPom resolved) {
+	}
+
+	@Override
+	@Nullable
+	public Optional<MavenMetadata> getMavenMetadata(URI repo, GroupArtifactVersion gav) {
+		return null;
+	}
+
+	@Override
+	public void putMavenMetadata(URI repo, GroupArtifactVersion gav, @Nullable MavenMetadata metadata) {
+	}
+
+	@Override
+	@Nullable
+	public Optional<MavenRepository> getNormalizedRepository(MavenRepository repository) {
+		return null;
+	}
+
+	@Override
+	public void putNormalizedRepository(MavenRepository repository, MavenRepository normalized) {
+	}
+
+	private Path getEntry(ResolvedGroupArtifactVersion gav) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			String key = HexFormat.of().formatHex(digest.digest(gav.toString().getBytes(StandardCharsets.UTF_8)));
+			return this.cacheDirSupplier.get().resolve(key + ENTRY_FILE_EXTENSION);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	private synchronized void enforceMaxSize(long added) {
+		if (this.size >= 0 && this.size + added <= this.maxSize) {
+			this.size += added;
+			return;
+		}
+		// size unknown or exceeded, read it from disk and evict least recently used poms
+		Path cacheDir = this.cacheDirSupplier.get();
+		List<Path> entries;
+		try (Stream<Path> paths = Files.list(cacheDir)) {
+			entries = paths.filter((path) -> path.getFileName().toString().endsWith(ENTRY_FILE_EXTENSION))
+				.collect(Collectors.toCollection(ArrayList::new));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to list cache directory " + cacheDir, ex);
+			return;
+		}
+		Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+		long total = 0;
+		for (Path entry : entries) {
+			try {
+				BasicFileAttributes entryAttributes = Files.readAttributes(entry, BasicFileAttributes.class);
+				attributes.put(entry, entryAttributes);
+				total += entryAttributes.size();
+			}
+			catch (IOException ex) {
+				// removed concurrently
+			}
+		}
+		List<Path> leastRecentlyUsedFirst = new ArrayList<>(attributes.keySet());
+		leastRecentlyUsedFirst.sort(Comparator.comparing((entry) -> attributes.get(entry).lastModifiedTime()));
+		for (Path entry : leastRecentlyUsedFirst) {
+			if (total <= this.maxSize) {
+				break;
+			}
+			logger.debug("Evicting cached pom " + entry);
+			deleteQuietly(entry);
+			total -= attributes.get(entry).size();
+		}
+		this.size = total;
+	}
+
+	private static void markUsed(Path entry) {
+		try {
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to update access time of cached pom " + entry, ex);
+		}
+	}
+
+	private static boolean isCacheable(ResolvedGroupArtifactVersion gav) {
+		return gav.getDatedSnapshotVersion() == null && gav.getVersion() != null
+				&& !gav.getVersion().endsWith("-SNAPSHOT");
+	}
+
+	private static void deleteQuietly(Path path) {
+		try {
+			FileSystemUtils.deleteRecursively(path);
+		}
+		catch (IOException ex) {
+			logger.warn("Could not delete path " + path, ex);
+		}
+	}
+
+	private static ObjectMapper createObjectMapper() {
+		// same setup openrewrite uses for its own persistent pom cache, poms are
+		// immutable value types without setters
+		ObjectMapper mapper = JsonMapper.builder()
+			.constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+			.build()
+			.registerModule(new ParameterNamesModule())
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+			.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		return mapper.setVisibility(mapper.getSerializationConfig()
+			.getDefaultVisibilityChecker()
+			.withCreatorVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+			.withGetterVisibility(JsonAutoDetect.Visibility.NONE)
+			.withIsGetterVisibility(JsonAutoDetect.Visibility.NONE)
+			.withFieldVisibility(JsonAutoDetect.Visibility.ANY));
+	}
+
+}
@@ -21,19 +21,63 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Result;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.CompositeMavenPomCache;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.cache.MavenPomCache;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.util.Assert;
 
 /**
  * Utilities for recipe execution
  */
 public final class RecipeUtils {
 
+	private static volatile MavenPomCache mavenPomCache = new InMemoryMavenPomCache();
+
 	private RecipeUtils() {
 	}
 
+	/**
+	 * Creates the Maven pom cache of the cli, an in-memory cache layered on top of a
+	 * {@link DiskMavenPomCache}.
+	 * @param cacheDirSupplier supplier for the directory holding cached poms
+	 * @param maxSize the maximum total size in bytes of the poms cached on disk
+	 * @return the pom cache
+	 */
+	public static MavenPomCache createMavenPomCache(Supplier<Path> cacheDirSupplier, long maxSize) {
+		return new CompositeMavenPomCache(new InMemoryMavenPomCache(),
+				new DiskMavenPomCache(cacheDirSupplier, maxSize));
+	}
+
+	/**
+	 * Sets the process wide Maven pom cache used by execution contexts created later on.
+	 * Until set, poms are only cached in memory.
+	 * @param pomCache the pom cache
+	 */
+	public static void setMavenPomCache(MavenPomCache pomCache) {
+		Assert.notNull(pomCache, "pomCache must be set");
+		mavenPomCache = pomCache;
+	}
+
+	/**
+	 * Creates an execution context sharing the process wide Maven pom cache, so parent
+	 * poms and BOMs are resolved only once and downloaded poms are reused across runs.
+	 * @param onError handler for errors during parsing and recipe execution
+	 * @return the execution context
+	 */
+	public static InMemoryExecutionContext createExecutionContext(Consumer<Throwable> onError) {
+		InMemoryExecutionContext executionContext = new InMemoryExecutionContext(onError);
+		MavenExecutionContextView.view(executionContext).setPomCache(mavenPomCache);
+		return executionContext;
+	}
+
 	public static void writeResults(String recipeName, Path path, List<Result> resultList) {
 		try {
 			for (Result result : resultList) {
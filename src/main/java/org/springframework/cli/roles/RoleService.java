@@ -77,7 +77,15 @@ public class RoleService {
 		Map<String, Object> map = loadAsMap(roleName);
 		Object valueToUse = JavaUtils.inferType(value);
 		map.put(key, valueToUse);
+		saveRole(roleName, map);
+	}
 
+	/**
+	 * Replaces the variables of a role with the given ones.
+	 * @param roleName the name of the role. Empty string implies the default role
+	 * @param map the variables of the role
+	 */
+	public void saveRole(String roleName, Map<String, Object> map) {
 		DumperOptions dumperOptions = new DumperOptions();
 		dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
 		dumperOptions.setPrettyFlow(true);
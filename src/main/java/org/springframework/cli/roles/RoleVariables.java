@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.roles;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cli.util.JavaUtils;
+
+/**
+ * Snapshot of the variables of a role, read on first use and kept in memory for the rest
+ * of a command run. Updates are applied to the snapshot and written back to the role
+ * file by {@link #save()}.
+ */
+public class RoleVariables {
+
+	private final RoleService roleService;
+
+	private final String roleName;
+
+	private Map<String, Object> variables;
+
+	private boolean modified;
+
+	/**
+	 * Create a new instance.
+	 * @param roleService the service reading and writing the role file
+	 * @param roleName the name of the role. Empty string implies the default role
+	 */
+	public RoleVariables(RoleService roleService, String roleName) {
+		this.roleService = roleService;
+		this.roleName = roleName;
+	}
+
+	/**
+	 * Returns the current variables of the role.
+	 * @return a read-only view of the variables
+	 */
+	public synchronized Map<String, Object> getVariables() {
+		return Collections.unmodifiableMap(load());
+	}
+
+	public synchronized boolean containsKey(String name) {
+		return load().containsKey(name);
+	}
+
+	/**
+	 * Sets a variable, inferring the type of the value the same way as
+	 * {@link RoleService#updateRole(String, String, Object)}.
+	 * @param name the name of the variable
+	 * @param value the value of the variable
+	 */
+	public synchronized void put(String name, Object value) {
+		load().put(name, JavaUtils.inferType(value));
+		this.modified = true;
+	}
+
+	/**
+	 * Writes the variables back to the role file if any of them was set.
+	 */
+	public synchronized void save() {
+		if (this.modified) {
+			this.roleService.saveRole(this.roleName, this.variables);
+			this.modified = false;
+		}
+	}
+
+	private Map<String, Object> load() {
+		if (this.variables == null) {
+			Map<String, Object> map = this.roleService.loadAsMap(this.roleName);
+			this.variables = (map != null) ? new LinkedHashMap<>(map) : new LinkedHashMap<>();
+		}
+		return this.variables;
+	}
+
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index of the user-defined commands found below a commands directory, by default
+ * {@code .spring/commands}. The scan results are reused as long as the modification
+ * times of the command directories and of their {@code command.yaml} files are
+ * unchanged, so that registering commands does not parse YAML again. When something
+ * changed, only the {@code command.yaml} files that changed are parsed again.
+ * <p>
+ * The index can also be kept in a file, so that new processes start from it. User-defined
+ * commands keep that file below {@code .spring/cache} when the index is persistent. A
+ * watching index, used by the interactive shell, relies on a {@link WatchService} to
+ * notice changes instead of checking modification times on every lookup.
+ */
+public class CommandIndex implements AutoCloseable {
+
+	private static final String COMMAND_FILE_NAME = "command.yaml";
+
+	private static final Logger logger = LoggerFactory.getLogger(CommandIndex.class);
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final boolean watch;
+
+	private final boolean persistent;
+
+	private final Function<File, Command> commandReader;
+
+	private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+
+	@Nullable
+	private WatchService watchService;
+
+	public CommandIndex() {
+		this(false, false);
+	}
+
+	/**
+	 * Creates an index.
+	 * @param watch whether to watch the command directories for changes
+	 * @param persistent whether user-defined commands keep the index in a file
+	 */
+	public CommandIndex(boolean watch, boolean persistent) {
+		this(watch, persistent, CommandScanner::getCommandObject);
+	}
+
+	CommandIndex(boolean watch, Function<File, Command> commandReader) {
+		this(watch, false, commandReader);
+	}
+
+	CommandIndex(boolean watch, boolean persistent, Function<File, Command> commandReader) {
+		this.watch = watch;
+		this.persistent = persistent;
+		this.commandReader = commandReader;
+	}
+
+	/**
+	 * Whether user-defined commands keep the index in a file.
+	 * @return true if the index is kept in a file
+	 */
+	public boolean isPersistent() {
+		return this.persistent;
+	}
+
+	/**
+	 * Gets the commands and subcommands found below a commands directory.
+	 * @param commandsDir the commands directory
+	 * @param indexFile the file keeping the index across processes, may be null
+	 * @return the scan results
+	 */
+	public synchronized CommandScanResults getScanResults(Path commandsDir, @Nullable Path indexFile) {
+		Path key = commandsDir.toAbsolutePath().normalize();
+		Entry entry = this.entries.get(key);
+		if (entry != null && ((entry.watched && !entry.stale) || !entry.snapshot.hasChanged())) {
+			return entry.results;
+		}
+		Snapshot previous = (entry != null) ? entry.snapshot : readIndex(indexFile).orElse(null);
+		Snapshot snapshot;
+		if (entry == null && previous != null && !previous.hasChanged()) {
+			logger.debug("Using command index file " + indexFile);
+			snapshot = previous;
+		}
+		else {
+			logger.debug("Scanning commands in " + key);
+			snapshot = scan(key.toFile(), previous);
+			if (indexFile != null) {
+				writeIndex(indexFile, snapshot);
+			}
+		}
+		Entry updated = new Entry(snapshot);
+		this.entries.put(key, updated);
+		if (this.watch) {
+			watch(key, updated);
+		}
+		return updated.results;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.watchService != null) {
+			this.watchService.close();
+			this.watchService = null;
+		}
+	}
+
+	private Snapshot scan(File commandsDir, @Nullable Snapshot previous) {
+		Map<String, Long> directories = new LinkedHashMap<>();
+		Map<String, Long> files = new LinkedHashMap<>();
+		Map<String, Command> previousCommands = (previous != null) ? previous.commandsByDirectory()
+				: Collections.emptyMap();
+		Map<String, Long> previousFiles = (previous != null) ? previous.files() : Collections.emptyMap();
+		Function<File, Command> reader = (directory) -> {
+			directories.put(directory.getPath(), directory.lastModified());
+			File commandFile = new File(directory, COMMAND_FILE_NAME);
+			Long stamp = commandFile.exists() ? commandFile.lastModified() : null;
+			if (stamp != null) {
+				files.put(commandFile.getPath(), stamp);
+			}
+			Command command = previousCommands.get(directory.getPath());
+			if (command != null && Objects.equals(stamp, previousFiles.get(commandFile.getPath()))) {
+				return command;
+			}
+			return this.commandReader.apply(directory);
+		};
+
+		// same layout as CommandScanner
+		directories.put(commandsDir.getPath(), commandsDir.lastModified());
+		List<IndexedCommand> commands = new ArrayList<>();
+		File[] commandDirectories = commandsDir.listFiles();
+		if (commandDirectories != null) {
+			for (File commandDirectory : commandDirectories) {
+				if (commandDirectory.isDirectory() && !commandDirectory.isHidden()) {
+					Command command = reader.apply(commandDirectory);
+					List<IndexedCommand> subCommands = new ArrayList<>();
+					File[] subCommandDirectories = commandDirectory.listFiles();
+					if (subCommandDirectories != null) {
+						for (File subCommandDirectory : subCommandDirectories) {
+							if (subCommandDirectory.isDirectory()) {
+								subCommands.add(new IndexedCommand(subCommandDirectory.getPath(),
+										reader.apply(subCommandDirectory), Collections.emptyList()));
+							}
+						}
+					}
+					commands.add(new IndexedCommand(commandDirectory.getPath(), command, subCommands));
+				}
+			}
+		}
+		return new Snapshot(directories, files, commands);
+	}
+
+	private void watch(Path commandsDir, Entry entry) {
+		try {
+			if (this.watchService == null) {
+				WatchService service = commandsDir.getFileSystem().newWatchService();
+				Thread thread = new Thread(() -> processEvents(service), "command-index-watcher");
+				thread.setDaemon(true);
+				thread.start();
+				this.watchService = service;
+			}
+			if (!Files.isDirectory(commandsDir)) {
+				// nothing to watch until the directory is created, check modification times
+				return;
+			}
+			for (String directory : entry.snapshot.directories().keySet()) {
+				Path path = Path.of(directory);
+				if (Files.isDirectory(path)) {
+					WatchKey watchKey = path.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+					this.watchKeys.put(watchKey, commandsDir);
+				}
+			}
+			// changes made before the directories were registered are not reported
+			entry.watched = !entry.snapshot.hasChanged();
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to watch " + commandsDir + ", checking modification times instead", ex);
+		}
+	}
+
+	private void processEvents(WatchService service) {
+		try {
+			while (true) {
+				WatchKey watchKey = service.take();
+				watchKey.pollEvents();
+				Path commandsDir = this.watchKeys.get(watchKey);
+				Entry entry = (commandsDir != null) ? this.entries.get(commandsDir) : null;
+				if (entry != null) {
+					entry.stale = true;
+				}
+				if (!watchKey.reset()) {
+					this.watchKeys.remove(watchKey);
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		catch (ClosedWatchServiceException ex) {
+			// index closed
+		}
+	}
+
+	private static Optional<Snapshot> readIndex(@Nullable Path indexFile) {
+		if (indexFile == null || !Files.isRegularFile(indexFile)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(objectMapper.readValue(indexFile.toFile(), Snapshot.class));
+		}
+		catch (IOException ex) {
+			logger.debug("Ignoring unreadable command index " + indexFile, ex);
+			return Optional.empty();
+		}
+	}
+
+	private static void writeIndex(Path indexFile, Snapshot snapshot) {
+		Path stagingFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(indexFile.getParent());
+			Files.write(stagingFile, objectMapper.writeValueAsBytes(snapshot));
+			Files.move(stagingFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write command index " + indexFile, ex);
+		}
+		finally {
+			try {
+				Files.deleteIfExists(stagingFile);
+			}
+			catch (IOException ex) {
+				logger.warn("Could not delete path " + stagingFile, ex);
+			}
+		}
+	}
+
+	/**
+	 * Commands found by a scan, with the modification times they were read at.
+	 *
+	 * @param directories modification time by command directory
+	 * @param files modification time by command file
+	 * @param commands the commands
+	 */
+	record Snapshot(Map<String, Long> directories, Map<String, Long> files, List<IndexedCommand> commands) {
+
+		boolean hasChanged() {
+			List<Map.Entry<String, Long>> entries = new ArrayList<>(this.directories.entrySet());
+			entries.addAll(this.files.entrySet());
+			for (Map.Entry<String, Long> entry : entries) {
+				// 0 for missing files, matching a missing commands directory
+				if (new File(entry.getKey()).lastModified() != entry.getValue()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		Map<String, Command> commandsByDirectory() {
+			Map<String, Command> commandsByDirectory = new HashMap<>();
+			for (IndexedCommand command : this.commands) {
+				commandsByDirectory.put(command.directory(), command.command());
+				for (IndexedCommand subCommand : command.subCommands()) {
+					commandsByDirectory.put(subCommand.directory(), subCommand.command());
+				}
+			}
+			return commandsByDirectory;
+		}
+
+		CommandScanResults toScanResults() {
+			Map<Command, List<Command>> results = new LinkedHashMap<>();
+			for (IndexedCommand command : this.commands) {
+				results.put(command.command(), command.subCommands().stream().map(IndexedCommand::command).toList());
+			}
+			return new CommandScanResults(results);
+		}
+
+	}
+
+	/**
+	 * A command or subcommand together with its directory.
+	 *
+	 * @param directory the directory of the command
+	 * @param command the command
+	 * @param subCommands the subcommands of a command, empty for subcommands
+	 */
+	record IndexedCommand(String directory, Command command, List<IndexedCommand> subCommands) {
+	}
+
+	private static final class Entry {
+
+		private final Snapshot snapshot;
+
+		private final CommandScanResults results;
+
+		private volatile boolean watched;
+
+		private volatile boolean stale;
+
+		private Entry(Snapshot snapshot) {
+			this.snapshot = snapshot;
+			this.results = snapshot.toScanResults();
+		}
+
+	}
+
+}
@@ -42,7 +42,7 @@ import org.springframework.cli.SpringCliException;
  */
 public class CommandScanner {
 
-	private final Logger logger = LoggerFactory.getLogger(CommandScanner.class);
+	private static final Logger logger = LoggerFactory.getLogger(CommandScanner.class);
 
 	private Path pathToScan;
 
@@ -94,7 +94,7 @@ public class CommandScanner {
 	 * found.
 	 * </p>
 	 */
-	private Command getCommandObject(File directory) {
+	static Command getCommandObject(File directory) {
 		// TODO also look for 'command.yml'
 		File manifestFile = new File(directory, "command.yaml");
 		Command command = new Command();
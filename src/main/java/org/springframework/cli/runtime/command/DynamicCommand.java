@@ -17,20 +17,19 @@
 package org.springframework.cli.runtime.command;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.TreeMap;
-import java.util.function.Function;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import org.jline.terminal.Terminal;
 import org.jline.utils.AttributedStringBuilder;
@@ -39,10 +38,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliProperties;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
+import org.springframework.cli.runtime.command.ParallelActionExecutor.Task;
 import org.springframework.cli.runtime.engine.actions.Action;
-import org.springframework.cli.runtime.engine.actions.ActionFileReader;
-import org.springframework.cli.runtime.engine.actions.ActionFileVisitor;
+import org.springframework.cli.runtime.engine.actions.ActionPlanCache;
 import org.springframework.cli.runtime.engine.actions.ActionsFile;
 import org.springframework.cli.runtime.engine.actions.Exec;
 import org.springframework.cli.runtime.engine.actions.Generate;
@@ -57,6 +58,7 @@ import org.springframework.cli.runtime.engine.actions.handlers.GenerateActionHan
 import org.springframework.cli.runtime.engine.actions.handlers.InjectActionHandler;
 import org.springframework.cli.runtime.engine.actions.handlers.InjectMavenActionHandler;
 import org.springframework.cli.runtime.engine.actions.handlers.VarsActionHandler;
+import org.springframework.cli.runtime.engine.model.LazyModel;
 import org.springframework.cli.runtime.engine.model.ModelPopulator;
 import org.springframework.cli.runtime.engine.spel.SpELCondition;
 import org.springframework.cli.runtime.engine.spel.SpelFunctions;
@@ -65,9 +67,14 @@ import org.springframework.cli.runtime.engine.templating.TemplateEngine;
 import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.NamingUtils;
 import org.springframework.cli.util.TerminalMessage;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.lang.Nullable;
 import org.springframework.shell.command.CommandContext;
 import org.springframework.shell.command.CommandParser.CommandParserResult;
 import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
 
 /**
  * Object that is registered and executed for all dynamic commands discovered at runtime.
@@ -84,18 +91,49 @@ public class DynamicCommand {
 
 	private final TerminalMessage terminalMessage;
 
+	private final Optional<Terminal> terminalOptional;
+
 	private final TemplateEngine templateEngine;
 
-	private final Optional<Terminal> terminalOptional;
+	private final ActionPlanCache actionPlanCache;
+
+	private final SpringCliProperties.Exec execProperties;
+
+	private final SpelParserConfiguration spelParserConfiguration;
 
 	public DynamicCommand(String commandName, String subCommandName, Iterable<ModelPopulator> modelPopulators,
 			TerminalMessage terminalMessage, Optional<Terminal> terminalOptional) {
+		this(commandName, subCommandName, modelPopulators, terminalMessage, terminalOptional,
+				new HandlebarsTemplateEngine(), new ActionPlanCache(), new SpringCliProperties.Exec(),
+				SpELCondition.parserConfiguration(SpelCompilerMode.OFF));
+	}
+
+	/**
+	 * Creates a dynamic command.
+	 * @param commandName the name of the command
+	 * @param subCommandName the name of the subcommand
+	 * @param modelPopulators populators adding project information to the model
+	 * @param terminalMessage terminal to write user messages to
+	 * @param terminalOptional the terminal, if any
+	 * @param templateEngine the template engine, shared by all commands as they are
+	 * resolved again for each invocation, keeps compiled templates across runs
+	 * @param actionPlanCache the cache of parsed action files, shared for the same reason
+	 * @param execProperties the settings of exec actions
+	 * @param spelParserConfiguration the parser configuration of 'if' conditions
+	 */
+	public DynamicCommand(String commandName, String subCommandName, Iterable<ModelPopulator> modelPopulators,
+			TerminalMessage terminalMessage, Optional<Terminal> terminalOptional, TemplateEngine templateEngine,
+			ActionPlanCache actionPlanCache, SpringCliProperties.Exec execProperties,
+			SpelParserConfiguration spelParserConfiguration) {
 		this.commandName = commandName;
 		this.subCommandName = subCommandName;
 		this.modelPopulators = modelPopulators;
 		this.terminalMessage = terminalMessage;
-		this.templateEngine = new HandlebarsTemplateEngine();
 		this.terminalOptional = terminalOptional;
+		this.templateEngine = templateEngine;
+		this.actionPlanCache = actionPlanCache;
+		this.execProperties = execProperties;
+		this.spelParserConfiguration = spelParserConfiguration;
 	}
 
 	/**
@@ -189,7 +227,8 @@ public class DynamicCommand {
 		return usedDefaultValue;
 	}
 
-	public void runCommand(Path workingDirectory, String springDir, String commandsDir, Map<String, Object> model) {
+	public void runCommand(Path workingDirectory, String springDir, String commandsDir,
+			Map<String, Object> initialModel) {
 		Path dynamicSubCommandPath;
 		if (StringUtils.hasText(springDir) && StringUtils.hasText(commandsDir)) {
 			dynamicSubCommandPath = Paths.get(workingDirectory.toString(), springDir, commandsDir)
@@ -206,14 +245,16 @@ public class DynamicCommand {
 		}
 
 		// Enrich the model with detected features of the project, e.g. maven artifact
-		// name
-		if (this.modelPopulators != null) {
-			for (ModelPopulator modelPopulator : modelPopulators) {
-				modelPopulator.contributeToModel(workingDirectory, model);
-			}
+		// name, computed once a template or condition looks them up
+		LazyModel model = new LazyModel(initialModel, workingDirectory,
+				(this.modelPopulators != null) ? this.modelPopulators : Collections.emptyList());
+
+		Path indexFile = null;
+		if (StringUtils.hasText(springDir) && actionPlanCache.isPersistent()) {
+			indexFile = Paths.get(workingDirectory.toString(), springDir, "cache", "commands",
+					this.commandName + "-" + this.subCommandName + ".json");
 		}
-
-		final Map<Path, ActionsFile> commandActionFiles = findCommandActionFiles(dynamicSubCommandPath);
+		final Map<Path, ActionsFile> commandActionFiles = findCommandActionFiles(dynamicSubCommandPath, indexFile);
 		if (commandActionFiles.size() == 0) {
 			throw new SpringCliException(
 					"No command action files found to process in directory " + dynamicSubCommandPath.toAbsolutePath());
@@ -228,12 +269,38 @@ public class DynamicCommand {
 			sb.append(ex.getMessage());
 			terminalMessage.print(sb.toAttributedString());
 		}
+		finally {
+			logger.debug("Model populators run for command " + this.commandName + " " + this.subCommandName + ": "
+					+ model.getPopulated());
+		}
 
 	}
 
 	private void processCommandActionFiles(Map<Path, ActionsFile> commandActionFiles, Path cwd,
 			Path dynamicSubCommandPath, Map<String, Object> model) {
 
+		// read once, updated by vars actions and written back at the end of the run
+		RoleVariables roleVariables = new RoleVariables(new RoleService(cwd), "");
+		// created on the first condition and reused for the rest of the run, conditions
+		// read the current model through it
+		Supplier<EvaluationContext> evaluationContext = SingletonSupplier.of(() -> {
+			ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model, dynamicSubCommandPath,
+					this.terminalMessage, this.execProperties);
+			model.put("functions", new SpelFunctions(execActionHandler, cwd, roleVariables));
+			return SpELCondition.createEvaluationContext(model, null);
+		});
+		try {
+			processCommandActionFiles(commandActionFiles, cwd, dynamicSubCommandPath, model, evaluationContext,
+					roleVariables);
+		}
+		finally {
+			roleVariables.save();
+		}
+	}
+
+	private void processCommandActionFiles(Map<Path, ActionsFile> commandActionFiles, Path cwd,
+			Path dynamicSubCommandPath, Map<String, Object> model, Supplier<EvaluationContext> evaluationContext,
+			RoleVariables roleVariables) {
 		for (Entry<Path, ActionsFile> kv : commandActionFiles.entrySet()) {
 			Path path = kv.getKey();
 			ActionsFile actionsFile = kv.getValue();
@@ -244,121 +311,288 @@ public class DynamicCommand {
 				continue;
 			}
 
+			if (actionsFile.isParallel()) {
+				processActionsInParallel(actions, cwd, dynamicSubCommandPath, model, evaluationContext, roleVariables);
+				continue;
+			}
+
+			// consecutive unconditional maven actions update pom.xml in one transaction
+			List<Action> mavenActions = new ArrayList<>();
 			for (Action action : actions) {
+				if (isBatchableMavenAction(action)) {
+					mavenActions.add(action);
+					continue;
+				}
+				flushMavenActions(mavenActions, cwd, model, roleVariables);
+				loadRoleVariables(model, roleVariables);
+				if (isEnabled(action, model, evaluationContext)) {
+					executeAction(action, cwd, dynamicSubCommandPath, model, roleVariables, this.terminalMessage);
+				}
+			}
+			flushMavenActions(mavenActions, cwd, model, roleVariables);
+		}
+
+	}
+
+	private void flushMavenActions(List<Action> mavenActions, Path cwd, Map<String, Object> model,
+			RoleVariables roleVariables) {
+		if (mavenActions.isEmpty()) {
+			return;
+		}
+		loadRoleVariables(model, roleVariables);
+		executeMavenActions(mavenActions, cwd, model, this.terminalMessage);
+		mavenActions.clear();
+	}
 
-				RoleService roleService = new RoleService(cwd);
-				// TODO load from default role for now, later a list of roles
-				Map<String, Object> varMap = roleService.loadAsMap("");
-				model.putAll(varMap);
-
-				String ifExpression = action.getIfExpression();
-				if (StringUtils.hasText(ifExpression)) {
-					// Prepare to execute expression evaluation
-					String ifExpressionToUse = this.templateEngine.process(ifExpression, model);
-					ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model,
-							dynamicSubCommandPath, this.terminalMessage);
-					model.put("functions", new SpelFunctions(execActionHandler, cwd));
-
-					SpELCondition condition = new SpELCondition(ifExpressionToUse);
-					boolean evaluationResult = condition.evaluate(model);
-					logger.debug("If Expression = " + ifExpression);
-					logger.debug("Evaluation Result " + evaluationResult);
-					if (!evaluationResult) {
-						logger.debug("Not execution action, evaluation result = false");
-						continue;
+	/**
+	 * Executes the actions of a file marked as parallel. Actions are split into segments
+	 * at {@code vars} actions, at {@code exec} actions not declaring {@code depends-on}
+	 * and at {@code exec} actions collecting {@code results}, as those may change the
+	 * model or any file. Such actions run on their own, the actions of a segment run
+	 * concurrently unless they write the same target file, declare a dependency on each
+	 * other, or have a condition which has to see the effect of the actions before it.
+	 * Consecutive unconditional maven actions of a segment are executed together as a
+	 * single task.
+	 */
+	private void processActionsInParallel(List<Action> actions, Path cwd, Path dynamicSubCommandPath,
+			Map<String, Object> model, Supplier<EvaluationContext> evaluationContext, RoleVariables roleVariables) {
+		validateDependencies(actions);
+		int start = 0;
+		while (start < actions.size()) {
+			int end = start;
+			while (end < actions.size() && !isBarrier(actions.get(end))) {
+				end++;
+			}
+			loadRoleVariables(model, roleVariables);
+			if (end == start) {
+				Action action = actions.get(start);
+				if (isEnabled(action, model, evaluationContext)) {
+					executeAction(action, cwd, dynamicSubCommandPath, model, roleVariables, this.terminalMessage);
+				}
+				start++;
+				continue;
+			}
+			List<Action> segment = actions.subList(start, end);
+			if (segment.stream().anyMatch((action) -> StringUtils.hasText(action.getIfExpression()))) {
+				// initializing adds to the model, which must not happen concurrently
+				evaluationContext.get();
+			}
+			List<List<Action>> units = groupMavenActions(segment);
+			List<Set<Path>> targets = new ArrayList<>();
+			List<Task> tasks = new ArrayList<>();
+			for (int i = 0; i < units.size(); i++) {
+				List<Action> unit = units.get(i);
+				Set<Path> unitTargets = new HashSet<>();
+				unit.forEach((action) -> unitTargets.addAll(getTargets(action, cwd, model)));
+				targets.add(unitTargets);
+				boolean conditional = unit.stream()
+					.anyMatch((action) -> StringUtils.hasText(action.getIfExpression()));
+				Set<Integer> dependencies = new TreeSet<>();
+				for (int j = 0; j < i; j++) {
+					if (conditional || isDeclaredDependency(unit, units.get(j))
+							|| !Collections.disjoint(targets.get(i), targets.get(j))) {
+						dependencies.add(j);
 					}
 				}
-
-				Generate generate = action.getGenerate();
-				if (generate != null) {
-					GenerateActionHandler generateActionHandler = new GenerateActionHandler(templateEngine, model, cwd,
-							dynamicSubCommandPath, terminalMessage);
-					generateActionHandler.execute(generate);
+				if (unit.size() > 1) {
+					tasks.add(new Task(dependencies, (output) -> executeMavenActions(unit, cwd, model, output)));
+					continue;
 				}
+				Action action = unit.get(0);
+				tasks.add(new Task(dependencies, (output) -> {
+					if (isEnabled(action, model, evaluationContext)) {
+						executeAction(action, cwd, dynamicSubCommandPath, model, roleVariables, output);
+					}
+				}));
+			}
+			new ParallelActionExecutor(this.terminalMessage, ParallelActionExecutor.DEFAULT_PARALLELISM)
+				.execute(tasks);
+			start = end;
+		}
+	}
 
-				Inject inject = action.getInject();
-				if (inject != null) {
-					InjectActionHandler injectActionHandler = new InjectActionHandler(templateEngine, model, cwd,
-							terminalMessage);
-					injectActionHandler.execute(inject);
-				}
+	private static boolean isBarrier(Action action) {
+		Exec exec = action.getExec();
+		return action.getVars() != null
+				|| (exec != null && (action.getDependsOn() == null || exec.getResults() != null));
+	}
 
-				InjectMavenDependency injectMavenDependency = action.getInjectMavenDependency();
-				if (injectMavenDependency != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectDependency(injectMavenDependency);
-					injectMavenActionHandler.exec();
-				}
+	private static List<List<Action>> groupMavenActions(List<Action> actions) {
+		List<List<Action>> units = new ArrayList<>();
+		for (Action action : actions) {
+			List<Action> last = (!units.isEmpty()) ? units.get(units.size() - 1) : null;
+			if (last != null && isBatchableMavenAction(action) && isBatchableMavenAction(last.get(0))) {
+				last.add(action);
+			}
+			else {
+				units.add(new ArrayList<>(List.of(action)));
+			}
+		}
+		return units;
+	}
 
-				InjectMavenBuildPlugin injectMavenBuildPlugin = action.getInjectMavenBuildPlugin();
-				if (injectMavenBuildPlugin != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectBuildPlugin(injectMavenBuildPlugin);
-					injectMavenActionHandler.exec();
+	private static boolean isDeclaredDependency(List<Action> actions, List<Action> earlierActions) {
+		for (Action action : actions) {
+			if (action.getDependsOn() == null) {
+				continue;
+			}
+			for (Action earlier : earlierActions) {
+				if (earlier.getId() != null && action.getDependsOn().contains(earlier.getId())) {
+					return true;
 				}
+			}
+		}
+		return false;
+	}
 
-				InjectMavenDependencyManagement injectMavenDependencyManagement = action
-					.getInjectMavenDependencyManagement();
-				if (injectMavenDependencyManagement != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectDependencyManagement(injectMavenDependencyManagement);
-					injectMavenActionHandler.exec();
-				}
+	private static boolean isMavenAction(Action action) {
+		return action.getInjectMavenDependency() != null || action.getInjectMavenBuildPlugin() != null
+				|| action.getInjectMavenDependencyManagement() != null || action.getInjectMavenRepository() != null;
+	}
 
-				InjectMavenRepository injectMavenRepository = action.getInjectMavenRepository();
-				if (injectMavenRepository != null) {
-					InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine,
-							model, cwd, terminalMessage);
-					injectMavenActionHandler.injectRepository(injectMavenRepository);
-					injectMavenActionHandler.exec();
-				}
+	/**
+	 * Whether an action only updates pom.xml and can be executed together with the maven
+	 * actions next to it. Conditions are evaluated on their own, as they may look at the
+	 * changes made by the actions before.
+	 */
+	private static boolean isBatchableMavenAction(Action action) {
+		return isMavenAction(action) && action.getGenerate() == null && action.getInject() == null
+				&& action.getExec() == null && action.getVars() == null
+				&& !StringUtils.hasText(action.getIfExpression());
+	}
 
-				Exec exec = action.getExec();
-				if (exec != null) {
-					ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model,
-							dynamicSubCommandPath, terminalMessage);
-					Map<String, Object> outputs = new HashMap<>();
-					execActionHandler.executeShellCommand(exec, outputs);
+	private static void validateDependencies(List<Action> actions) {
+		Set<String> ids = new HashSet<>();
+		for (Action action : actions) {
+			if (action.getDependsOn() != null) {
+				for (String dependency : action.getDependsOn()) {
+					if (!ids.contains(dependency)) {
+						throw new SpringCliException("Action depends on '" + dependency
+								+ "', which is not the id of an earlier action in the same file.");
+					}
 				}
+			}
+			if (action.getId() != null && !ids.add(action.getId())) {
+				throw new SpringCliException("Action id '" + action.getId() + "' is used more than once.");
+			}
+		}
+	}
 
-				Vars vars = action.getVars();
-				if (vars != null) {
-					VarsActionHandler varsActionHandler = new VarsActionHandler(templateEngine, model, cwd,
-							dynamicSubCommandPath, terminalMessage, terminalOptional.get());
-					varsActionHandler.execute(vars);
-				}
+	private Set<Path> getTargets(Action action, Path cwd, Map<String, Object> model) {
+		List<String> targets = new ArrayList<>();
+		if (action.getGenerate() != null) {
+			targets.add(action.getGenerate().getTo());
+		}
+		if (action.getInject() != null) {
+			targets.add(action.getInject().getTo());
+		}
+		if (action.getExec() != null) {
+			targets.add(action.getExec().getTo());
+			targets.add(action.getExec().getErrto());
+		}
+		if (isMavenAction(action)) {
+			targets.add("pom.xml");
+		}
+		Set<Path> paths = new HashSet<>();
+		for (String target : targets) {
+			if (StringUtils.hasText(target)) {
+				paths.add(cwd.resolve(templateEngine.process(target, model)).toAbsolutePath().normalize());
 			}
 		}
+		return paths;
+	}
 
+	private void loadRoleVariables(Map<String, Object> model, RoleVariables roleVariables) {
+		// TODO load from default role for now, later a list of roles
+		model.putAll(roleVariables.getVariables());
 	}
 
-	private Map<Path, ActionsFile> findCommandActionFiles(Path dynamicSubCommandPath) {
-		// Do a first pass to find only text files
-		final ActionFileVisitor visitor = new ActionFileVisitor();
-		try {
-			Files.walkFileTree(dynamicSubCommandPath, visitor);
+	private boolean isEnabled(Action action, Map<String, Object> model,
+			Supplier<EvaluationContext> evaluationContext) {
+		String ifExpression = action.getIfExpression();
+		if (!StringUtils.hasText(ifExpression)) {
+			return true;
+		}
+		// Prepare to execute expression evaluation
+		String ifExpressionToUse = templateEngine.process(ifExpression, model);
+		SpELCondition condition = new SpELCondition(ifExpressionToUse, this.spelParserConfiguration);
+		boolean evaluationResult = condition.evaluate(evaluationContext.get());
+		logger.debug("If Expression = " + ifExpression);
+		logger.debug("Evaluation Result " + evaluationResult);
+		if (!evaluationResult) {
+			logger.debug("Not execution action, evaluation result = false");
+		}
+		return evaluationResult;
+	}
+
+	private void executeAction(Action action, Path cwd, Path dynamicSubCommandPath, Map<String, Object> model,
+			RoleVariables roleVariables, TerminalMessage terminalMessage) {
+		Generate generate = action.getGenerate();
+		if (generate != null) {
+			GenerateActionHandler generateActionHandler = new GenerateActionHandler(templateEngine, model, cwd,
+					dynamicSubCommandPath, terminalMessage);
+			generateActionHandler.execute(generate);
+		}
+
+		Inject inject = action.getInject();
+		if (inject != null) {
+			InjectActionHandler injectActionHandler = new InjectActionHandler(templateEngine, model, cwd,
+					terminalMessage);
+			injectActionHandler.execute(inject);
 		}
-		catch (IOException ex) {
-			throw new SpringCliException("Error trying to detect action files. " + ex.getMessage(), ex);
+
+		if (isMavenAction(action)) {
+			executeMavenActions(List.of(action), cwd, model, terminalMessage);
 		}
 
-		// Then actually parse, retaining only those paths that yielded a result
-		ActionFileReader actionFileReader = new ActionFileReader();
-		return visitor.getMatches()
-			.stream() //
-			.map(p -> new SimpleImmutableEntry<>(p, actionFileReader.read(p))) //
-			.filter(kv -> kv.getValue().isPresent()) //
-			.collect(toSortedMap(Entry::getKey, (e) -> e.getValue().get()));
+		Exec exec = action.getExec();
+		if (exec != null) {
+			ExecActionHandler execActionHandler = new ExecActionHandler(templateEngine, model, dynamicSubCommandPath,
+					terminalMessage, this.execProperties);
+			Map<String, Object> outputs = new HashMap<>();
+			execActionHandler.executeShellCommand(exec, outputs);
+		}
+
+		Vars vars = action.getVars();
+		if (vars != null) {
+			VarsActionHandler varsActionHandler = new VarsActionHandler(templateEngine, model, cwd,
+					dynamicSubCommandPath, terminalMessage, terminalOptional.get(), roleVariables);
+			varsActionHandler.execute(vars);
+		}
+	}
+
+	/**
+	 * Executes maven actions with a single parse, recipe run and write of pom.xml.
+	 */
+	private void executeMavenActions(List<Action> actions, Path cwd, Map<String, Object> model,
+			TerminalMessage terminalMessage) {
+		InjectMavenActionHandler injectMavenActionHandler = new InjectMavenActionHandler(templateEngine, model, cwd,
+				terminalMessage);
+		for (Action action : actions) {
+			InjectMavenDependency injectMavenDependency = action.getInjectMavenDependency();
+			if (injectMavenDependency != null) {
+				injectMavenActionHandler.injectDependency(injectMavenDependency);
+			}
+			InjectMavenBuildPlugin injectMavenBuildPlugin = action.getInjectMavenBuildPlugin();
+			if (injectMavenBuildPlugin != null) {
+				injectMavenActionHandler.injectBuildPlugin(injectMavenBuildPlugin);
+			}
+			InjectMavenDependencyManagement injectMavenDependencyManagement = action
+				.getInjectMavenDependencyManagement();
+			if (injectMavenDependencyManagement != null) {
+				injectMavenActionHandler.injectDependencyManagement(injectMavenDependencyManagement);
+			}
+			InjectMavenRepository injectMavenRepository = action.getInjectMavenRepository();
+			if (injectMavenRepository != null) {
+				injectMavenActionHandler.injectRepository(injectMavenRepository);
+			}
+		}
+		logger.debug("Updating pom.xml with " + actions.size() + " maven action(s)");
+		injectMavenActionHandler.exec();
 	}
 
-	private static <T, K, U> Collector<T, ?, Map<K, U>> toSortedMap(Function<? super T, ? extends K> keyMapper,
-			Function<? super T, ? extends U> valueMapper) {
-		return Collectors.toMap(keyMapper, valueMapper, (v1, v2) -> {
-			throw new IllegalStateException(String.format("Duplicate key for values %s and %s", v1, v2));
-		}, TreeMap::new);
+	private Map<Path, ActionsFile> findCommandActionFiles(Path dynamicSubCommandPath, @Nullable Path indexFile) {
+		return actionPlanCache.getActionFiles(dynamicSubCommandPath, indexFile);
 	}
 
 }
@@ -30,9 +30,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cli.config.SpringCliProperties;
+import org.springframework.cli.runtime.engine.actions.ActionPlanCache;
 import org.springframework.cli.runtime.engine.model.ModelPopulator;
+import org.springframework.cli.runtime.engine.spel.SpELCondition;
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
+import org.springframework.cli.runtime.engine.templating.TemplateEngine;
 import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.TerminalMessage;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.shell.command.CommandRegistration;
 import org.springframework.shell.command.CommandRegistration.BuilderSupplier;
 import org.springframework.shell.command.CommandRegistration.OptionSpec;
@@ -61,12 +68,36 @@ public class DynamicMethodCommandResolver implements CommandResolver {
 
 	private final ObjectProvider<Terminal> terminalProvider;
 
+	private final CommandIndex commandIndex;
+
+	private final TemplateEngine templateEngine;
+
+	private final ActionPlanCache actionPlanCache;
+
+	private final SpringCliProperties.Exec execProperties;
+
+	private final SpelParserConfiguration spelParserConfiguration;
+
 	public DynamicMethodCommandResolver(Collection<ModelPopulator> modelPopulators, BuilderSupplier builder,
 			TerminalMessage terminalMessage, ObjectProvider<Terminal> terminalProvider) {
+		this(modelPopulators, builder, terminalMessage, terminalProvider, new CommandIndex(),
+				new HandlebarsTemplateEngine(), new ActionPlanCache(), new SpringCliProperties.Exec(),
+				SpELCondition.parserConfiguration(SpelCompilerMode.OFF));
+	}
+
+	public DynamicMethodCommandResolver(Collection<ModelPopulator> modelPopulators, BuilderSupplier builder,
+			TerminalMessage terminalMessage, ObjectProvider<Terminal> terminalProvider, CommandIndex commandIndex,
+			TemplateEngine templateEngine, ActionPlanCache actionPlanCache, SpringCliProperties.Exec execProperties,
+			SpelParserConfiguration spelParserConfiguration) {
 		this.modelPopulators = modelPopulators;
 		this.builder = builder;
 		this.terminalMessage = terminalMessage;
 		this.terminalProvider = terminalProvider;
+		this.commandIndex = commandIndex;
+		this.templateEngine = templateEngine;
+		this.actionPlanCache = actionPlanCache;
+		this.execProperties = execProperties;
+		this.spelParserConfiguration = spelParserConfiguration;
 	}
 
 	@Override
@@ -80,9 +111,11 @@ public class DynamicMethodCommandResolver implements CommandResolver {
 		Path cwd = IoUtils.getWorkingDirectory().toAbsolutePath();
 		Path pathToUse = Paths.get(cwd.toString(), ".spring", "commands");
 		log.debug("Looking for user-defined commands in directory " + pathToUse);
-		CommandScanner scanner = new CommandScanner(pathToUse);
-		CommandScanResults commandScanResults = scanner.scan();
-		return commandScanResults;
+		Path indexFile = null;
+		if (this.commandIndex.isPersistent()) {
+			indexFile = Paths.get(cwd.toString(), ".spring", "cache", "command-index.json");
+		}
+		return this.commandIndex.getScanResults(pathToUse, indexFile);
 	}
 
 	private List<CommandRegistration> registerSpringCliCommands(CommandScanResults results,
@@ -106,7 +139,8 @@ public class DynamicMethodCommandResolver implements CommandResolver {
 					terminalOptional = Optional.empty();
 				}
 				DynamicCommand dynamicCommand = new DynamicCommand(commandName, subCommandName, modelPopulators,
-						terminalMessage, terminalOptional);
+						terminalMessage, terminalOptional, templateEngine, actionPlanCache, execProperties,
+						spelParserConfiguration);
 
 				CommandRegistration.Builder builder = builderSupplier.get()
 					.command(commandName + " " + subCommandName)
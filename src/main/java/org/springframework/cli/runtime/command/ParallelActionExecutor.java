@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.jline.utils.AttributedString;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.util.TerminalMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Executes a graph of actions on a bounded pool, starting each action once the actions
+ * it depends on completed. Messages printed by an action are buffered and written in
+ * declaration order, so the output doesn't depend on scheduling.
+ */
+class ParallelActionExecutor {
+
+	/**
+	 * Default maximum number of actions executed at the same time.
+	 */
+	static final int DEFAULT_PARALLELISM = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+	private final TerminalMessage terminalMessage;
+
+	private final int parallelism;
+
+	ParallelActionExecutor(TerminalMessage terminalMessage, int parallelism) {
+		this.terminalMessage = terminalMessage;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Executes tasks, stopping to start new ones after the first failure.
+	 * @param tasks the tasks in declaration order, dependencies may only refer to
+	 * earlier tasks
+	 * @throws SpringCliException the failure of the first failed task in declaration
+	 * order
+	 */
+	void execute(List<Task> tasks) {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("action-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, tasks.size()),
+				threadFactory);
+		AtomicBoolean failed = new AtomicBoolean();
+		try {
+			List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+			List<BufferingTerminalMessage> outputs = new ArrayList<>(tasks.size());
+			for (Task task : tasks) {
+				CompletableFuture<?>[] dependencies = task.dependencies()
+					.stream()
+					.map(futures::get)
+					.toArray(CompletableFuture[]::new);
+				BufferingTerminalMessage output = new BufferingTerminalMessage();
+				outputs.add(output);
+				futures.add(CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+					if (failed.get()) {
+						throw new CancellationException();
+					}
+					try {
+						task.action().accept(output);
+					}
+					catch (RuntimeException ex) {
+						failed.set(true);
+						throw ex;
+					}
+				}, executor));
+			}
+			// waiting in declaration order writes output as soon as all earlier actions
+			// completed
+			RuntimeException failure = null;
+			for (int i = 0; i < tasks.size(); i++) {
+				try {
+					futures.get(i).join();
+				}
+				catch (CompletionException | CancellationException ex) {
+					Throwable cause = (ex instanceof CompletionException) ? ex.getCause() : ex;
+					// cancelled tasks didn't run because of an earlier failure
+					if (failure == null && !(cause instanceof CancellationException)) {
+						failure = (cause instanceof RuntimeException runtimeException) ? runtimeException
+								: new SpringCliException("Action failed. " + cause.getMessage(), cause);
+					}
+				}
+				outputs.get(i).replay(this.terminalMessage);
+			}
+			if (failure != null) {
+				throw failure;
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * A unit of work in the graph.
+	 *
+	 * @param dependencies the indexes of the earlier tasks this task depends on
+	 * @param action the work, printing its messages to the given terminal message
+	 */
+	record Task(Set<Integer> dependencies, Consumer<TerminalMessage> action) {
+	}
+
+	private static final class BufferingTerminalMessage implements TerminalMessage {
+
+		private final List<Consumer<TerminalMessage>> messages = new ArrayList<>();
+
+		@Override
+		public synchronized void print(String... text) {
+			this.messages.add((terminalMessage) -> terminalMessage.print(text));
+		}
+
+		@Override
+		public synchronized void print(AttributedString... text) {
+			this.messages.add((terminalMessage) -> terminalMessage.print(text));
+		}
+
+		synchronized void replay(TerminalMessage terminalMessage) {
+			this.messages.forEach((message) -> message.accept(terminalMessage));
+		}
+
+	}
+
+}
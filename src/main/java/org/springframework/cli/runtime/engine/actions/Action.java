@@ -16,6 +16,8 @@
 
 package org.springframework.cli.runtime.engine.actions;
 
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -28,6 +30,21 @@ import org.springframework.lang.Nullable;
  */
 public class Action {
 
+	/**
+	 * Identifier other actions of the same file refer to in {@link #dependsOn}.
+	 */
+	@Nullable
+	private final String id;
+
+	/**
+	 * Identifiers of earlier actions of the same file this action depends on. Only used
+	 * when the actions of a file are executed in parallel, declaring it on an
+	 * {@code exec} action marks the command as independent of other actions, unless it
+	 * collects {@code results} into the model.
+	 */
+	@Nullable
+	private final List<String> dependsOn;
+
 	@Nullable
 	private String ifExpression;
 
@@ -70,7 +87,10 @@ public class Action {
 			@JsonProperty("inject-maven-repository") @Nullable InjectMavenRepository injectMavenRepository,
 			@JsonProperty("inject-maven-build-plugin") @Nullable InjectMavenBuildPlugin injectMavenBuildPlugin,
 			@JsonProperty("inject-properties") @Nullable InjectProperties injectProperties,
-			@JsonProperty("inject") @Nullable Inject inject) {
+			@JsonProperty("inject") @Nullable Inject inject, @JsonProperty("id") @Nullable String id,
+			@JsonProperty("depends-on") @Nullable List<String> dependsOn) {
+		this.id = id;
+		this.dependsOn = dependsOn;
 		this.ifExpression = ifExpression;
 		this.generate = generate;
 		this.exec = exec;
@@ -83,6 +103,16 @@ public class Action {
 		this.inject = inject;
 	}
 
+	@Nullable
+	public String getId() {
+		return id;
+	}
+
+	@Nullable
+	public List<String> getDependsOn() {
+		return dependsOn;
+	}
+
 	@Nullable
 	public String getIfExpression() {
 		return ifExpression;
@@ -140,11 +170,11 @@ public class Action {
 
 	@Override
 	public String toString() {
-		return "Action{" + "if='" + ifExpression + '\'' + ", generate=" + generate + ", inject=" + inject + ", exec="
-				+ exec + ", vars=" + vars + ", injectMavenDependency=" + injectMavenDependency
-				+ ", injectMavenDependencyManagement=" + injectMavenDependencyManagement + ", injectMavenRepository="
-				+ injectMavenRepository + ", injectMavenBuildPlugin=" + injectMavenBuildPlugin + ", injectProperties="
-				+ injectProperties + '}';
+		return "Action{" + "id='" + id + '\'' + ", dependsOn=" + dependsOn + ", if='" + ifExpression + '\''
+				+ ", generate=" + generate + ", inject=" + inject + ", exec=" + exec + ", vars=" + vars
+				+ ", injectMavenDependency=" + injectMavenDependency + ", injectMavenDependencyManagement="
+				+ injectMavenDependencyManagement + ", injectMavenRepository=" + injectMavenRepository
+				+ ", injectMavenBuildPlugin=" + injectMavenBuildPlugin + ", injectProperties=" + injectProperties + '}';
 	}
 
 }
@@ -40,6 +40,11 @@ import org.springframework.util.FileCopyUtils;
 
 public class ActionFileReader {
 
+	// configured once, mappers are thread safe and expensive to create
+	private static final ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
+		.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
+		.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
 	public Optional<ActionsFile> read(Path pathToFile) {
 		boolean isYamlFile = false;
 		String fileExtension = FileExtensionUtils.getExtension(pathToFile.toString());
@@ -57,9 +62,6 @@ public class ActionFileReader {
 	public ActionsFile read(Resource resource) {
 		try {
 			String actionFileString = asString(resource);
-			ObjectMapper mapper = new ObjectMapper(new YAMLFactory())
-				.setPropertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
-				.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 			return mapper.readValue(actionFileString, ActionsFile.class);
 		}
 		catch (JsonProcessingException ex) {
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache of the parsed action files of user-defined command directories. A plan is
+ * reused as long as the modification times of the command directories and of the
+ * action files are unchanged, which makes later runs skip walking the directory and
+ * parsing YAML.
+ * <p>
+ * A persistent cache also keeps the list of action files found in a directory in an
+ * index file, so that new processes only parse the action files but don't need to detect
+ * them again. User-defined commands keep that index below {@code .spring/cache} when the
+ * {@code spring.cli.action-plan-cache.persistent} property is set to {@code true}.
+ */
+public class ActionPlanCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(ActionPlanCache.class);
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ActionFileReader actionFileReader;
+
+	private final Map<Path, Plan> plans = new ConcurrentHashMap<>();
+
+	private final boolean persistent;
+
+	public ActionPlanCache() {
+		this(false);
+	}
+
+	/**
+	 * Creates a cache.
+	 * @param persistent whether commands should keep index files across processes
+	 */
+	public ActionPlanCache(boolean persistent) {
+		this(new ActionFileReader(), persistent);
+	}
+
+	public ActionPlanCache(ActionFileReader actionFileReader) {
+		this(actionFileReader, false);
+	}
+
+	public ActionPlanCache(ActionFileReader actionFileReader, boolean persistent) {
+		this.actionFileReader = actionFileReader;
+		this.persistent = persistent;
+	}
+
+	/**
+	 * Whether commands should keep the list of their action files in an index file.
+	 * @return true if index files are used
+	 */
+	public boolean isPersistent() {
+		return this.persistent;
+	}
+
+	/**
+	 * Gets the parsed action files of a command directory.
+	 * @param commandDir the command directory
+	 * @param indexFile the file keeping the list of action files across processes, may
+	 * be null
+	 * @return the parsed action files sorted by path
+	 */
+	public Map<Path, ActionsFile> getActionFiles(Path commandDir, @Nullable Path indexFile) {
+		Path key = commandDir.toAbsolutePath().normalize();
+		Plan plan = this.plans.get(key);
+		FileSystem fileSystem = key.getFileSystem();
+		if (plan != null && plan.stamps().isCurrent(fileSystem)) {
+			logger.debug("Using cached action plan for " + key);
+			return plan.actionFiles();
+		}
+		Stamps stamps = readIndex(indexFile)
+			.filter((index) -> index.isCurrent(fileSystem))
+			.orElseGet(() -> scan(key));
+		Map<Path, ActionsFile> actionFiles = new TreeMap<>();
+		for (String file : stamps.files().keySet()) {
+			Path path = fileSystem.getPath(file);
+			this.actionFileReader.read(path).ifPresent(actionsFile -> actionFiles.put(path, actionsFile));
+		}
+		// only yaml files matter for the plan, drop the other text files from the stamps
+		Map<String, Long> actionFileStamps = new LinkedHashMap<>(stamps.files());
+		actionFileStamps.keySet().retainAll(actionFiles.keySet().stream().map(Path::toString).toList());
+		Stamps planStamps = new Stamps(stamps.directories(), actionFileStamps);
+		Map<Path, ActionsFile> result = Collections.unmodifiableMap(actionFiles);
+		this.plans.put(key, new Plan(planStamps, result));
+		if (indexFile != null) {
+			writeIndex(indexFile, planStamps);
+		}
+		return result;
+	}
+
+	private static Stamps scan(Path commandDir) {
+		Map<String, Long> directories = new LinkedHashMap<>();
+		ActionFileVisitor visitor = new ActionFileVisitor() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				FileVisitResult result = super.preVisitDirectory(dir, attrs);
+				if (result == FileVisitResult.CONTINUE) {
+					directories.put(dir.toString(), attrs.lastModifiedTime().toMillis());
+				}
+				return result;
+			}
+
+		};
+		try {
+			Files.walkFileTree(commandDir, visitor);
+			Map<String, Long> files = new LinkedHashMap<>();
+			for (Path match : visitor.getMatches()) {
+				files.put(match.toString(), Files.getLastModifiedTime(match).toMillis());
+			}
+			return new Stamps(directories, files);
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Error trying to detect action files. " + ex.getMessage(), ex);
+		}
+	}
+
+	private static Optional<Stamps> readIndex(@Nullable Path indexFile) {
+		if (indexFile == null || !Files.isRegularFile(indexFile)) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(objectMapper.readValue(indexFile.toFile(), Stamps.class));
+		}
+		catch (IOException ex) {
+			logger.debug("Ignoring unreadable action plan index " + indexFile, ex);
+			return Optional.empty();
+		}
+	}
+
+	private static void writeIndex(Path indexFile, Stamps stamps) {
+		Path stagingFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp-" + UUID.randomUUID());
+		try {
+			Files.createDirectories(indexFile.getParent());
+			Files.write(stagingFile, objectMapper.writeValueAsBytes(stamps));
+			Files.move(stagingFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write action plan index " + indexFile, ex);
+		}
+		finally {
+			try {
+				Files.deleteIfExists(stagingFile);
+			}
+			catch (IOException ex) {
+				logger.warn("Could not delete path " + stagingFile, ex);
+			}
+		}
+	}
+
+	/**
+	 * Modification times of the directories and files a plan was built from.
+	 *
+	 * @param directories modification time by directory
+	 * @param files modification time by file
+	 */
+	record Stamps(Map<String, Long> directories, Map<String, Long> files) {
+
+		boolean isCurrent(FileSystem fileSystem) {
+			List<Map.Entry<String, Long>> entries = new ArrayList<>(this.directories.entrySet());
+			entries.addAll(this.files.entrySet());
+			for (Map.Entry<String, Long> entry : entries) {
+				try {
+					if (Files.getLastModifiedTime(fileSystem.getPath(entry.getKey())).toMillis() != entry.getValue()) {
+						return false;
+					}
+				}
+				catch (IOException ex) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+	private record Plan(Stamps stamps, Map<Path, ActionsFile> actionFiles) {
+	}
+
+}
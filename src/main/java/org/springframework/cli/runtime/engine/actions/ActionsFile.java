@@ -28,18 +28,30 @@ public class ActionsFile {
 
 	private final List<Action> actions;
 
+	/**
+	 * Whether independent actions may be executed concurrently, actions are executed one
+	 * after the other by default.
+	 */
+	private final boolean parallel;
+
 	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
-	ActionsFile(@JsonProperty("actions") @Nullable List<Action> actions) {
+	ActionsFile(@JsonProperty("actions") @Nullable List<Action> actions,
+			@JsonProperty("parallel") boolean parallel) {
 		this.actions = Objects.requireNonNull(actions);
+		this.parallel = parallel;
 	}
 
 	public List<Action> getActions() {
 		return actions;
 	}
 
+	public boolean isParallel() {
+		return parallel;
+	}
+
 	@Override
 	public String toString() {
-		return "ActionsFile{" + "actions=" + actions + '}';
+		return "ActionsFile{" + "actions=" + actions + ", parallel=" + parallel + '}';
 	}
 
 }
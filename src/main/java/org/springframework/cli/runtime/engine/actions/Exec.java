@@ -17,6 +17,8 @@
 package org.springframework.cli.runtime.engine.actions;
 
 import java.io.File;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -31,13 +33,17 @@ import org.springframework.lang.Nullable;
 public class Exec {
 
 	/**
-	 * If set, the relative path to which to redirect stdout of the running process.
+	 * If set, the relative path to which to redirect stdout of the running process. With
+	 * {@link #commands} or {@link #matrix}, the path must be different for each command,
+	 * e.g. by using matrix variables.
 	 */
 	@Nullable
 	private final String to;
 
 	/**
-	 * If set, the relative path to which to redirect stderr of the running process.
+	 * If set, the relative path to which to redirect stderr of the running process. With
+	 * {@link #commands} or {@link #matrix}, the path must be different for each command,
+	 * e.g. by using matrix variables.
 	 */
 	@Nullable
 	private final String errto;
@@ -65,18 +71,63 @@ public class Exec {
 
 	private final String jsonPath;
 
+	/**
+	 * If set, commands run at the same time in addition to {@link #command}.
+	 */
+	@Nullable
+	private final List<String> commands;
+
+	/**
+	 * If set, the commands run once for each combination of the values of the matrix,
+	 * which are available to the templates of the commands under the name of their
+	 * variable.
+	 */
+	@Nullable
+	private final Map<String, List<Object>> matrix;
+
+	/**
+	 * If set, the maximum number of commands of a fan-out running at the same time.
+	 */
+	@Nullable
+	private final Integer maxParallel;
+
+	/**
+	 * Whether a fan-out stops starting commands once one failed and fails the action,
+	 * instead of running all of them and reporting the failures.
+	 */
+	private final boolean failFast;
+
+	/**
+	 * If set, the name of the model variable receiving the outputs of the commands of a
+	 * fan-out, as a list in the order the commands are declared.
+	 */
+	@Nullable
+	private final String results;
+
+	public Exec(String to, String command, String commandFile, String errto, String dir, String jsonPath) {
+		this(to, command, commandFile, errto, dir, jsonPath, null, null, null, null, null);
+	}
+
 	@JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
 	public Exec(@JsonProperty("to") String to, @JsonProperty("command") String command,
 			@JsonProperty("command-file") String commandFile,
 			// TODO change to "error-to"
 			@JsonProperty("errto") String errto, @JsonProperty("dir") String dir,
-			@JsonProperty("json-path") String jsonPath) {
+			@JsonProperty("json-path") String jsonPath, @JsonProperty("commands") List<String> commands,
+			@JsonProperty("matrix") Map<String, List<Object>> matrix,
+			@JsonProperty("max-parallel") Integer maxParallel, @JsonProperty("fail-fast") Boolean failFast,
+			@JsonProperty("results") String results) {
 		this.to = to;
 		this.command = command;
 		this.commandFile = commandFile;
 		this.errto = errto;
 		this.dir = Objects.requireNonNullElse(dir, "");
 		this.jsonPath = jsonPath;
+		this.commands = commands;
+		this.matrix = matrix;
+		this.maxParallel = maxParallel;
+		this.failFast = Boolean.TRUE.equals(failFast);
+		this.results = results;
 	}
 
 	@Nullable
@@ -107,11 +158,44 @@ public class Exec {
 		return jsonPath;
 	}
 
+	@Nullable
+	public List<String> getCommands() {
+		return commands;
+	}
+
+	@Nullable
+	public Map<String, List<Object>> getMatrix() {
+		return matrix;
+	}
+
+	@Nullable
+	public Integer getMaxParallel() {
+		return maxParallel;
+	}
+
+	public boolean isFailFast() {
+		return failFast;
+	}
+
+	@Nullable
+	public String getResults() {
+		return results;
+	}
+
+	/**
+	 * Returns whether this action runs several commands at the same time.
+	 * @return whether a list of commands or a matrix is set
+	 */
+	public boolean isFanOut() {
+		return commands != null || matrix != null;
+	}
+
 	@Override
 	public String toString() {
 		return "Exec{" + "to='" + to + '\'' + ", errto='" + errto + '\'' + ", stdIn='" + stdIn + '\'' + ", command='"
 				+ command + '\'' + ", commandFile='" + commandFile + '\'' + ", dir='" + dir + '\'' + ", jsonPath='"
-				+ jsonPath + '\'' + '}';
+				+ jsonPath + '\'' + ", commands=" + commands + ", matrix=" + matrix + ", maxParallel=" + maxParallel
+				+ ", failFast=" + failFast + ", results='" + results + '\'' + '}';
 	}
 
 }
@@ -28,7 +28,6 @@ import java.util.function.Consumer;
 
 import org.jetbrains.annotations.NotNull;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.RecipeRun;
 import org.openrewrite.Result;
@@ -39,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.recipe.RecipeUtils;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.util.StringUtils;
@@ -67,7 +67,7 @@ public abstract class AbstractInjectMavenActionHandler {
 		Consumer<Throwable> onError = e -> {
 			logger.error("error in javaParser execution", e);
 		};
-		return new InMemoryExecutionContext(onError);
+		return RecipeUtils.createExecutionContext(onError);
 	}
 
 	protected String getTextToUse(String text, String actionName) {
@@ -110,8 +110,9 @@ public abstract class AbstractInjectMavenActionHandler {
 		List<Path> paths = new ArrayList<>();
 		paths.add(getPomPath());
 		MavenParser mavenParser = MavenParser.builder().build();
-		List<SourceFile> parsedPomFiles = mavenParser.parse(paths, cwd, getExecutionContext()).toList();
-		return createRecipe().run(new InMemoryLargeSourceSet(parsedPomFiles), getExecutionContext());
+		ExecutionContext executionContext = getExecutionContext();
+		List<SourceFile> parsedPomFiles = mavenParser.parse(paths, cwd, executionContext).toList();
+		return createRecipe().run(new InMemoryLargeSourceSet(parsedPomFiles), executionContext);
 	}
 
 	protected abstract Recipe createRecipe();
@@ -16,19 +16,28 @@
 
 package org.springframework.cli.runtime.engine.actions.handlers;
 
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -37,13 +46,19 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import org.jline.utils.AttributedString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliProperties;
 import org.springframework.cli.runtime.engine.actions.Exec;
 import org.springframework.cli.runtime.engine.templating.TemplateEngine;
+import org.springframework.cli.util.IoUtils;
 import org.springframework.cli.util.TerminalMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -61,6 +76,13 @@ public class ExecActionHandler {
 
 	public static final String OUTPUT_STDOUT_JSONPATH = "stdout-json-path";
 
+	/**
+	 * Name of the output holding the list of outputs of the commands of a fan-out.
+	 */
+	public static final String OUTPUT_RESULTS = "results";
+
+	private static final long OUTPUT_TIMEOUT_SECONDS = 10;
+
 	private final TemplateEngine templateEngine;
 
 	private final Map<String, Object> model;
@@ -69,15 +91,27 @@ public class ExecActionHandler {
 
 	private final TerminalMessage terminalMessage;
 
+	private final SpringCliProperties.Exec properties;
+
 	public ExecActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path dynamicSubCommandPath,
 			TerminalMessage terminalMessage) {
+		this(templateEngine, model, dynamicSubCommandPath, terminalMessage, new SpringCliProperties.Exec());
+	}
+
+	public ExecActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path dynamicSubCommandPath,
+			TerminalMessage terminalMessage, SpringCliProperties.Exec properties) {
 		this.templateEngine = templateEngine;
 		this.model = model;
 		this.dynamicSubCommandPath = dynamicSubCommandPath;
 		this.terminalMessage = terminalMessage;
+		this.properties = properties;
 	}
 
 	public void executeShellCommand(Exec exec, Map<String, Object> outputs) {
+		if (exec.isFanOut()) {
+			executeFanOut(exec, outputs);
+			return;
+		}
 		if (!StringUtils.hasText(exec.getCommand()) && !StringUtils.hasText(exec.getCommandFile())) {
 			throw new SpringCliException("No text found for command: or command-file: field in exec action.");
 		}
@@ -106,9 +140,13 @@ public class ExecActionHandler {
 		String[] commands = { "bash", "-c", commandToUse };
 
 		ProcessBuilder processBuilder = new ProcessBuilder(commands);
+		// the daemon runs commands with the environment of its client
+		Map<String, String> environment = processBuilder.environment();
+		environment.clear();
+		environment.putAll(IoUtils.getEnvironment());
 		try {
 			String dir = templateEngine.process(exec.getDir(), model);
-			processBuilder.directory(new File(dir).getCanonicalFile());
+			processBuilder.directory(IoUtils.getWorkingDirectory().resolve(dir).toFile().getCanonicalFile());
 		}
 		catch (Exception ex) {
 			throw new SpringCliException("Error evaluating exec working directory. Expression: " + exec.getDir(), ex);
@@ -119,7 +157,7 @@ public class ExecActionHandler {
 		if (exec.getTo() != null) {
 			try {
 				String execGetTo = templateEngine.process(exec.getTo(), model);
-				processBuilder.redirectOutput(new File(execGetTo));
+				processBuilder.redirectOutput(IoUtils.getWorkingDirectory().resolve(execGetTo).toFile());
 			}
 			catch (Exception ex) {
 				throw new SpringCliException("Error evaluating exec destination file. Expression: " + exec.getTo(), ex);
@@ -131,7 +169,7 @@ public class ExecActionHandler {
 		if (exec.getErrto() != null) {
 			try {
 				String execErroTo = templateEngine.process(exec.getErrto(), model);
-				processBuilder.redirectError(new File(execErroTo));
+				processBuilder.redirectError(IoUtils.getWorkingDirectory().resolve(execErroTo).toFile());
 			}
 			catch (Exception ex) {
 				throw new SpringCliException("Error evaluating exec error file. Expression: " + exec.getErrto(), ex);
@@ -141,44 +179,54 @@ public class ExecActionHandler {
 		try {
 			terminalMessage.print("Executing: " + StringUtils.arrayToDelimitedString(commands, " "));
 			Process process = processBuilder.start();
-			// capture the output.
-			Optional<String> stderr = Optional.empty();
-			Optional<String> stdout = Optional.empty();
+			// drain both streams at the same time, a process filling one pipe while the
+			// other one is read would block
+			long maxCapturedLength = getMaxCapturedLength();
+			Consumer<String> listener = (this.properties.isStreamOutput()) ? this::printLine : null;
+			ProcessOutputCapture stdout = null;
+			ProcessOutputCapture stderr = null;
 			if (exec.getTo() == null) {
-				stdout = readStringFromInputStream(process.getInputStream());
+				stdout = ProcessOutputCapture.start(process.getInputStream(), OUTPUT_STDOUT, maxCapturedLength,
+						listener);
 			}
 			if (exec.getErrto() == null) {
-				stderr = readStringFromInputStream(process.getErrorStream());
+				stderr = ProcessOutputCapture.start(process.getErrorStream(), OUTPUT_STDERR, maxCapturedLength,
+						listener);
 			}
 
 			boolean exited = process.waitFor(300, TimeUnit.SECONDS);
+			if (!exited) {
+				process.destroyForcibly();
+				throw new SpringCliException("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
+						+ "' did not complete within 300 seconds");
+			}
 			outputs.put(OUTPUT_EXIT_VALUE, process.exitValue());
 
-			if (exec.getTo() == null && stdout.isPresent()) {
-				outputs.put(OUTPUT_STDOUT, stdout.get());
+			if (stdout != null) {
+				awaitOutput(stdout);
+				outputs.put(OUTPUT_STDOUT, stdout.getOutput());
 			}
-			if (exec.getErrto() == null && stderr.isPresent()) {
-				outputs.put(OUTPUT_STDERR, stderr.get());
+			if (stderr != null) {
+				awaitOutput(stderr);
+				outputs.put(OUTPUT_STDERR, stderr.getOutput());
 			}
 
 			// Logging success or failure to terminal and optionally process stdout with
 			// JSON Path
-			if (exited) {
-				if (process.exitValue() == 0) {
-					terminalMessage.print("Command executed successfully");
-					if (exec.getJsonPath() != null) {
-						Optional<Object> jsonPathOutput = applyJsonPath(exec, stdout);
-						if (jsonPathOutput.isPresent()) {
-							outputs.put(OUTPUT_STDOUT_JSONPATH, jsonPathOutput.get());
-						}
+			if (process.exitValue() == 0) {
+				terminalMessage.print("Command executed successfully");
+				if (exec.getJsonPath() != null) {
+					Optional<Object> jsonPathOutput = applyJsonPath(exec, stdout);
+					if (jsonPathOutput.isPresent()) {
+						outputs.put(OUTPUT_STDOUT_JSONPATH, jsonPathOutput.get());
 					}
 				}
-				else {
-					terminalMessage.print("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
-							+ "' exited with value " + process.exitValue());
-					if (stderr.isPresent()) {
-						terminalMessage.print("stderr = " + stderr.get());
-					}
+			}
+			else {
+				terminalMessage.print("Command '" + StringUtils.arrayToDelimitedString(commands, " ")
+						+ "' exited with value " + process.exitValue());
+				if (stderr != null && listener == null) {
+					terminalMessage.print("stderr = " + stderr.getOutput());
 				}
 			}
 		}
@@ -194,17 +242,213 @@ public class ExecActionHandler {
 		}
 	}
 
-	private Optional<Object> applyJsonPath(Exec exec, Optional<String> stdout) {
-		if (stdout.isPresent()) {
+	/**
+	 * Runs each command of the action once for each combination of its matrix, at most
+	 * {@code max-parallel} at the same time. The outputs of each command, together with
+	 * its matrix values, are collected in declaration order under {@link #OUTPUT_RESULTS}
+	 * and in the model variable named by the action, if any. Commands redirecting their
+	 * output with {@code to} or {@code errto} must each use a different file, e.g. by
+	 * using matrix variables in the file names.
+	 */
+	private void executeFanOut(Exec exec, Map<String, Object> outputs) {
+		List<Job> jobs = getJobs(exec);
+		checkRedirects(exec, jobs);
+		int maxParallel;
+		if (exec.getMaxParallel() != null) {
+			maxParallel = exec.getMaxParallel();
+			if (maxParallel < 1) {
+				throw new SpringCliException("The max-parallel: field of an exec action must be at least 1.");
+			}
+		}
+		else {
+			maxParallel = getDefaultMaxParallel();
+		}
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("exec-fan-out-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallel, jobs.size()), threadFactory);
+		AtomicBoolean failed = new AtomicBoolean();
+		List<Map<String, Object>> results = new ArrayList<>(jobs.size());
+		List<String> failures = new ArrayList<>();
+		int skipped = 0;
+		try {
+			List<Future<Map<String, Object>>> futures = new ArrayList<>(jobs.size());
+			for (Job job : jobs) {
+				futures.add(executor.submit(() -> executeJob(job, exec.isFailFast(), failed)));
+			}
+			for (int i = 0; i < jobs.size(); i++) {
+				Job job = jobs.get(i);
+				Map<String, Object> result;
+				try {
+					result = futures.get(i).get();
+				}
+				catch (ExecutionException ex) {
+					failures.add("[" + job.label() + "] " + ex.getCause().getMessage());
+					results.add(new LinkedHashMap<>(job.variables()));
+					continue;
+				}
+				if (result == null) {
+					// not started after an earlier failure
+					skipped++;
+					result = new LinkedHashMap<>(job.variables());
+				}
+				else if (!Integer.valueOf(0).equals(result.get(OUTPUT_EXIT_VALUE))) {
+					failures.add("[" + job.label() + "] exited with value " + result.get(OUTPUT_EXIT_VALUE));
+				}
+				results.add(result);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SpringCliException("Execution of commands interrupted", ex);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		outputs.put(OUTPUT_RESULTS, results);
+		if (exec.getResults() != null) {
+			this.model.put(exec.getResults(), results);
+		}
+		if (failures.isEmpty()) {
+			this.terminalMessage.print("All " + jobs.size() + " commands executed successfully");
+			return;
+		}
+		String message = failures.size() + " of " + jobs.size() + " commands failed"
+				+ ((skipped > 0) ? ", " + skipped + " not started" : "") + ": " + String.join(", ", failures);
+		if (exec.isFailFast()) {
+			throw new SpringCliException(message);
+		}
+		this.terminalMessage.print(message);
+	}
+
+	@Nullable
+	private Map<String, Object> executeJob(Job job, boolean failFast, AtomicBoolean failed) {
+		if (failFast && failed.get()) {
+			return null;
+		}
+		Map<String, Object> jobOutputs = new LinkedHashMap<>(job.variables());
+		ExecActionHandler handler = new ExecActionHandler(this.templateEngine,
+				new OverlayModel(this.model, job.variables()), this.dynamicSubCommandPath,
+				new PrefixingTerminalMessage(this.terminalMessage, "[" + job.label() + "] "), this.properties);
+		try {
+			handler.executeShellCommand(job.exec(), jobOutputs);
+		}
+		catch (RuntimeException ex) {
+			failed.set(true);
+			throw ex;
+		}
+		if (!Integer.valueOf(0).equals(jobOutputs.get(OUTPUT_EXIT_VALUE))) {
+			failed.set(true);
+		}
+		return jobOutputs;
+	}
+
+	private static List<Job> getJobs(Exec exec) {
+		List<Exec> commands = new ArrayList<>();
+		if (StringUtils.hasText(exec.getCommand()) || StringUtils.hasText(exec.getCommandFile())) {
+			commands.add(new Exec(exec.getTo(), exec.getCommand(), exec.getCommandFile(), exec.getErrto(),
+					exec.getDir(), exec.getJsonPath()));
+		}
+		if (exec.getCommands() != null) {
+			for (String command : exec.getCommands()) {
+				commands.add(new Exec(exec.getTo(), command, null, exec.getErrto(), exec.getDir(), exec.getJsonPath()));
+			}
+		}
+		if (commands.isEmpty()) {
+			throw new SpringCliException(
+					"No text found for command:, command-file: or commands: field in exec action.");
+		}
+		if (exec.getMatrix() != null) {
+			for (Entry<String, List<Object>> variable : exec.getMatrix().entrySet()) {
+				if (CollectionUtils.isEmpty(variable.getValue())) {
+					throw new SpringCliException(
+							"The matrix: variable '" + variable.getKey() + "' of an exec action has no values.");
+				}
+			}
+		}
+		List<Map<String, Object>> combinations = getCombinations(exec.getMatrix());
+		List<Job> jobs = new ArrayList<>();
+		for (Map<String, Object> variables : combinations) {
+			for (Exec command : commands) {
+				String label = String.valueOf(jobs.size() + 1);
+				if (!variables.isEmpty()) {
+					label += " " + StringUtils.collectionToDelimitedString(variables.values(), ",");
+				}
+				jobs.add(new Job(label, variables, command));
+			}
+		}
+		return jobs;
+	}
+
+	private static List<Map<String, Object>> getCombinations(@Nullable Map<String, List<Object>> matrix) {
+		List<Map<String, Object>> combinations = new ArrayList<>();
+		combinations.add(new LinkedHashMap<>());
+		if (matrix == null) {
+			return combinations;
+		}
+		for (Entry<String, List<Object>> variable : matrix.entrySet()) {
+			List<Map<String, Object>> expanded = new ArrayList<>();
+			for (Map<String, Object> combination : combinations) {
+				for (Object value : variable.getValue()) {
+					Map<String, Object> next = new LinkedHashMap<>(combination);
+					next.put(variable.getKey(), value);
+					expanded.add(next);
+				}
+			}
+			combinations = expanded;
+		}
+		return combinations;
+	}
+
+	private void checkRedirects(Exec exec, List<Job> jobs) {
+		Set<Path> redirects = new HashSet<>();
+		for (Job job : jobs) {
+			Map<String, Object> jobModel = new OverlayModel(this.model, job.variables());
+			for (String redirect : Arrays.asList(exec.getTo(), exec.getErrto())) {
+				if (redirect == null) {
+					continue;
+				}
+				Path path = IoUtils.getWorkingDirectory()
+					.resolve(this.templateEngine.process(redirect, jobModel))
+					.toAbsolutePath()
+					.normalize();
+				if (!redirects.add(path)) {
+					throw new SpringCliException("The to: and errto: fields of an exec action with commands: or "
+							+ "matrix: must name a different file for each command, e.g. using matrix variables. '"
+							+ redirect + "' names " + path + " more than once.");
+				}
+			}
+		}
+	}
+
+	private int getDefaultMaxParallel() {
+		Integer maxParallel = this.properties.getMaxParallel();
+		if (maxParallel == null) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		if (maxParallel < 1) {
+			throw new SpringCliException(
+					"The 'spring.cli.exec.max-parallel' property must be at least 1, was " + maxParallel);
+		}
+		return maxParallel;
+	}
+
+	private Optional<Object> applyJsonPath(Exec exec, @Nullable ProcessOutputCapture stdout) {
+		if (stdout != null) {
+			if (stdout.isTruncated()) {
+				throw new SpringCliException("Can not apply JSON path '" + exec.getJsonPath()
+						+ "', the output of the command exceeded " + getMaxCapturedLength()
+						+ " characters. Set the 'spring.cli.exec.max-captured-length' property to capture more.");
+			}
 			ObjectMapper mapper = new ObjectMapper();
 			mapper.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
 			mapper.registerModule(new JavaTimeModule());
+			// parsed from the captured lines, without joining them into a single string
 			Object data = JsonPath
 				.using(Configuration.builder()
 					.jsonProvider(new JacksonJsonProvider(mapper))
 					.mappingProvider(new JacksonMappingProvider(mapper))
 					.build())
-				.parse(stdout.get())
+				.parse(stdout.getInputStream())
 				.read(exec.getJsonPath());
 			if (data != null) {
 				return Optional.of(data);
@@ -213,15 +457,104 @@ public class ExecActionHandler {
 		return Optional.empty();
 	}
 
-	private Optional<String> readStringFromInputStream(InputStream input) {
-		final String newline = System.getProperty("line.separator");
-		try (BufferedReader buffer = new BufferedReader(new InputStreamReader(input))) {
-			return Optional.of(buffer.lines().collect(Collectors.joining(newline)));
+	private void printLine(String line) {
+		// lines of stdout and stderr arrive on different threads
+		synchronized (this.terminalMessage) {
+			this.terminalMessage.print(line);
 		}
-		catch (IOException ex) {
-			logger.error("Could not read command output: " + ex.getMessage());
+	}
+
+	private static void awaitOutput(ProcessOutputCapture capture) throws InterruptedException {
+		// a process started in the background may keep the stream open after the command
+		// exited
+		if (!capture.await(OUTPUT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+			logger.warn("Output of command still open " + OUTPUT_TIMEOUT_SECONDS
+					+ " seconds after it exited, using the output captured so far");
 		}
-		return Optional.empty();
+	}
+
+	private long getMaxCapturedLength() {
+		long maxCapturedLength = this.properties.getMaxCapturedLength();
+		if (maxCapturedLength < 1) {
+			throw new SpringCliException(
+					"The 'spring.cli.exec.max-captured-length' property must be at least 1, was " + maxCapturedLength);
+		}
+		return maxCapturedLength;
+	}
+
+	/**
+	 * A command of a fan-out.
+	 *
+	 * @param label the label of the command in messages
+	 * @param variables the matrix values of the command
+	 * @param exec the command
+	 */
+	private record Job(String label, Map<String, Object> variables, Exec exec) {
+	}
+
+	/**
+	 * Model exposing the matrix values of a command on top of the model of the action.
+	 */
+	private static final class OverlayModel extends AbstractMap<String, Object> {
+
+		private final Map<String, Object> model;
+
+		private final Map<String, Object> variables;
+
+		OverlayModel(Map<String, Object> model, Map<String, Object> variables) {
+			this.model = model;
+			this.variables = variables;
+		}
+
+		@Override
+		public Object get(Object key) {
+			return (this.variables.containsKey(key)) ? this.variables.get(key) : this.model.get(key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.variables.containsKey(key) || this.model.containsKey(key);
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			Map<String, Object> merged = new HashMap<>(this.model);
+			merged.putAll(this.variables);
+			return merged.entrySet();
+		}
+
+	}
+
+	/**
+	 * Prints the messages of a command of a fan-out with its label.
+	 */
+	private static final class PrefixingTerminalMessage implements TerminalMessage {
+
+		private final TerminalMessage terminalMessage;
+
+		private final String prefix;
+
+		PrefixingTerminalMessage(TerminalMessage terminalMessage, String prefix) {
+			this.terminalMessage = terminalMessage;
+			this.prefix = prefix;
+		}
+
+		@Override
+		public void print(String... text) {
+			String[] prefixed = Arrays.stream(text).map((line) -> this.prefix + line).toArray(String[]::new);
+			// commands of a fan-out print at the same time
+			synchronized (this.terminalMessage) {
+				this.terminalMessage.print(prefixed);
+			}
+		}
+
+		@Override
+		public void print(AttributedString... text) {
+			synchronized (this.terminalMessage) {
+				this.terminalMessage.print(text);
+			}
+		}
+
 	}
 
 }
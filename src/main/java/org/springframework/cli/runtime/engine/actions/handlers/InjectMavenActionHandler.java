@@ -24,7 +24,6 @@ import java.util.Map;
 
 import org.openrewrite.Recipe;
 import org.openrewrite.config.DeclarativeRecipe;
-import org.openrewrite.maven.MavenParser;
 
 import org.springframework.cli.recipe.AddDependencyRecipeFactory;
 import org.springframework.cli.recipe.AddManagedDependencyRecipeFactory;
@@ -40,75 +39,72 @@ import org.springframework.cli.util.MavenDependencyReader;
 import org.springframework.cli.util.MavenRepositoryReader;
 import org.springframework.cli.util.TerminalMessage;
 
+/**
+ * Updates a pom with several maven inject actions in a single pass. The changes are
+ * applied in the order they were added, e.g. a dependency management section added
+ * before a dependency provides the version of that dependency.
+ */
 public class InjectMavenActionHandler extends AbstractInjectMavenActionHandler {
 
-	private List<InjectMavenDependency> dependencies;
-
-	private List<InjectMavenBuildPlugin> buildPlugins;
-
-	private List<InjectMavenRepository> repositories;
-
-	private List<InjectMavenDependencyManagement> dependencyManagements;
+	private final List<Object> injections;
 
 	public InjectMavenActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path cwd,
 			TerminalMessage terminalMessage) {
 		super(templateEngine, model, cwd, terminalMessage);
-		this.dependencies = new ArrayList<>();
-		this.buildPlugins = new ArrayList<>();
-		this.repositories = new ArrayList<>();
-		this.dependencyManagements = new ArrayList<>();
+		this.injections = new ArrayList<>();
 	}
 
 	public boolean injectBuildPlugin(InjectMavenBuildPlugin buildPlugin) {
-		return buildPlugins.add(buildPlugin);
+		return injections.add(buildPlugin);
 	}
 
 	public boolean injectDependency(InjectMavenDependency dependency) {
-		return dependencies.add(dependency);
+		return injections.add(dependency);
 	}
 
 	public boolean injectRepository(InjectMavenRepository repository) {
-		return repositories.add(repository);
+		return injections.add(repository);
 	}
 
 	public boolean injectDependencyManagement(InjectMavenDependencyManagement dependencyManagement) {
-		return dependencyManagements.add(dependencyManagement);
+		return injections.add(dependencyManagement);
 	}
 
 	protected Recipe createRecipe() {
 		DeclarativeRecipe aggregateRecipe = new DeclarativeRecipe("spring.cli.ai.MavenUpdates",
 				"Add Pom changes from AI", "", Collections.emptySet(), null, null, false, Collections.emptyList());
-		MavenParser mavenParser = MavenParser.builder().build();
-		for (InjectMavenDependency d : dependencies) {
-			String text = getTextToUse(d.getText(), "Inject Maven Dependency");
-			MavenDependencyReader mavenDependencyReader = new MavenDependencyReader();
-			String[] mavenDependencies = mavenDependencyReader.parseMavenSection(text);
-			for (String md : mavenDependencies) {
-				aggregateRecipe.getRecipeList().add(new AddDependencyRecipeFactory().create(md));
+		for (Object injection : injections) {
+			if (injection instanceof InjectMavenDependency d) {
+				String text = getTextToUse(d.getText(), "Inject Maven Dependency");
+				MavenDependencyReader mavenDependencyReader = new MavenDependencyReader();
+				String[] mavenDependencies = mavenDependencyReader.parseMavenSection(text);
+				for (String md : mavenDependencies) {
+					aggregateRecipe.getRecipeList().add(new AddDependencyRecipeFactory().create(md));
+				}
 			}
-		}
-		for (InjectMavenBuildPlugin p : buildPlugins) {
-			String text = getTextToUse(p.getText(), "Inject Maven Build Plugin");
-			MavenBuildPluginReader mavenBuildPluginReader = new MavenBuildPluginReader();
-			String[] buildPlugins = mavenBuildPluginReader.parseMavenSection(text);
-			for (String mp : buildPlugins) {
-				aggregateRecipe.getRecipeList().add(new AddPluginRecipeFactory().create(mp));
+			else if (injection instanceof InjectMavenBuildPlugin p) {
+				String text = getTextToUse(p.getText(), "Inject Maven Build Plugin");
+				MavenBuildPluginReader mavenBuildPluginReader = new MavenBuildPluginReader();
+				String[] buildPlugins = mavenBuildPluginReader.parseMavenSection(text);
+				for (String mp : buildPlugins) {
+					aggregateRecipe.getRecipeList().add(new AddPluginRecipeFactory().create(mp));
+				}
 			}
-		}
-		for (InjectMavenRepository r : repositories) {
-			String text = getTextToUse(r.getText(), "Inject Maven Repository");
-			MavenRepositoryReader mavenRepositoryReader = new MavenRepositoryReader();
-			String[] mavenRepositories = mavenRepositoryReader.parseMavenSection(text);
-			for (String mr : mavenRepositories) {
-				aggregateRecipe.getRecipeList().add(new InjectTextMavenRepositoryRecipe(mr));
+			else if (injection instanceof InjectMavenRepository r) {
+				String text = getTextToUse(r.getText(), "Inject Maven Repository");
+				MavenRepositoryReader mavenRepositoryReader = new MavenRepositoryReader();
+				String[] mavenRepositories = mavenRepositoryReader.parseMavenSection(text);
+				for (String mr : mavenRepositories) {
+					aggregateRecipe.getRecipeList().add(new InjectTextMavenRepositoryRecipe(mr));
+				}
 			}
-		}
-		for (InjectMavenDependencyManagement dm : dependencyManagements) {
-			String text = getTextToUse(dm.getText(), "Inject Maven Dependency Management");
-			MavenDependencyReader mavenDependencyReader = new MavenDependencyReader();
-			String[] mavenDependencyManagements = mavenDependencyReader.parseMavenSection(text);
-			for (String mdm : mavenDependencyManagements) {
-				aggregateRecipe.getRecipeList().add(new AddManagedDependencyRecipeFactory().create(mdm));
+			else if (injection instanceof InjectMavenDependencyManagement dm) {
+				String text = getTextToUse(dm.getText(), "Inject Maven Dependency Management");
+				MavenDependencyReader mavenDependencyReader = new MavenDependencyReader();
+				String[] mavenDependencyManagements = mavenDependencyReader.parseMavenSection(text);
+				for (String mdm : mavenDependencyManagements) {
+					aggregateRecipe.getRecipeList().add(new AddManagedDependencyRecipeFactory().create(mdm));
+				}
 			}
 		}
 		return aggregateRecipe;
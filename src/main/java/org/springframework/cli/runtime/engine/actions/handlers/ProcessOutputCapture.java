@@ -0,0 +1,203 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions.handlers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Drains an output stream of a process on its own thread, so that a process writing a lot
+ * to one stream never blocks because the other one is not read. Lines are handed to an
+ * optional listener as they arrive and the most recent ones are kept up to a maximum
+ * number of characters. A single line longer than that maximum is cut, so that output
+ * without line breaks cannot exhaust the memory either.
+ */
+class ProcessOutputCapture {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProcessOutputCapture.class);
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final String name;
+
+	private final long maxCapturedLength;
+
+	@Nullable
+	private final Consumer<String> listener;
+
+	private final Deque<String> lines = new ArrayDeque<>();
+
+	private final Thread thread;
+
+	private long capturedLength;
+
+	private boolean truncated;
+
+	private ProcessOutputCapture(InputStream input, String name, long maxCapturedLength,
+			@Nullable Consumer<String> listener) {
+		this.name = name;
+		this.maxCapturedLength = maxCapturedLength;
+		this.listener = listener;
+		this.thread = new Thread(() -> drain(input), "exec-" + name);
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts draining a stream.
+	 * @param input the stream of the process
+	 * @param name the name of the stream
+	 * @param maxCapturedLength the maximum number of characters to keep, older lines are
+	 * dropped once exceeded and longer lines are cut
+	 * @param listener called with each line as it is read, may be null
+	 * @return the started capture
+	 */
+	static ProcessOutputCapture start(InputStream input, String name, long maxCapturedLength,
+			@Nullable Consumer<String> listener) {
+		ProcessOutputCapture capture = new ProcessOutputCapture(input, name, maxCapturedLength, listener);
+		capture.thread.start();
+		return capture;
+	}
+
+	private void drain(InputStream input) {
+		int maxLineLength = (int) Math.min(this.maxCapturedLength, Integer.MAX_VALUE - 8);
+		StringBuilder line = new StringBuilder();
+		boolean lineCut = false;
+		boolean carriageReturn = false;
+		try (Reader reader = new InputStreamReader(input)) {
+			char[] buffer = new char[BUFFER_SIZE];
+			int read;
+			while ((read = reader.read(buffer)) != -1) {
+				for (int i = 0; i < read; i++) {
+					char c = buffer[i];
+					if (c == '\n' && carriageReturn) {
+						// the line already ended with the preceding carriage return
+						carriageReturn = false;
+					}
+					else if (c == '\n' || c == '\r') {
+						endLine(line, lineCut);
+						line.setLength(0);
+						lineCut = false;
+						carriageReturn = (c == '\r');
+					}
+					else {
+						carriageReturn = false;
+						if (line.length() < maxLineLength) {
+							line.append(c);
+						}
+						else {
+							lineCut = true;
+						}
+					}
+				}
+			}
+			if (line.length() > 0 || lineCut) {
+				endLine(line, lineCut);
+			}
+		}
+		catch (IOException ex) {
+			logger.error("Could not read command " + this.name + ": " + ex.getMessage());
+		}
+	}
+
+	private void endLine(StringBuilder builder, boolean cut) {
+		String line = builder.toString();
+		if (this.listener != null) {
+			this.listener.accept(line);
+		}
+		add(line, cut);
+	}
+
+	private synchronized void add(String line, boolean cut) {
+		this.lines.addLast(line);
+		this.capturedLength += line.length() + 1;
+		this.truncated |= cut;
+		while (this.capturedLength > this.maxCapturedLength && this.lines.size() > 1) {
+			this.capturedLength -= this.lines.removeFirst().length() + 1;
+			this.truncated = true;
+		}
+	}
+
+	/**
+	 * Waits for the end of the stream, which is reached once the process and any process
+	 * it started which inherited the stream exited.
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return whether the end of the stream was reached
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+		this.thread.join(unit.toMillis(timeout));
+		return !this.thread.isAlive();
+	}
+
+	/**
+	 * Returns whether older lines were dropped or a line was cut to stay below the
+	 * maximum length.
+	 * @return whether the captured output is truncated
+	 */
+	synchronized boolean isTruncated() {
+		return this.truncated;
+	}
+
+	/**
+	 * Returns the captured lines, joined with the line separator of the platform.
+	 * @return the captured output
+	 */
+	synchronized String getOutput() {
+		return String.join(System.lineSeparator(), this.lines);
+	}
+
+	/**
+	 * Returns a stream reading the captured lines one at a time, so that a parser can
+	 * consume the output without first copying it into a single string.
+	 * @return a stream of the captured output encoded as UTF-8
+	 */
+	synchronized InputStream getInputStream() {
+		Iterator<String> iterator = List.copyOf(this.lines).iterator();
+		return new SequenceInputStream(new Enumeration<>() {
+
+			@Override
+			public boolean hasMoreElements() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public InputStream nextElement() {
+				return new ByteArrayInputStream((iterator.next() + "\n").getBytes(StandardCharsets.UTF_8));
+			}
+
+		});
+	}
+
+}
@@ -28,6 +28,7 @@ import org.jline.terminal.Terminal;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
 import org.springframework.cli.runtime.engine.actions.Options;
 import org.springframework.cli.runtime.engine.actions.Question;
 import org.springframework.cli.runtime.engine.actions.Vars;
@@ -35,6 +36,7 @@ import org.springframework.cli.runtime.engine.templating.TemplateEngine;
 import org.springframework.cli.util.JavaUtils;
 import org.springframework.cli.util.TerminalMessage;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.lang.Nullable;
 import org.springframework.shell.component.context.ComponentContext;
 import org.springframework.shell.component.flow.ComponentFlow;
 import org.springframework.shell.component.flow.ComponentFlow.Builder;
@@ -65,8 +67,29 @@ public class VarsActionHandler {
 
 	private final Terminal terminal;
 
+	@Nullable
+	private final RoleVariables roleVariables;
+
 	public VarsActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path cwd,
 			Path dynamicSubCommandPath, TerminalMessage terminalMessage, Terminal terminal) {
+		this(templateEngine, model, cwd, dynamicSubCommandPath, terminalMessage, terminal, null);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param templateEngine the template engine
+	 * @param model the model
+	 * @param cwd the working directory
+	 * @param dynamicSubCommandPath the directory of the command
+	 * @param terminalMessage the terminal message
+	 * @param terminal the terminal asking questions
+	 * @param roleVariables the variables of the default role to update, the role file is
+	 * updated right away for each variable if null
+	 */
+	public VarsActionHandler(TemplateEngine templateEngine, Map<String, Object> model, Path cwd,
+			Path dynamicSubCommandPath, TerminalMessage terminalMessage, Terminal terminal,
+			@Nullable RoleVariables roleVariables) {
+		this.roleVariables = roleVariables;
 		this.templateEngine = templateEngine;
 		this.model = model;
 		this.cwd = cwd;
@@ -97,8 +120,16 @@ public class VarsActionHandler {
 			String keyToUse = templateEngine.process(objectEntry.getKey().toString(), model);
 			Object valueToUse = JavaUtils.inferType(templateEngine.process(objectEntry.getValue().toString(), model));
 			// TODO store in default role "" for now
-			String roleName = "";
-			roleService.updateRole(roleName, keyToUse, valueToUse);
+			updateDefaultRole(roleService, keyToUse, valueToUse);
+		}
+	}
+
+	private void updateDefaultRole(RoleService roleService, String name, Object value) {
+		if (this.roleVariables != null) {
+			this.roleVariables.put(name, value);
+		}
+		else {
+			roleService.updateRole("", name, value);
 		}
 	}
 
@@ -181,7 +212,7 @@ public class VarsActionHandler {
 
 		RoleService roleService = new RoleService();
 		// store in default role "" for now
-		roleService.updateRole("", question.getName(), JavaUtils.inferType(object));
+		updateDefaultRole(roleService, question.getName(), JavaUtils.inferType(object));
 
 	}
 
@@ -227,7 +258,7 @@ public class VarsActionHandler {
 			Object object = resultContext.get(question.getName());
 			// store in default role for now
 			RoleService roleService = new RoleService();
-			roleService.updateRole("", question.getName(), JavaUtils.inferType(object));
+			updateDefaultRole(roleService, question.getName(), JavaUtils.inferType(object));
 		}
 	}
 
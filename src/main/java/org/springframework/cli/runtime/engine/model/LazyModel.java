@@ -0,0 +1,168 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Model which runs a {@link ModelPopulator} on the first lookup of one of its
+ * {@link ModelPopulator#getModelKeys() keys}, so that the work of populators whose
+ * values are never used is skipped. Populators not declaring their keys run right away.
+ * <p>
+ * The values contributed by a populator take precedence over the values the model had
+ * when it was created the same way as if the populator ran upfront, values put into the
+ * model later are never replaced. Iterating over the model runs all pending populators
+ * and iterates over a snapshot, as actions running in parallel may update the model at
+ * the same time.
+ */
+public class LazyModel extends AbstractMap<String, Object> {
+
+	private static final Logger logger = LoggerFactory.getLogger(LazyModel.class);
+
+	private final Map<String, Object> model;
+
+	private final Path rootDirectory;
+
+	private final Map<String, Object> initialValues;
+
+	private final Map<String, ModelPopulator> pendingPopulators = new LinkedHashMap<>();
+
+	private final Set<String> updatedKeys = new HashSet<>();
+
+	private final List<String> populated = new ArrayList<>();
+
+	/**
+	 * Create a new instance.
+	 * @param model the model to add the values to
+	 * @param rootDirectory the directory passed to the populators
+	 * @param modelPopulators the populators contributing values
+	 */
+	public LazyModel(Map<String, Object> model, Path rootDirectory, Iterable<ModelPopulator> modelPopulators) {
+		this.model = model;
+		this.rootDirectory = rootDirectory;
+		this.initialValues = new HashMap<>(model);
+		for (ModelPopulator modelPopulator : modelPopulators) {
+			Set<String> keys = modelPopulator.getModelKeys();
+			if (keys.isEmpty()) {
+				populate(modelPopulator);
+			}
+			for (String key : keys) {
+				this.pendingPopulators.putIfAbsent(key, modelPopulator);
+			}
+		}
+	}
+
+	@Override
+	public synchronized Object get(Object key) {
+		populate(key);
+		return this.model.get(key);
+	}
+
+	@Override
+	public synchronized boolean containsKey(Object key) {
+		populate(key);
+		return this.model.containsKey(key);
+	}
+
+	@Override
+	public synchronized Object put(String key, Object value) {
+		this.updatedKeys.add(key);
+		return this.model.put(key, value);
+	}
+
+	@Override
+	public synchronized Object remove(Object key) {
+		if (key instanceof String name) {
+			this.updatedKeys.add(name);
+		}
+		return this.model.remove(key);
+	}
+
+	@Override
+	public synchronized void clear() {
+		this.updatedKeys.addAll(this.model.keySet());
+		this.model.clear();
+	}
+
+	@Override
+	public synchronized int size() {
+		populateAll();
+		return this.model.size();
+	}
+
+	@Override
+	public synchronized Set<Entry<String, Object>> entrySet() {
+		populateAll();
+		return new LinkedHashMap<>(this.model).entrySet();
+	}
+
+	/**
+	 * Returns the names of the populators which ran so far, in the order they ran.
+	 * @return the names of the populators
+	 */
+	public synchronized List<String> getPopulated() {
+		return List.copyOf(this.populated);
+	}
+
+	private void populateAll() {
+		List.copyOf(this.pendingPopulators.values()).forEach(this::populate);
+	}
+
+	private void populate(Object key) {
+		ModelPopulator modelPopulator = this.pendingPopulators.get(key);
+		if (modelPopulator != null) {
+			populate(modelPopulator);
+		}
+	}
+
+	private void populate(ModelPopulator modelPopulator) {
+		String name = modelPopulator.getClass().getName();
+		logger.debug("Running model populator " + name);
+		this.populated.add(name);
+		if (modelPopulator.getModelKeys().isEmpty()) {
+			modelPopulator.contributeToModel(this.rootDirectory, this.model);
+			return;
+		}
+		this.pendingPopulators.values().removeIf((pending) -> pending == modelPopulator);
+		// the populator sees the initial values of its keys, so that 'put' and
+		// 'putIfAbsent' behave as if it ran upfront
+		Map<String, Object> values = new HashMap<>();
+		for (String key : modelPopulator.getModelKeys()) {
+			if (this.initialValues.containsKey(key)) {
+				values.put(key, this.initialValues.get(key));
+			}
+		}
+		modelPopulator.contributeToModel(this.rootDirectory, values);
+		values.forEach((key, value) -> {
+			if (!this.updatedKeys.contains(key)) {
+				this.model.put(key, value);
+			}
+		});
+	}
+
+}
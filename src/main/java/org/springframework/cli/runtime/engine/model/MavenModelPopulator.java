@@ -22,6 +22,7 @@ import java.nio.file.Paths;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
 
 import org.apache.maven.model.Model;
 
@@ -46,6 +47,9 @@ public class MavenModelPopulator implements ModelPopulator {
 
 	public static final String JAVA_VERSION = "java-version";
 
+	private static final Set<String> MODEL_KEYS = Set.of(MAVEN_MODEL, ARTIFACT_ID, ARTIFACT_VERSION, ARTIFACT_PATH,
+			MAVEN_PROPERTIES, PROJECT_NAME, PROJECT_DESCRIPTION, JAVA_VERSION);
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
 		Path pomFile = rootDirectory.resolve("pom.xml");
@@ -74,6 +78,11 @@ public class MavenModelPopulator implements ModelPopulator {
 		}
 	}
 
+	@Override
+	public Set<String> getModelKeys() {
+		return MODEL_KEYS;
+	}
+
 	private String getArtifactPath(Path pomFile, Model mavenModel) {
 		Path artifactPath = Paths.get(pomFile.getParent().toString(), "target",
 				mavenModel.getArtifactId() + "-" + mavenModel.getVersion() + "." + mavenModel.getPackaging());
@@ -17,7 +17,9 @@
 package org.springframework.cli.runtime.engine.model;
 
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implemented by components that may contribute values to the Model used by the template
@@ -30,4 +32,14 @@ public interface ModelPopulator {
 
 	void contributeToModel(Path rootDirectory, Map<String, Object> model);
 
+	/**
+	 * Returns the keys contributed to the model, which lets a {@link LazyModel} only run
+	 * this populator once one of them is looked up.
+	 * @return the keys contributed to the model, or an empty set if they are not known
+	 * upfront, in which case the populator always runs
+	 */
+	default Set<String> getModelKeys() {
+		return Collections.emptySet();
+	}
+
 }
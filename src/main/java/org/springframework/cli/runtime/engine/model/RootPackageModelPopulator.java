@@ -20,19 +20,29 @@ import java.io.File;
 import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.cli.util.RootPackageFinder;
 
 public class RootPackageModelPopulator implements ModelPopulator {
 
+	public static final String ROOT_PACKAGE = "root-package";
+
+	public static final String ROOT_PACKAGE_DIR = "root-package-dir";
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
 		Optional<String> rootPackage = RootPackageFinder.findRootPackage(rootDirectory.toFile());
 		if (rootPackage.isPresent()) {
 			String packageDir = rootPackage.get().replace('.', File.separatorChar);
-			model.put("root-package", rootPackage.get());
-			model.put("root-package-dir", packageDir);
+			model.put(ROOT_PACKAGE, rootPackage.get());
+			model.put(ROOT_PACKAGE_DIR, packageDir);
 		}
 	}
 
+	@Override
+	public Set<String> getModelKeys() {
+		return Set.of(ROOT_PACKAGE, ROOT_PACKAGE_DIR);
+	}
+
 }
@@ -19,6 +19,7 @@ package org.springframework.cli.runtime.engine.model;
 import java.nio.file.Path;
 import java.util.Date;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
@@ -31,6 +32,9 @@ import org.springframework.core.env.StandardEnvironment;
  */
 public class SystemModelPopulator implements ModelPopulator {
 
+	private static final Set<String> MODEL_KEYS = Set.of("now", "system-properties", "system-environment", "tmp-dir",
+			"file-separator", "os-name", "user-name");
+
 	@Override
 	public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
 		// Common model variables
@@ -44,4 +48,9 @@ public class SystemModelPopulator implements ModelPopulator {
 		model.put("user-name", environment.getSystemProperties().get("user.name"));
 	}
 
+	@Override
+	public Set<String> getModelKeys() {
+		return MODEL_KEYS;
+	}
+
 }
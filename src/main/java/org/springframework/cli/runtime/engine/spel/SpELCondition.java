@@ -16,20 +16,54 @@
 
 package org.springframework.cli.runtime.engine.spel;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+/**
+ * Boolean condition expressed in SpEL, used for the {@code if} of actions. Parsed
+ * expressions are cached, and an evaluation context may be created once and reused for
+ * all conditions of a command run.
+ * <p>
+ * Expressions are parsed with the given {@link SpelParserConfiguration}, so that its
+ * compiler mode, e.g. {@code MIXED}, can compile frequently evaluated conditions to
+ * bytecode.
+ */
 public class SpELCondition {
 
-	private final ExpressionParser parser = new SpelExpressionParser();
+	private static final int MAX_CACHED_EXPRESSIONS = 512;
+
+	private static final Map<SpelCompilerMode, SpelParserConfiguration> parserConfigurations = new EnumMap<>(
+			SpelCompilerMode.class);
+
+	static {
+		for (SpelCompilerMode compilerMode : SpelCompilerMode.values()) {
+			parserConfigurations.put(compilerMode,
+					new SpelParserConfiguration(compilerMode, SpELCondition.class.getClassLoader()));
+		}
+	}
+
+	private static final Map<ExpressionKey, Expression> expressions = Collections
+		.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ExpressionKey, Expression> eldest) {
+				return size() > MAX_CACHED_EXPRESSIONS;
+			}
+
+		});
 
 	private BeanResolver beanResolver;
 
@@ -37,10 +71,16 @@ public class SpELCondition {
 
 	private ParserContext parserContext;
 
+	private SpelParserConfiguration parserConfiguration;
+
 	public SpELCondition(String expression) {
 		this(expression, ParserContext.TEMPLATE_EXPRESSION);
 	}
 
+	public SpELCondition(String expression, SpelParserConfiguration parserConfiguration) {
+		this(expression, ParserContext.TEMPLATE_EXPRESSION, null, parserConfiguration);
+	}
+
 	public SpELCondition(String expression, BeanResolver beanResolver) {
 		this(expression, ParserContext.TEMPLATE_EXPRESSION, beanResolver);
 	}
@@ -50,20 +90,54 @@ public class SpELCondition {
 	}
 
 	public SpELCondition(String expression, ParserContext parserContext, BeanResolver beanResolver) {
+		this(expression, parserContext, beanResolver, parserConfiguration(SpelCompilerMode.OFF));
+	}
+
+	public SpELCondition(String expression, ParserContext parserContext, BeanResolver beanResolver,
+			SpelParserConfiguration parserConfiguration) {
 		this.expression = expression;
 		this.parserContext = parserContext;
 		this.beanResolver = beanResolver;
+		this.parserConfiguration = parserConfiguration;
 	}
 
-	public boolean evaluate(Map<String, Object> model) {
-		StandardEvaluationContext context = new StandardEvaluationContext();
-		context.setRootObject(model);
-		context.setVariables(model);
+	/**
+	 * Returns the parser configuration of conditions using a compiler mode. There is a
+	 * single instance per mode, so that parsed expressions are cached by configuration.
+	 * @param compilerMode the compiler mode
+	 * @return the parser configuration
+	 */
+	public static SpelParserConfiguration parserConfiguration(SpelCompilerMode compilerMode) {
+		return parserConfigurations.get(compilerMode);
+	}
 
+	/**
+	 * Creates an evaluation context exposing a model as root object and as variables.
+	 * Variables are looked up in the model on each access, so the context stays valid
+	 * while the model is updated and can be reused for all conditions of a command run.
+	 * @param model the model
+	 * @param beanResolver the bean resolver, may be null
+	 * @return the evaluation context
+	 */
+	public static EvaluationContext createEvaluationContext(Map<String, Object> model, BeanResolver beanResolver) {
+		StandardEvaluationContext context = new ModelEvaluationContext(model);
 		if (beanResolver != null) {
 			context.setBeanResolver(beanResolver);
 		}
-		Expression compiledExpression = parser.parseExpression(this.expression, this.parserContext);
+		return context;
+	}
+
+	public boolean evaluate(Map<String, Object> model) {
+		return evaluate(createEvaluationContext(model, this.beanResolver));
+	}
+
+	/**
+	 * Evaluates the condition in an existing context.
+	 * @param context the context, see {@link #createEvaluationContext(Map, BeanResolver)}
+	 * @return the result of the condition
+	 */
+	public boolean evaluate(EvaluationContext context) {
+		Expression compiledExpression = getExpression();
 		Object expressionValue = compiledExpression.getValue(context, Object.class);
 		if (Objects.isNull(expressionValue)) {
 			throw new SpringCliException(
@@ -80,4 +154,41 @@ public class SpELCondition {
 		}
 	}
 
+	Expression getExpression() {
+		// parser contexts don't implement equals, key on what defines them instead
+		String text = (this.parserContext != null) ? this.parserContext.isTemplate() + ":"
+				+ this.parserContext.getExpressionPrefix() + ":" + this.parserContext.getExpressionSuffix() + ":"
+				+ this.expression : this.expression;
+		// parser configurations don't either, there is one instance per compiler mode
+		ExpressionKey key = new ExpressionKey(this.parserConfiguration, text);
+		Expression cached = expressions.get(key);
+		if (cached == null) {
+			cached = new SpelExpressionParser(this.parserConfiguration).parseExpression(this.expression,
+					this.parserContext);
+			expressions.put(key, cached);
+		}
+		return cached;
+	}
+
+	private record ExpressionKey(SpelParserConfiguration parserConfiguration, String text) {
+
+	}
+
+	private static final class ModelEvaluationContext extends StandardEvaluationContext {
+
+		private final Map<String, Object> model;
+
+		ModelEvaluationContext(Map<String, Object> model) {
+			super(model);
+			this.model = model;
+		}
+
+		@Override
+		public Object lookupVariable(String name) {
+			Object value = super.lookupVariable(name);
+			return (value != null) ? value : this.model.get(name);
+		}
+
+	}
+
 }
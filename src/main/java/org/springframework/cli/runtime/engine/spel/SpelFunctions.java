@@ -22,8 +22,10 @@ import java.util.Map;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.roles.RoleVariables;
 import org.springframework.cli.runtime.engine.actions.Exec;
 import org.springframework.cli.runtime.engine.actions.handlers.ExecActionHandler;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
 public class SpelFunctions {
@@ -32,9 +34,24 @@ public class SpelFunctions {
 
 	private final Path cwd;
 
+	@Nullable
+	private final RoleVariables roleVariables;
+
 	public SpelFunctions(ExecActionHandler execActionHandler, Path cwd) {
+		this(execActionHandler, cwd, null);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param execActionHandler the handler running commands
+	 * @param cwd the working directory
+	 * @param roleVariables the variables of the default role, read from the role file on
+	 * each check if null
+	 */
+	public SpelFunctions(ExecActionHandler execActionHandler, Path cwd, @Nullable RoleVariables roleVariables) {
 		this.execActionHandler = execActionHandler;
 		this.cwd = cwd;
+		this.roleVariables = roleVariables;
 	}
 
 	public String run(String input) {
@@ -55,15 +72,15 @@ public class SpelFunctions {
 		if (!StringUtils.hasText(name)) {
 			return false;
 		}
-		RoleService roleService = new RoleService(cwd);
 		// TODO load from default role for now, later a list of roles
-		Map<String, Object> varMap;
-		if (roles.length == 0) {
-			varMap = roleService.loadAsMap("");
-		}
-		else {
+		if (roles.length != 0) {
 			throw new SpringCliException("Roles not yet supported in SpelFunctions");
 		}
+		if (this.roleVariables != null) {
+			return !this.roleVariables.containsKey(name);
+		}
+		RoleService roleService = new RoleService(cwd);
+		Map<String, Object> varMap = roleService.loadAsMap("");
 		return varMap != null && !varMap.containsKey(name);
 	}
 
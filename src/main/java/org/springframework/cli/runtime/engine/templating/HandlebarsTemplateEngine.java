@@ -17,8 +17,11 @@
 package org.springframework.cli.runtime.engine.templating;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
@@ -29,36 +32,97 @@ import com.github.jknack.handlebars.helper.StringHelpers;
 import org.springframework.util.StringUtils;
 
 /**
+ * {@link TemplateEngine} based on Handlebars. Compiled templates are kept in a bounded
+ * cache keyed by the template text, so that templates used for many files or actions
+ * are compiled only once.
+ *
  * @author Mark Pollack
  */
 public class HandlebarsTemplateEngine implements TemplateEngine {
 
+	/**
+	 * Default maximum number of cached compiled templates.
+	 */
+	public static final int DEFAULT_MAX_TEMPLATES = 256;
+
 	private Handlebars handlebars;
 
+	private final Map<String, Template> templates;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
 	public HandlebarsTemplateEngine() {
+		this(DEFAULT_MAX_TEMPLATES);
+	}
+
+	/**
+	 * Creates a template engine.
+	 * @param maxTemplates the maximum number of cached compiled templates, the least
+	 * recently used one is evicted when exceeded
+	 */
+	public HandlebarsTemplateEngine(int maxTemplates) {
 		this.handlebars = new Handlebars();
 		HumanizeHelper.register(this.handlebars);
 		StringHelpers.register(this.handlebars);
+		this.templates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+				return size() > maxTemplates;
+			}
+
+		});
 	}
 
 	@Override
 	public String process(String templateText, Map context) {
+		if (!StringUtils.hasText(templateText)) {
+			return "";
+		}
 		try {
-			Template template = this.handlebars.compileInline(templateText);
+			Template template = compile(templateText);
 			if (context == null) {
 				context = new HashMap();
 			}
 			Context handlebarsContext = Context.newBuilder(context).build();
-			if (StringUtils.hasText(templateText)) {
-				return template.apply(handlebarsContext);
-			}
-			else {
-				return "";
-			}
+			return template.apply(handlebarsContext);
 		}
 		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
+	/**
+	 * Gets a snapshot of the compiled template cache statistics.
+	 * @return the statistics
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(this.hits.sum(), this.misses.sum(), this.templates.size());
+	}
+
+	private Template compile(String templateText) throws IOException {
+		Template template = this.templates.get(templateText);
+		if (template != null) {
+			this.hits.increment();
+			return template;
+		}
+		this.misses.increment();
+		// compiled outside of the lock, a template compiled twice concurrently is harmless
+		template = this.handlebars.compileInline(templateText);
+		this.templates.put(templateText, template);
+		return template;
+	}
+
+	/**
+	 * Compiled template cache statistics.
+	 *
+	 * @param hits the number of templates served from the cache
+	 * @param misses the number of templates compiled
+	 * @param templates the number of currently cached templates
+	 */
+	public record Statistics(long hits, long misses, int templates) {
+	}
+
 }
@@ -99,7 +99,11 @@ public class UserConfig<T> {
 		this.pathProvider = pathProvider;
 	}
 
-	private Path getConfigDir() {
+	/**
+	 * Gets the directory where this config file is stored.
+	 * @return the config directory
+	 */
+	public Path getConfigDir() {
 		Path path;
 		if (StringUtils.hasText(System.getenv(configDirEnv))) {
 			path = pathProvider.apply(System.getenv(configDirEnv));
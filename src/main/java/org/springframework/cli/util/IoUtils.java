@@ -23,12 +23,14 @@ import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StreamUtils;
 import org.springframework.util.StringUtils;
 
@@ -40,6 +42,12 @@ public abstract class IoUtils {
 
 	private static final Logger logger = LoggerFactory.getLogger(IoUtils.class);
 
+	@Nullable
+	private static volatile Path workingDirectory;
+
+	@Nullable
+	private static volatile Map<String, String> environment;
+
 	public static void createDirectory(Path directory) {
 		if (!Files.exists(directory)) {
 			// TODO remove File usage
@@ -51,7 +59,37 @@ public abstract class IoUtils {
 	}
 
 	public static Path getWorkingDirectory() {
-		return Path.of("").toAbsolutePath();
+		Path directory = workingDirectory;
+		return (directory != null) ? directory : Path.of("").toAbsolutePath();
+	}
+
+	/**
+	 * Sets the directory returned by {@link #getWorkingDirectory()} in place of the
+	 * working directory of the process, used while a command runs on behalf of another
+	 * process.
+	 * @param directory the working directory, or null to use the one of the process
+	 */
+	public static void setWorkingDirectory(@Nullable Path directory) {
+		workingDirectory = (directory != null) ? directory.toAbsolutePath() : null;
+	}
+
+	/**
+	 * Returns the environment variables for the processes started by commands, those of
+	 * this process unless {@link #setEnvironment(Map) set}.
+	 * @return the environment variables
+	 */
+	public static Map<String, String> getEnvironment() {
+		Map<String, String> variables = environment;
+		return (variables != null) ? variables : System.getenv();
+	}
+
+	/**
+	 * Sets the environment returned by {@link #getEnvironment()} in place of the one of
+	 * this process, used while a command runs on behalf of another process.
+	 * @param variables the environment variables, or null to use the ones of the process
+	 */
+	public static void setEnvironment(@Nullable Map<String, String> variables) {
+		environment = (variables != null) ? Map.copyOf(variables) : null;
 	}
 
 	public static boolean inProjectRootDirectory(Path path) {
@@ -59,10 +97,16 @@ public abstract class IoUtils {
 		return Files.exists(pomFile);
 	}
 
+	/**
+	 * Returns the path of a project given on the command line, relative paths are
+	 * resolved against {@link #getWorkingDirectory()}.
+	 * @param path the path, may be empty
+	 * @return the resolved path or null if no path was given
+	 */
 	public static Path getProjectPath(String path) {
 		Path resolved = null;
 		if (StringUtils.hasText(path)) {
-			resolved = Path.of(path);
+			resolved = getWorkingDirectory().resolve(path);
 		}
 		return resolved;
 	}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalogIndex;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalogIndexEntry;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectRepositories;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectRepository;
+import org.springframework.cli.git.SourceRepositoryService;
+import org.springframework.cli.support.configfile.YamlConfigFile;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Reads the projects listed in installed project catalogs. All catalogs are fetched
+ * concurrently on a bounded pool and each one has its own timeout, so a slow or
+ * unreachable catalog only drops its own entries from the result.
+ * <p>
+ * When given a {@link SpringCliUserConfig}, catalog contents are kept in a local index.
+ * Entries younger than the index TTL are used without touching the network, older
+ * entries are revalidated by comparing the commit the catalog repository currently
+ * points to and only downloaded again if it changed.
+ */
+public class ProjectCatalogReader {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjectCatalogReader.class);
+
+	/**
+	 * Default time to wait for a single catalog.
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * Name of the file listing the projects of a catalog.
+	 */
+	public static final String PROJECT_CATALOG_FILE_NAME = "project-catalog.yml";
+
+	private static final int MAX_CONCURRENCY = 8;
+
+	private final SourceRepositoryService sourceRepositoryService;
+
+	@Nullable
+	private final SpringCliUserConfig springCliUserConfig;
+
+	private final Duration timeout;
+
+	public ProjectCatalogReader(SourceRepositoryService sourceRepositoryService,
+			@Nullable SpringCliUserConfig springCliUserConfig) {
+		this(sourceRepositoryService, springCliUserConfig, DEFAULT_TIMEOUT);
+	}
+
+	/**
+	 * Creates a catalog reader.
+	 * @param sourceRepositoryService the repo service
+	 * @param springCliUserConfig the user config holding the catalog index, if
+	 * {@code null} catalogs are always fetched
+	 * @param timeout time to wait for a single catalog
+	 */
+	public ProjectCatalogReader(SourceRepositoryService sourceRepositoryService,
+			@Nullable SpringCliUserConfig springCliUserConfig, Duration timeout) {
+		Assert.notNull(sourceRepositoryService, "sourceRepositoryService must be set");
+		Assert.notNull(timeout, "timeout must be set");
+		this.sourceRepositoryService = sourceRepositoryService;
+		this.springCliUserConfig = springCliUserConfig;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Reads the given catalogs.
+	 * @param projectCatalogs the installed catalogs to read
+	 * @param refresh whether to bypass the index and locally cached catalog contents
+	 * @return the contents of each catalog in the order the catalogs were given
+	 */
+	public List<CatalogContents> read(List<ProjectCatalog> projectCatalogs, boolean refresh) {
+		if (projectCatalogs == null || projectCatalogs.isEmpty()) {
+			return List.of();
+		}
+		ProjectCatalogIndex index = (this.springCliUserConfig != null)
+				? this.springCliUserConfig.getProjectCatalogIndex() : null;
+		long now = System.currentTimeMillis();
+		CatalogContents[] contents = new CatalogContents[projectCatalogs.size()];
+		List<Integer> toFetch = new ArrayList<>();
+		for (int i = 0; i < projectCatalogs.size(); i++) {
+			ProjectCatalog projectCatalog = projectCatalogs.get(i);
+			ProjectCatalogIndexEntry entry = (index != null) ? index.getEntries().get(projectCatalog.getUrl()) : null;
+			if (!refresh && entry != null && now - entry.getFetchedAt() < index.getTtlSeconds() * 1000) {
+				logger.debug("Using indexed contents of project catalog " + projectCatalog.getUrl());
+				contents[i] = new CatalogContents(projectCatalog, entry.getProjectRepositories(), null);
+			}
+			else {
+				toFetch.add(i);
+			}
+		}
+		if (toFetch.isEmpty()) {
+			return Arrays.asList(contents);
+		}
+
+		int concurrency = Math.min(toFetch.size(), MAX_CONCURRENCY);
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("project-catalog-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency, threadFactory);
+		try {
+			List<CompletableFuture<ProjectCatalogIndexEntry>> futures = new ArrayList<>();
+			for (int i : toFetch) {
+				ProjectCatalog projectCatalog = projectCatalogs.get(i);
+				ProjectCatalogIndexEntry previous = (index != null) ? index.getEntries().get(projectCatalog.getUrl())
+						: null;
+				futures.add(CompletableFuture.supplyAsync(() -> fetchCatalog(projectCatalog, previous, refresh),
+						executor));
+			}
+			// catalogs beyond the pool size queue up, give each wave of them a full timeout
+			int waves = (toFetch.size() + concurrency - 1) / concurrency;
+			long deadline = System.nanoTime() + this.timeout.toNanos() * waves;
+			boolean indexChanged = false;
+			for (int j = 0; j < toFetch.size(); j++) {
+				int i = toFetch.get(j);
+				ProjectCatalog projectCatalog = projectCatalogs.get(i);
+				Fetched fetched = await(projectCatalog, futures.get(j), deadline);
+				if (fetched.entry() != null) {
+					contents[i] = new CatalogContents(projectCatalog, fetched.entry().getProjectRepositories(), null);
+					if (index != null) {
+						index.getEntries().put(projectCatalog.getUrl(), fetched.entry());
+						indexChanged = true;
+					}
+				}
+				else if (index != null && index.getEntries().containsKey(projectCatalog.getUrl())) {
+					// better to show somewhat stale contents than nothing when offline
+					logger.warn("Using stale index for project catalog " + projectCatalog.getUrl() + ": "
+							+ fetched.error());
+					contents[i] = new CatalogContents(projectCatalog,
+							index.getEntries().get(projectCatalog.getUrl()).getProjectRepositories(), null);
+				}
+				else {
+					contents[i] = new CatalogContents(projectCatalog, List.of(), fetched.error());
+				}
+			}
+			if (indexChanged) {
+				writeIndex(index, projectCatalogs);
+			}
+			return Arrays.asList(contents);
+		}
+		finally {
+			// let abandoned fetches finish in the background so they clean up after
+			// themselves, the daemon threads don't keep the cli from exiting
+			executor.shutdown();
+		}
+	}
+
+	private void writeIndex(ProjectCatalogIndex index, List<ProjectCatalog> projectCatalogs) {
+		// drop entries of catalogs which are no longer installed
+		Set<String> urls = projectCatalogs.stream().map(ProjectCatalog::getUrl).collect(Collectors.toSet());
+		index.getEntries().keySet().retainAll(urls);
+		try {
+			this.springCliUserConfig.setProjectCatalogIndex(index);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Could not write project catalog index", ex);
+		}
+	}
+
+	private Fetched await(ProjectCatalog projectCatalog, CompletableFuture<ProjectCatalogIndexEntry> future,
+			long deadline) {
+		try {
+			long remaining = Math.max(0, deadline - System.nanoTime());
+			return new Fetched(future.get(remaining, TimeUnit.NANOSECONDS), null);
+		}
+		catch (TimeoutException ex) {
+			future.cancel(false);
+			logger.warn("Timed out reading project catalog " + projectCatalog.getUrl());
+			return new Fetched(null, "timed out after " + this.timeout.toSeconds() + "s");
+		}
+		catch (ExecutionException ex) {
+			logger.warn("Failed reading project catalog " + projectCatalog.getUrl(), ex.getCause());
+			return new Fetched(null, ex.getCause().getMessage());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return new Fetched(null, "interrupted");
+		}
+	}
+
+	private ProjectCatalogIndexEntry fetchCatalog(ProjectCatalog projectCatalog,
+			@Nullable ProjectCatalogIndexEntry previous, boolean refresh) {
+		String url = projectCatalog.getUrl();
+		String commitSha = (this.springCliUserConfig != null) ? this.sourceRepositoryService.resolveCommitSha(url)
+				: null;
+		if (!refresh && previous != null && commitSha != null && commitSha.equals(previous.getCommitSha())) {
+			logger.debug("Project catalog " + url + " unchanged at commit " + commitSha);
+			return new ProjectCatalogIndexEntry(commitSha, System.currentTimeMillis(),
+					previous.getProjectRepositories());
+		}
+		return new ProjectCatalogIndexEntry(commitSha, System.currentTimeMillis(), readCatalog(url, refresh));
+	}
+
+	private List<ProjectRepository> readCatalog(String url, boolean refresh) {
+		Path path = this.sourceRepositoryService.retrieveRepositoryContents(url, refresh);
+		try {
+			YamlConfigFile yamlConfigFile = new YamlConfigFile();
+			List<ProjectRepository> projectRepositories = yamlConfigFile
+				.read(Paths.get(path.toString(), PROJECT_CATALOG_FILE_NAME), ProjectRepositories.class)
+				.getProjectRepositories();
+			return (projectRepositories != null) ? projectRepositories : List.of();
+		}
+		finally {
+			// clean up temp files
+			try {
+				FileSystemUtils.deleteRecursively(path);
+			}
+			catch (IOException ex) {
+				logger.warn("Could not delete path " + path, ex);
+			}
+		}
+	}
+
+	private record Fetched(@Nullable ProjectCatalogIndexEntry entry, @Nullable String error) {
+	}
+
+	/**
+	 * Projects read from a single catalog.
+	 *
+	 * @param catalog the catalog
+	 * @param projectRepositories the projects listed in the catalog, empty if reading
+	 * failed
+	 * @param error description of why reading the catalog failed, null on success
+	 */
+	public record CatalogContents(ProjectCatalog catalog, List<ProjectRepository> projectRepositories,
+			@Nullable String error) {
+
+		public boolean isFailed() {
+			return this.error != null;
+		}
+
+	}
+
+}
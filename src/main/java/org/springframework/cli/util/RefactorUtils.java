@@ -17,6 +17,7 @@
 package org.springframework.cli.util;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.cli.recipe.RecipeUtils;
 
 public final class RefactorUtils {
 
@@ -43,7 +45,6 @@ public final class RefactorUtils {
 	private static final Logger logger = LoggerFactory.getLogger(RefactorUtils.class);
 
 	public static void refactorPackage(String newPackage, String oldPackage, Path workingPath) {
-		JavaParser javaParser = new Java17Parser.Builder().build();
 		FileTypeCollectingFileVisitor collector = new FileTypeCollectingFileVisitor(".java");
 		try {
 			Files.walkFileTree(workingPath, collector);
@@ -51,11 +52,19 @@ public final class RefactorUtils {
 		catch (IOException ex) {
 			throw new SpringCliException("Failed reading files in " + workingPath, ex);
 		}
+		List<Path> matches = findFilesContaining(collector.getMatches(), oldPackage);
+		logger.debug("Refactoring " + matches.size() + " of " + collector.getMatches().size()
+				+ " java files referencing package " + oldPackage);
+		if (matches.isEmpty()) {
+			return;
+		}
 		Consumer<Throwable> onError = e -> {
 			logger.error("error in javaParser execution", e);
 		};
-		InMemoryExecutionContext executionContext = new InMemoryExecutionContext(onError);
-		List<Path> matches = collector.getMatches();
+		InMemoryExecutionContext executionContext = RecipeUtils.createExecutionContext(onError);
+		// a single parser so that types are attributed across all matching files, only
+		// the prefilter above runs in parallel
+		JavaParser javaParser = new Java17Parser.Builder().build();
 		List<SourceFile> compilationUnits = javaParser.parse(matches, null, executionContext).toList();
 		ResultsExecutor container = new ResultsExecutor();
 
@@ -73,4 +82,22 @@ public final class RefactorUtils {
 		// TODO change groupId and artifactId
 	}
 
+	/**
+	 * Finds the files which contain the given package name anywhere in their content.
+	 * Any file declaring, importing or fully qualifying a type of the package or one of
+	 * its sub packages contains its name, so all other files can be left alone.
+	 */
+	static List<Path> findFilesContaining(List<Path> paths, String packageName) {
+		// compare raw bytes, decoding as latin-1 maps each byte to exactly one char
+		String needle = new String(packageName.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+		return paths.parallelStream().filter(path -> {
+			try {
+				return new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1).contains(needle);
+			}
+			catch (IOException ex) {
+				throw new SpringCliException("Failed reading file " + path, ex);
+			}
+		}).toList();
+	}
+
 }
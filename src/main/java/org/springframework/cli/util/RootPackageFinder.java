@@ -16,85 +16,201 @@
 
 package org.springframework.cli.util;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.tools.ant.DirectoryScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.SpringCliException;
+import org.springframework.lang.Nullable;
 
+/**
+ * Finds the class annotated with {@code @SpringBootApplication} in a project. The
+ * conventional {@code src/main/java} directory is scanned before the rest of the tree
+ * and scanning stops at the first match. Results are cached per directory and reused
+ * as long as the modification times they were derived from are unchanged.
+ */
 public final class RootPackageFinder {
 
 	private static final Logger logger = LoggerFactory.getLogger(RootPackageFinder.class);
 
+	private static final String SPRING_BOOT_APPLICATION = "@SpringBootApplication";
+
+	private static final Path MAIN_SOURCES = Path.of("src", "main", "java");
+
+	/**
+	 * Upper bound of characters read per file. Class annotations come before the class
+	 * body, so any real application class has the annotation well within this limit.
+	 */
+	private static final int MAX_CHARS_PER_FILE = 256 * 1024;
+
+	private static final Map<Path, CachedResult> cache = new ConcurrentHashMap<>();
+
 	private RootPackageFinder() {
 	}
 
 	public static Optional<String> findRootPackage(File baseDirectory) {
-		String[] fileNames = getFileNames(baseDirectory);
-
-		for (String fileName : fileNames) {
-			logger.debug("Looking for @SpringBootApplication in file = " + fileName);
-			try {
-				File fileToTest = new File(baseDirectory, fileName);
-				List<String> lines = Files.lines(fileToTest.toPath())
-					.filter(line -> line.contains("@SpringBootApplication"))
-					.collect(Collectors.toList());
-				if (lines.isEmpty()) {
-					continue;
-				}
-				else {
-					return Optional.of(extractRootPackageName(new File(fileName)));
+		return findSpringBootApplication(baseDirectory).map(path -> extractRootPackageName(path.toFile()));
+	}
+
+	public static Optional<File> findSpringBootApplicationFile(File baseDirectory) {
+		return findSpringBootApplication(baseDirectory).map(path -> new File(baseDirectory, path.toString()));
+	}
+
+	/**
+	 * Finds the {@code @SpringBootApplication} class.
+	 * @return the path of the class relative to the base directory
+	 */
+	private static Optional<Path> findSpringBootApplication(File baseDirectory) {
+		Path basePath = baseDirectory.toPath().toAbsolutePath().normalize();
+		CachedResult cached = cache.get(basePath);
+		if (cached != null && cached.isValid(basePath)) {
+			logger.debug("Using cached @SpringBootApplication lookup for " + basePath);
+			return Optional.ofNullable(cached.path());
+		}
+		CachedResult result = scan(basePath);
+		cache.put(basePath, result);
+		return Optional.ofNullable(result.path());
+	}
+
+	private static CachedResult scan(Path basePath) {
+		Path mainSources = basePath.resolve(MAIN_SOURCES);
+		Scanner scanner = new Scanner(basePath);
+		if (Files.isDirectory(mainSources)) {
+			walk(mainSources, scanner);
+			scanner.skip = mainSources;
+		}
+		if (scanner.match == null) {
+			walk(basePath, scanner);
+		}
+		if (scanner.match != null) {
+			Path relative = basePath.relativize(scanner.match);
+			return new CachedResult(relative, Map.of(relative, scanner.matchTime));
+		}
+		// nothing found, any added or removed file shows up in a directory time
+		return new CachedResult(null, scanner.directoryTimes);
+	}
+
+	private static void walk(Path start, Scanner scanner) {
+		try {
+			Files.walkFileTree(start, scanner);
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Exception reading " + start + " " + ex.getMessage(), ex);
+		}
+	}
+
+	private static boolean containsSpringBootApplication(Path file) {
+		logger.debug("Looking for @SpringBootApplication in file = " + file);
+		// latin-1 never fails to decode and the annotation is plain ascii
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+			int read = 0;
+			String line;
+			while (read < MAX_CHARS_PER_FILE && (line = reader.readLine()) != null) {
+				if (line.contains(SPRING_BOOT_APPLICATION)) {
+					return true;
 				}
+				read += line.length() + 1;
 			}
-			catch (IOException ex) {
-				throw new SpringCliException("Exception reading " + fileName + " " + ex.getMessage(), ex);
+			return false;
+		}
+		catch (IOException ex) {
+			throw new SpringCliException("Exception reading " + file + " " + ex.getMessage(), ex);
+		}
+	}
 
-			}
+	@Nullable
+	private static FileTime lastModifiedTime(Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		}
+		catch (IOException ex) {
+			return null;
 		}
-		return Optional.empty();
 	}
 
-	public static Optional<File> findSpringBootApplicationFile(File baseDirectory) {
-		String[] fileNames = getFileNames(baseDirectory);
-		for (String fileName : fileNames) {
-			logger.debug("Looking for @SpringBootApplication in file = " + fileName);
-			try {
-				File fileToTest = new File(baseDirectory, fileName);
-				List<String> lines = Files.lines(fileToTest.toPath())
-					.filter(line -> line.contains("@SpringBootApplication"))
-					.collect(Collectors.toList());
-				if (lines.isEmpty()) {
-					continue;
-				}
-				else {
-					return Optional.of(new File(baseDirectory, fileName));
-				}
+	private static final class Scanner extends SimpleFileVisitor<Path> {
+
+		private final Path basePath;
+
+		private final Map<Path, FileTime> directoryTimes = new HashMap<>();
+
+		@Nullable
+		private Path skip;
+
+		@Nullable
+		private Path match;
+
+		@Nullable
+		private FileTime matchTime;
+
+		private Scanner(Path basePath) {
+			this.basePath = basePath;
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+			if (dir.equals(this.skip)) {
+				return FileVisitResult.SKIP_SUBTREE;
 			}
-			catch (IOException ex) {
-				ex.printStackTrace();
-				throw new SpringCliException("Exception reading " + fileName + " " + ex.getMessage(), ex);
+			if (!dir.equals(this.basePath) && dir.getFileName().toString().startsWith(".")) {
+				return FileVisitResult.SKIP_SUBTREE;
+			}
+			this.directoryTimes.put(this.basePath.relativize(dir), attrs.lastModifiedTime());
+			return FileVisitResult.CONTINUE;
+		}
 
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+			if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".java")
+					&& containsSpringBootApplication(file)) {
+				this.match = file;
+				this.matchTime = attrs.lastModifiedTime();
+				return FileVisitResult.TERMINATE;
 			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException ex) {
+			logger.debug("Could not read " + file, ex);
+			return FileVisitResult.CONTINUE;
 		}
-		return Optional.empty();
+
 	}
 
-	private static String[] getFileNames(File baseDirectory) {
-		DirectoryScanner ds = new DirectoryScanner();
-		String[] includes = { "**\\*.java" };
-		ds.setBasedir(baseDirectory);
-		ds.setIncludes(includes);
-		ds.scan();
-		String[] fileNames = ds.getIncludedFiles();
-		return fileNames;
+	/**
+	 * Result of a lookup together with the modification times it depends on.
+	 *
+	 * @param path the matching file relative to the base directory, null if none
+	 * @param modificationTimes modification times of paths relative to the base
+	 * directory at the time of the lookup
+	 */
+	private record CachedResult(@Nullable Path path, Map<Path, FileTime> modificationTimes) {
+
+		boolean isValid(Path basePath) {
+			for (Map.Entry<Path, FileTime> entry : this.modificationTimes.entrySet()) {
+				FileTime current = lastModifiedTime(basePath.resolve(entry.getKey()));
+				if (current == null || !current.equals(entry.getValue())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 	}
 
 	public static String extractRootPackageName(File file) {
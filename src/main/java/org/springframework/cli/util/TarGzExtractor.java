@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Extracts gzip compressed tar archives entry by entry as bytes are read from the
+ * source stream, so memory use stays bounded regardless of the archive size.
+ */
+public final class TarGzExtractor {
+
+	private static final Logger logger = LoggerFactory.getLogger(TarGzExtractor.class);
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+	private TarGzExtractor() {
+	}
+
+	/**
+	 * Extracts a tar.gz stream into a directory. The stream is consumed but not closed.
+	 * @param inputStream the gzip compressed tar stream
+	 * @param targetDir the directory to extract into
+	 * @return the number of files extracted
+	 * @throws IOException if reading the stream or writing a file fails
+	 */
+	public static long extract(InputStream inputStream, Path targetDir) throws IOException {
+		return extract(inputStream, targetDir, (name) -> true);
+	}
+
+	/**
+	 * Extracts the entries of a tar.gz stream accepted by a filter into a directory.
+	 * Rejected entries are skipped without being written. The stream is consumed but not
+	 * closed.
+	 * @param inputStream the gzip compressed tar stream
+	 * @param targetDir the directory to extract into
+	 * @param entryFilter filter on entry names deciding which entries are extracted
+	 * @return the number of files extracted
+	 * @throws IOException if reading the stream or writing a file fails
+	 */
+	public static long extract(InputStream inputStream, Path targetDir, Predicate<String> entryFilter)
+			throws IOException {
+		Path normalizedTargetDir = targetDir.toAbsolutePath().normalize();
+		long files = 0;
+		TarArchiveInputStream tarInputStream = new TarArchiveInputStream(
+				new GZIPInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE), BUFFER_SIZE));
+		TarArchiveEntry entry;
+		while ((entry = tarInputStream.getNextTarEntry()) != null) {
+			if (!entryFilter.test(entry.getName())) {
+				continue;
+			}
+			Path entryPath = normalizedTargetDir.resolve(entry.getName()).normalize();
+			if (!entryPath.startsWith(normalizedTargetDir)) {
+				throw new IOException("Archive entry " + entry.getName() + " is outside of " + targetDir);
+			}
+			if (entry.isDirectory()) {
+				Files.createDirectories(entryPath);
+			}
+			else if (entry.isFile()) {
+				Files.createDirectories(entryPath.getParent());
+				Files.copy(tarInputStream, entryPath, StandardCopyOption.REPLACE_EXISTING);
+				applyMode(entryPath, entry.getMode());
+				files++;
+			}
+			else {
+				logger.debug("Skipping archive entry " + entry.getName() + " which is not a file or directory");
+			}
+		}
+		return files;
+	}
+
+	private static void applyMode(Path path, int mode) throws IOException {
+		if ((mode & 0100) == 0) {
+			return;
+		}
+		if (POSIX) {
+			Set<PosixFilePermission> permissions = new HashSet<>(Files.getPosixFilePermissions(path));
+			permissions.add(PosixFilePermission.OWNER_EXECUTE);
+			if ((mode & 0010) != 0) {
+				permissions.add(PosixFilePermission.GROUP_EXECUTE);
+			}
+			if ((mode & 0001) != 0) {
+				permissions.add(PosixFilePermission.OTHERS_EXECUTE);
+			}
+			Files.setPosixFilePermissions(path, permissions);
+		}
+		else {
+			path.toFile().setExecutable(true);
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupReportTests {
+
+	@Test
+	void optionIsRemovedFromArguments() {
+		String[] args = { "project", "list", "--startup-report", "--json" };
+
+		assertThat(StartupReport.isRequested(args)).isTrue();
+		assertThat(StartupReport.removeOption(args)).containsExactly("project", "list", "--json");
+		assertThat(StartupReport.isRequested(new String[] { "project", "list" })).isFalse();
+	}
+
+	@Test
+	void reportListsPhasesAndBeans() throws Exception {
+		StartupReport startupReport = new StartupReport();
+		ApplicationStartup applicationStartup = startupReport.getApplicationStartup();
+		StartupStep refresh = applicationStartup.start("spring.context.refresh");
+		StartupStep outer = applicationStartup.start("spring.beans.instantiate").tag("beanName", "initializrCommands");
+		StartupStep inner = applicationStartup.start("spring.beans.instantiate").tag("beanName", "clientCache");
+		Thread.sleep(20);
+		inner.end();
+		outer.end();
+		refresh.end();
+
+		String report = startupReport.render();
+
+		assertThat(report).contains("Phases:", "spring.context.refresh", "Beans, slowest first:");
+		// the dependency took the time, not the bean depending on it
+		assertThat(report.indexOf("clientCache")).isLessThan(report.indexOf("initializrCommands"));
+	}
+
+}
@@ -44,7 +44,7 @@ public class BootCommandsTests {
 			BootCommands bootCommands = context.getBean(BootCommands.class);
 
 			String path = workingDir.toAbsolutePath().toString();
-			bootCommands.bootNew("rest-service", null, null, null, null, null, null, path);
+			bootCommands.bootNew("rest-service", null, null, null, null, null, null, path, false);
 			assertThat(workingDir).exists().isDirectory();
 			assertThat(workingDir.resolve("rest-service")).exists();
 			assertThat(workingDir.resolve("rest-service/src/main/java/com/example/restservice/greeting")).exists();
@@ -59,7 +59,7 @@ public class BootCommandsTests {
 			BootCommands bootCommands = context.getBean(BootCommands.class);
 			String path = workingDir.toAbsolutePath().toString();
 
-			bootCommands.bootNew("demo2", null, "com.xkcd", null, null, null, null, path);
+			bootCommands.bootNew("demo2", null, "com.xkcd", null, null, null, null, path, false);
 			assertThat(workingDir.resolve("demo2")).exists();
 			assertThat(workingDir.resolve("demo2/src/main/java/com/xkcd/demo2/greeting")).exists();
 			assertThat(workingDir.resolve("demo2/src/test/java/com/xkcd/demo2/greeting")).exists();
@@ -73,7 +73,7 @@ public class BootCommandsTests {
 			BootCommands bootCommands = context.getBean(BootCommands.class);
 			String path = workingDir.toAbsolutePath().toString();
 
-			bootCommands.bootNew("demo2", null, null, null, null, null, "com.xkcd", path);
+			bootCommands.bootNew("demo2", null, null, null, null, null, "com.xkcd", path, false);
 			assertThat(workingDir.resolve("demo2")).exists();
 			assertThat(workingDir.resolve("demo2/src/main/java/com/xkcd/greeting")).exists();
 			assertThat(workingDir.resolve("demo2/src/test/java/com/xkcd/greeting")).exists();
@@ -88,7 +88,7 @@ public class BootCommandsTests {
 			String path = workingDir.toAbsolutePath().toString();
 
 			bootCommands.bootNew("jpa", "https://github.com/rd-1-2022/rpt-spring-data-jpa", null, null, null, null,
-					"com.xkcd", path);
+					"com.xkcd", path, false);
 			assertThat(workingDir.resolve("jpa")).exists();
 			assertThat(workingDir.resolve("jpa/src/main/java/com/xkcd/customer")).exists();
 			assertThat(workingDir.resolve("jpa/src/test/java/com/xkcd/customer")).exists();
@@ -102,7 +102,7 @@ public class BootCommandsTests {
 			BootCommands bootCommands = context.getBean(BootCommands.class);
 			String path = workingDir.toAbsolutePath().toString();
 
-			bootCommands.bootNew("jpa2", "jpa", null, null, null, null, "com.xkcd", path);
+			bootCommands.bootNew("jpa2", "jpa", null, null, null, null, "com.xkcd", path, false);
 			assertThat(workingDir.resolve("jpa2")).exists();
 			assertThat(workingDir.resolve("jpa2/src/main/java/com/xkcd/customer")).exists();
 			assertThat(workingDir.resolve("jpa2/src/test/java/com/xkcd/customer")).exists();
@@ -116,7 +116,7 @@ public class BootCommandsTests {
 			BootCommands bootCommands = context.getBean(BootCommands.class);
 			String path = workingDir.toAbsolutePath().toString();
 
-			bootCommands.bootNew("scheduling", "scheduling", null, null, null, null, "com.xkcd", path);
+			bootCommands.bootNew("scheduling", "scheduling", null, null, null, null, "com.xkcd", path, false);
 			assertThat(workingDir.resolve("scheduling")).exists();
 			assertThat(workingDir.resolve("scheduling/src/main/java/com/xkcd/scheduling")).exists();
 			assertThat(workingDir.resolve("scheduling/src/test/java/com/xkcd/scheduling")).exists();
@@ -133,12 +133,12 @@ public class BootCommandsTests {
 			newBoot(workingDir, bootCommands, "test-add", path);
 
 			String addPath = workingDir.resolve("test-add").toAbsolutePath().toString();
-			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-spring-data-jpa", addPath);
+			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-spring-data-jpa", addPath, false);
 			assertThat(workingDir).exists().isDirectory();
 			assertThat(workingDir.resolve("test-add/src/main/java/com/xkcd/customer")).exists();
 			assertThat(workingDir.resolve("test-add/src/test/java/com/xkcd/customer")).exists();
 
-			bootCommands.bootAdd("scheduling", addPath);
+			bootCommands.bootAdd("scheduling", addPath, false);
 			assertThat(workingDir.resolve("test-add/src/main/java/com/xkcd/scheduling")).exists();
 			assertThat(workingDir.resolve("test-add/src/test/java/com/xkcd/scheduling")).exists();
 		});
@@ -162,7 +162,7 @@ public class BootCommandsTests {
 			DependencyManagement dependencyManagement = model.getDependencyManagement();
 			assertThat(dependencyManagement).isNull();
 
-			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-config-client", addPath);
+			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-config-client", addPath, false);
 
 			assertThat(workingDir).exists().isDirectory();
 			assertThat(workingDir.resolve("test-add/src/main/java/com/xkcd/controller")).exists();
@@ -193,7 +193,7 @@ public class BootCommandsTests {
 			String path = workingDir.toAbsolutePath().toString();
 			newBoot(workingDir, bootCommands, name, path);
 			Path projectDir = workingDir.resolve(name);
-			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-spring-data-jpa", projectDir.toString());
+			bootCommands.bootAdd("https://github.com/rd-1-2022/rpt-spring-data-jpa", projectDir.toString(), false);
 			assertThat(projectDir).exists().isDirectory();
 			assertThat(projectDir.resolve("pom.xml")).exists();
 			assertThat(projectDir.resolve("README-rpt-spring-data-jpa.md")).exists();
@@ -208,7 +208,7 @@ public class BootCommandsTests {
 	}
 
 	private static void newBoot(Path workingDir, BootCommands bootCommands, String name, String path) {
-		bootCommands.bootNew(name, null, null, null, null, null, "com.xkcd", path);
+		bootCommands.bootNew(name, null, null, null, null, null, "com.xkcd", path, false);
 		assertThat(workingDir).exists().isDirectory();
 		assertThat(workingDir.resolve(name)).exists();
 		assertThat(workingDir.resolve("test-add/src/main/java/com/xkcd/greeting")).exists();
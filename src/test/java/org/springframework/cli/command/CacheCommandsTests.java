@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.command;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
+import uk.org.webcompere.systemstubs.jupiter.SystemStub;
+import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.recipe.DiskMavenPomCache;
+import org.springframework.cli.testutil.TableAssertions;
+import org.springframework.cli.util.TerminalMessage;
+import org.springframework.shell.table.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SystemStubsExtension.class)
+class CacheCommandsTests {
+
+	@SystemStub
+	private EnvironmentVariables environmentVariables;
+
+	@Test
+	void listAndClearCaches(final @TempDir Path tempDir) throws IOException {
+		environmentVariables.set(SpringCliUserConfig.SPRING_CLI_CONFIG_DIR, tempDir.toAbsolutePath().toString());
+		SpringCliUserConfig userConfig = new SpringCliUserConfig();
+		CacheCommands cacheCommands = new CacheCommands(userConfig, TerminalMessage.noop());
+
+		assertThat(cacheCommands.cacheList().getModel().getRowCount()).isEqualTo(1);
+
+		Path poms = userConfig.getCacheDir().resolve(DiskMavenPomCache.CACHE_DIR_NAME);
+		Files.createDirectories(poms);
+		Files.writeString(poms.resolve("pom.json"), "{}");
+		Path repositories = userConfig.getCacheDir().resolve("repositories");
+		Files.createDirectories(repositories);
+
+		Table table = cacheCommands.cacheList();
+		assertThat(table.getModel().getRowCount()).isEqualTo(3);
+		TableAssertions.verifyTableValue(table, 1, 0, DiskMavenPomCache.CACHE_DIR_NAME);
+		TableAssertions.verifyTableValue(table, 1, 1, "1");
+		TableAssertions.verifyTableValue(table, 1, 2, "2 B");
+		TableAssertions.verifyTableValue(table, 2, 0, "repositories");
+
+		assertThatThrownBy(() -> cacheCommands.cacheClear("unknown")).isInstanceOf(SpringCliException.class);
+
+		cacheCommands.cacheClear(DiskMavenPomCache.CACHE_DIR_NAME);
+		assertThat(poms).doesNotExist();
+		assertThat(repositories).exists();
+
+		cacheCommands.cacheClear(null);
+		assertThat(repositories).doesNotExist();
+	}
+
+}
@@ -84,6 +84,20 @@ public class ProjectCatalogInitializerTests {
 		});
 	}
 
+	@Test
+	void testInitializesProjectCatalogOnFirstRead() {
+		ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(ProjectCatalogInitializerTests.ProjectCatalogInitializerConfig.class);
+		contextRunner.run((context) -> {
+			SpringCliUserConfig springCliUserConfig = context.getBean(SpringCliUserConfig.class);
+			Path catalogsFile = springCliUserConfig.getConfigDir()
+				.resolve(SpringCliUserConfig.PROJECT_CATALOGS_FILE_NAME);
+			assertThat(catalogsFile).doesNotExist();
+			assertThat(springCliUserConfig.getProjectCatalogs().getProjectCatalogs()).hasSize(1);
+			assertThat(catalogsFile).exists();
+		});
+	}
+
 	@Test
 	void testWithExistingProjectCatalog() {
 		ApplicationContextRunner contextRunner = new ApplicationContextRunner().withUserConfiguration(
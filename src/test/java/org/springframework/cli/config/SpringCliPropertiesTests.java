@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -34,6 +35,7 @@ public class SpringCliPropertiesTests {
 			assertThat(properties.getInitializr().getBaseUrl()).isEqualTo("https://start.spring.io");
 			assertThat(properties.getGithub().getClientId()).isNull();
 			assertThat(properties.getGithub().getDefaultScopes()).isEqualTo("repo,read:org");
+			assertThat(properties.getSpel().getCompilerMode()).isEqualTo(SpelCompilerMode.OFF);
 		});
 	}
 
@@ -42,12 +44,14 @@ public class SpringCliPropertiesTests {
 		this.contextRunner.withPropertyValues("spring.cli.initializr.base-url=fakeurl")
 			.withPropertyValues("spring.cli.github.client-id=fakeid")
 			.withPropertyValues("spring.cli.github.default-scopes=fakescopes")
+			.withPropertyValues("spring.cli.spel.compiler-mode=mixed")
 			.withUserConfiguration(Config1.class)
 			.run((context) -> {
 				SpringCliProperties properties = context.getBean(SpringCliProperties.class);
 				assertThat(properties.getInitializr().getBaseUrl()).isEqualTo("fakeurl");
 				assertThat(properties.getGithub().getClientId()).isEqualTo("fakeid");
 				assertThat(properties.getGithub().getDefaultScopes()).isEqualTo("fakescopes");
+				assertThat(properties.getSpel().getCompilerMode()).isEqualTo(SpelCompilerMode.MIXED);
 			});
 	}
 
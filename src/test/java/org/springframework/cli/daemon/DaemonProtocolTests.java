@@ -0,0 +1,89 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.daemon.DaemonProtocol.FrameOutputStream;
+import org.springframework.cli.daemon.DaemonProtocol.Request;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DaemonProtocolTests {
+
+	@Test
+	void requestIsReadAsWritten() throws Exception {
+		Request request = new Request("1.0.0", "/tmp/project", Map.of("HOME", "/home/user"),
+				List.of("boot", "new", "my-app"));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		DaemonProtocol.writeRequest(output, request);
+
+		assertThat(DaemonProtocol.readRequest(new ByteArrayInputStream(output.toByteArray()))).isEqualTo(request);
+	}
+
+	@Test
+	void responseCopiesOutputAndReturnsExitCode() throws Exception {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		PrintStream printer = new PrintStream(new FrameOutputStream(response), true, StandardCharsets.UTF_8);
+		printer.println("Created project");
+		printer.print("Done");
+		printer.flush();
+		DaemonProtocol.writeExit(response, 2);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		Integer exitCode = DaemonProtocol.readResponse(new ByteArrayInputStream(response.toByteArray()), output);
+
+		assertThat(exitCode).isEqualTo(2);
+		assertThat(output.toString(StandardCharsets.UTF_8))
+			.isEqualTo("Created project" + System.lineSeparator() + "Done");
+	}
+
+	@Test
+	void rejectedResponseReturnsNull() throws Exception {
+		ByteArrayOutputStream response = new ByteArrayOutputStream();
+		DaemonProtocol.writeRejected(response);
+
+		Integer exitCode = DaemonProtocol.readResponse(new ByteArrayInputStream(response.toByteArray()),
+				OutputStream.nullOutputStream());
+
+		assertThat(exitCode).isNull();
+	}
+
+	@Test
+	void environmentOnlyComparesVariablesOfTheDaemon() {
+		Map<String, String> daemon = Map.of("HOME", "/home/user", "PWD", "/tmp", "BUILD_NUMBER", "1");
+		Map<String, String> otherStep = Map.of("HOME", "/home/user", "PWD", "/work", "GITHUB_ACTION", "2");
+		Map<String, String> otherHome = Map.of("HOME", "/home/other", "PWD", "/tmp");
+		Map<String, String> otherJava = Map.of("HOME", "/home/user", "JAVA_HOME", "/opt/jdk");
+		Map<String, String> otherSettings = Map.of("HOME", "/home/user", "SPRING_CLI_EXEC_MAX_PARALLEL", "2");
+
+		assertThat(DaemonProtocol.isSameEnvironment(otherStep, daemon)).isTrue();
+		assertThat(DaemonProtocol.isSameEnvironment(otherHome, daemon)).isFalse();
+		assertThat(DaemonProtocol.isSameEnvironment(otherJava, daemon)).isFalse();
+		assertThat(DaemonProtocol.isSameEnvironment(otherSettings, daemon)).isFalse();
+	}
+
+}
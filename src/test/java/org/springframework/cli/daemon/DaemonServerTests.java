@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.daemon;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jline.terminal.Terminal;
+import org.jline.terminal.TerminalBuilder;
+import org.jline.utils.AttributedString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.command.RoleCommands;
+import org.springframework.cli.daemon.DaemonProtocol.Request;
+import org.springframework.cli.roles.RoleService;
+import org.springframework.cli.util.IoUtils;
+import org.springframework.cli.util.TerminalMessage;
+import org.springframework.shell.Input;
+import org.springframework.shell.InputProvider;
+import org.springframework.shell.Shell;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+class DaemonServerTests {
+
+	@Test
+	void commandRunsInWorkingDirectoryAndEnvironmentOfClient(@TempDir Path projectDir) throws Exception {
+		RedirectingOutputStream terminalOutput = new RedirectingOutputStream();
+		try (Terminal terminal = TerminalBuilder.builder()
+			.system(false)
+			.streams(InputStream.nullInputStream(), terminalOutput)
+			.type(Terminal.TYPE_DUMB)
+			.encoding(StandardCharsets.UTF_8)
+			.build()) {
+			RoleCommands roleCommands = new RoleCommands(new TerminalMessage() {
+
+				@Override
+				public void print(String... text) {
+					for (String line : text) {
+						terminal.writer().println(line);
+					}
+				}
+
+				@Override
+				public void print(AttributedString... text) {
+					for (AttributedString line : text) {
+						terminal.writer().println(line.toAnsi(terminal));
+					}
+				}
+			});
+			AtomicReference<Map<String, String>> commandEnvironment = new AtomicReference<>();
+			Shell shell = mock(Shell.class);
+			willAnswer((invocation) -> {
+				commandEnvironment.set(IoUtils.getEnvironment());
+				Input input = invocation.<InputProvider>getArgument(0).readInput();
+				roleCommands.roleSet(input.words().get(2), input.words().get(3), null);
+				return null;
+			}).given(shell).run(any());
+			DaemonServer server = new DaemonServer(shell, terminal, terminalOutput, Duration.ofSeconds(1));
+			// variables which only matter to the commands may differ from the ones of the daemon
+			Map<String, String> clientEnvironment = new HashMap<>(System.getenv());
+			clientEnvironment.put("BUILD_NUMBER", "42");
+			Request request = new Request(DaemonProtocol.getVersion(), projectDir.toString(), clientEnvironment,
+					List.of("role", "set", "greeting", "hello"));
+			ByteArrayOutputStream requestBytes = new ByteArrayOutputStream();
+			DaemonProtocol.writeRequest(requestBytes, request);
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+			server.handle(new ByteArrayInputStream(requestBytes.toByteArray()), response);
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			Integer exitCode = DaemonProtocol.readResponse(new ByteArrayInputStream(response.toByteArray()), output);
+			assertThat(exitCode).isZero();
+			assertThat(output.toString(StandardCharsets.UTF_8)).contains("Key-value pair added to the default role");
+			assertThat(new RoleService(projectDir).loadAsMap("")).containsEntry("greeting", "hello");
+			assertThat(commandEnvironment.get()).containsEntry("BUILD_NUMBER", "42");
+			// the daemon is back in its own working directory and environment
+			assertThat(IoUtils.getWorkingDirectory()).isEqualTo(Path.of("").toAbsolutePath());
+			assertThat(IoUtils.getEnvironment()).isEqualTo(System.getenv());
+		}
+	}
+
+}
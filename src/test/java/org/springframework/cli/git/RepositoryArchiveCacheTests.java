@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.git;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryArchiveCacheTests {
+
+	@Test
+	void cacheKeyDependsOnAllParts() {
+		String key = RepositoryArchiveCache.cacheKey("https://github.com/a/b", "main", null, "abc");
+		assertThat(key).isEqualTo(RepositoryArchiveCache.cacheKey("https://github.com/a/b", "main", null, "abc"));
+		assertThat(key).isNotEqualTo(RepositoryArchiveCache.cacheKey("https://github.com/a/b", "main", null, "abd"));
+		assertThat(key).isNotEqualTo(RepositoryArchiveCache.cacheKey("https://github.com/a/b", null, null, "abc"));
+		assertThat(key).isNotEqualTo(RepositoryArchiveCache.cacheKey("https://github.com/a/b", "main", "c", "abc"));
+	}
+
+	@Test
+	void putAndCopy(@TempDir Path tempDir) throws IOException {
+		RepositoryArchiveCache cache = new RepositoryArchiveCache(() -> tempDir.resolve("cache"), 1024);
+		Path source = createContents(tempDir.resolve("source"));
+
+		assertThat(cache.copyTo("key1", tempDir.resolve("target"))).isFalse();
+		cache.put("key1", source);
+		Path target = tempDir.resolve("target");
+		assertThat(cache.copyTo("key1", target)).isTrue();
+		assertThat(target.resolve("src").resolve("file.txt")).hasContent("0123456789");
+	}
+
+	@Test
+	void leastRecentlyUsedEntriesAreEvicted(@TempDir Path tempDir) throws IOException {
+		RepositoryArchiveCache cache = new RepositoryArchiveCache(() -> tempDir.resolve("cache"), 25);
+		Path source = createContents(tempDir.resolve("source"));
+
+		cache.put("key1", source);
+		cache.put("key2", source);
+		// touch key1 so that key2 becomes the least recently used entry
+		Files.setLastModifiedTime(tempDir.resolve("cache").resolve("key2").resolve("entry.properties"),
+				FileTime.fromMillis(0));
+		cache.get("key1");
+		cache.put("key3", source);
+
+		assertThat(cache.get("key1")).isPresent();
+		assertThat(cache.get("key2")).isEmpty();
+		assertThat(cache.get("key3")).isPresent();
+	}
+
+	private static Path createContents(Path dir) throws IOException {
+		Files.createDirectories(dir.resolve("src"));
+		Files.writeString(dir.resolve("src").resolve("file.txt"), "0123456789");
+		return dir;
+	}
+
+}
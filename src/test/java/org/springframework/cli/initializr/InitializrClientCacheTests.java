@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.boot.autoconfigure.web.reactive.function.client.ReactorNettyHttpClientMapper;
+import org.springframework.cli.initializr.InitializrClientCache.Statistics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InitializrClientCacheTests {
+
+	private final WebClient.Builder webClientBuilder = WebClient.builder()
+		.exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build()));
+
+	@Test
+	void concurrentLookupsShareOneClient() {
+		try (InitializrClientCache cache = new InitializrClientCache(webClientBuilder)) {
+			Set<InitializrClient> clients = ConcurrentHashMap.newKeySet();
+			IntStream.range(0, 100).parallel().forEach(i -> clients.add(cache.get("https://start.example.com")));
+
+			assertThat(clients).hasSize(1);
+			Statistics statistics = cache.getStatistics();
+			assertThat(statistics.misses()).isEqualTo(1);
+			assertThat(statistics.hits() + statistics.misses()).isLessThanOrEqualTo(100);
+			assertThat(statistics.clients()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void leastRecentlyUsedClientIsEvicted() {
+		try (InitializrClientCache cache = new InitializrClientCache(webClientBuilder, null, null, 2)) {
+			InitializrClient first = cache.get("https://first.example.com");
+			InitializrClient second = cache.get("https://second.example.com");
+			cache.get("https://first.example.com");
+			cache.get("https://third.example.com");
+
+			assertThat(cache.get("https://first.example.com")).isSameAs(first);
+			assertThat(cache.get("https://second.example.com")).isNotSameAs(second);
+			assertThat(cache.getStatistics().clients()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void requestsAreTimed() {
+		try (InitializrClientCache cache = new InitializrClientCache(webClientBuilder)) {
+			for (String url : List.of("https://first.example.com", "https://second.example.com")) {
+				assertThat(cache.get(url).getMetadata()).isNotNull();
+			}
+
+			Statistics statistics = cache.getStatistics();
+			assertThat(statistics.requests()).isEqualTo(2);
+			assertThat(statistics.maxLatency()).isGreaterThanOrEqualTo(statistics.averageLatency());
+		}
+	}
+
+	@Test
+	void requestsGoThroughMappedConnector() throws Exception {
+		ReactorResourceFactory resourceFactory = new ReactorResourceFactory();
+		resourceFactory.afterPropertiesSet();
+		ReactorNettyHttpClientMapper httpClientMapper = (httpClient) -> httpClient
+			.headers((headers) -> headers.add("X-Mapped", "true"));
+		try (MockWebServer server = new MockWebServer(); InitializrClientCache cache = new InitializrClientCache(
+				WebClient.builder(), null, null, 2, resourceFactory, List.of(httpClientMapper))) {
+			server.enqueue(new MockResponse().setBody("{}"));
+			server.start();
+
+			assertThat(cache.get(server.url("/").toString()).getMetadata()).isNotNull();
+
+			assertThat(server.takeRequest().getHeader("X-Mapped")).isEqualTo("true");
+			assertThat(cache.getStatistics().requests()).isEqualTo(1);
+		}
+		finally {
+			resourceFactory.destroy();
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cli.initializr.InitializrClient.Extraction;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InitializrClientTests {
+
+	@Test
+	void generateStreamsArchiveIntoDirectory(@TempDir Path tempDir) throws IOException {
+		byte[] archive = createArchive("pom.xml", "src/main/java/com/example/demo/DemoApplication.java");
+		// deliver the archive in small chunks like a network response
+		Flux<DataBuffer> body = Flux.range(0, (archive.length + 99) / 100)
+			.map(i -> DefaultDataBufferFactory.sharedInstance
+				.wrap(Arrays.copyOfRange(archive, i * 100, Math.min(archive.length, (i + 1) * 100))));
+		WebClient.Builder webClientBuilder = WebClient.builder()
+			.exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build()));
+		InitializrClient client = InitializrClient.builder(webClientBuilder)
+			.target("https://start.example.com")
+			.build();
+
+		Extraction extraction = client.generate("maven-project", "java", "3.2.5", List.of("web"), "0.0.1-SNAPSHOT",
+				"com.example", "demo", "demo", "Demo project", "com.example.demo", "jar", "17", tempDir);
+
+		assertThat(extraction.entries()).isEqualTo(2);
+		assertThat(extraction.bytes()).isEqualTo(archive.length);
+		assertThat(tempDir.resolve("pom.xml")).hasContent("pom.xml");
+		assertThat(tempDir.resolve("src/main/java/com/example/demo/DemoApplication.java")).exists();
+	}
+
+	private static byte[] createArchive(String... names) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+			for (String name : names) {
+				byte[] content = name.getBytes(StandardCharsets.UTF_8);
+				TarArchiveEntry entry = new TarArchiveEntry(name);
+				entry.setSize(content.length);
+				tar.putArchiveEntry(entry);
+				tar.write(content);
+				tar.closeArchiveEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.initializr.InitializrMetadataCache.CachedMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InitializrMetadataCacheTests {
+
+	private static final String URL = "https://start.spring.io";
+
+	@Test
+	void storesMetadataWithValidators(@TempDir Path tempDir) {
+		InitializrMetadataCache cache = new InitializrMetadataCache(() -> tempDir, Duration.ofHours(1));
+		assertThat(cache.get(URL)).isEmpty();
+
+		cache.put(URL, "{}", "\"abc\"", null);
+
+		CachedMetadata cached = cache.get(URL).get();
+		assertThat(cached.body()).isEqualTo("{}");
+		assertThat(cached.etag()).isEqualTo("\"abc\"");
+		assertThat(cached.lastModified()).isNull();
+		assertThat(cached.fresh()).isTrue();
+		assertThat(cache.get("https://other.example.com")).isEmpty();
+	}
+
+	@Test
+	void expiredMetadataIsStillReturned(@TempDir Path tempDir) {
+		InitializrMetadataCache cache = new InitializrMetadataCache(() -> tempDir, Duration.ZERO);
+		cache.put(URL, "{}", null, "Wed, 21 Oct 2015 07:28:00 GMT");
+		cache.revalidated(URL);
+
+		CachedMetadata cached = cache.get(URL).get();
+		assertThat(cached.fresh()).isFalse();
+		assertThat(cached.lastModified()).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.initializr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.util.ProjectInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InitializrProjectCacheTests {
+
+	private static final String BASE_URL = "https://start.example.com";
+
+	@Test
+	void keyIgnoresIdentityAndDependencyOrder() {
+		ProjectInfo demo = projectInfo("com.example", "demo", "com.example.demo");
+		ProjectInfo other = projectInfo("org.acme", "other", "org.acme.other");
+
+		assertThat(key(List.of("web", "actuator"), demo)).isEqualTo(key(List.of("actuator", "WEB", "web"), other));
+		assertThat(key(List.of("web"), demo)).isNotEqualTo(key(List.of("web", "actuator"), demo));
+		assertThat(InitializrProjectCache.cacheKey(BASE_URL, "gradle-project", "java", "3.2.5", List.of(), "jar",
+				"17", demo))
+			.isEmpty();
+		assertThat(InitializrProjectCache.cacheKey(BASE_URL, "maven-project", "kotlin", "3.2.5", List.of(), "jar",
+				"17", demo))
+			.isEmpty();
+		assertThat(key(List.of(), projectInfo("com.example", "demo", null))).isNull();
+	}
+
+	@Test
+	void restoredProjectGetsRequestedIdentity(@TempDir Path tempDir) throws IOException {
+		Path generated = tempDir.resolve("generated");
+		write(generated, "pom.xml", """
+				<?xml version="1.0" encoding="UTF-8"?>
+				<project xmlns="http://maven.apache.org/POM/4.0.0">
+					<modelVersion>4.0.0</modelVersion>
+					<groupId>com.example</groupId>
+					<artifactId>demo</artifactId>
+					<version>0.0.1-SNAPSHOT</version>
+					<name>demo</name>
+					<description>Demo project</description>
+				</project>
+				""");
+		write(generated, "src/main/java/com/example/demo/DemoApplication.java", """
+				package com.example.demo;
+
+				import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+				@SpringBootApplication
+				public class DemoApplication {
+				}
+				""");
+		InitializrProjectCache cache = new InitializrProjectCache(() -> tempDir.resolve("cache"),
+				InitializrProjectCache.DEFAULT_MAX_SIZE);
+		ProjectInfo other = projectInfo("org.acme", "other", "org.acme.other");
+		String key = key(List.of("web"), other);
+
+		Path target = Files.createDirectories(tempDir.resolve("target"));
+		assertThat(cache.restore(key, target, other)).isFalse();
+
+		cache.put(key, generated);
+		assertThat(cache.restore(key, target, other)).isTrue();
+
+		assertThat(target.resolve("src/main/java/com/example/demo/DemoApplication.java")).doesNotExist();
+		assertThat(target.resolve("src/main/java/org/acme/other/DemoApplication.java")).content()
+			.contains("package org.acme.other;");
+		assertThat(target.resolve("pom.xml")).content()
+			.contains("<groupId>org.acme</groupId>")
+			.contains("<artifactId>other</artifactId>");
+	}
+
+	private static String key(List<String> dependencies, ProjectInfo projectInfo) {
+		return InitializrProjectCache
+			.cacheKey(BASE_URL, "maven-project", "java", "3.2.5", dependencies, "jar", "17", projectInfo)
+			.orElse(null);
+	}
+
+	private static ProjectInfo projectInfo(String groupId, String artifactId, String packageName) {
+		return new ProjectInfo(groupId, artifactId, "0.0.1-SNAPSHOT", "demo", "Demo project", packageName);
+	}
+
+	private static void write(Path dir, String name, String content) throws IOException {
+		Path path = dir.resolve(name);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+	}
+
+}
@@ -43,6 +43,7 @@ import org.slf4j.LoggerFactory;
 
 import org.springframework.cli.util.ConversionUtils;
 import org.springframework.cli.util.PomReader;
+import org.springframework.cli.util.TerminalMessage;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,8 +57,6 @@ public class MavenModificationTests {
 
 	@Test
 	void addPluginDependency(@TempDir Path tempDir) throws Exception {
-		MavenParser mavenParser = MavenParser.builder().build();
-
 		Path mergedPomPath = tempDir.resolve("temp-existing-pom.xml");
 		Path pomExisting = Paths.get("src/test/resources/pom-existing-project.xml");
 
@@ -67,15 +66,14 @@ public class MavenModificationTests {
 		PomReader pomReader = new PomReader();
 		Path pomToMerge = Paths.get("src/test/resources/pom-project-to-add.xml");
 
-		ProjectMerger merger = new ProjectMerger(tempDir.resolve("to"), tempDir.resolve("from"), "foo-project", null);
-		Method mergeMavenPlugins = ReflectionUtils.findMethod(ProjectMerger.class, "mergeMavenPlugins", Path.class,
-				Model.class, Model.class, List.class, MavenParser.class);
-		mergeMavenPlugins.setAccessible(true);
+		ProjectMerger merger = new ProjectMerger(tempDir.resolve("to"), tempDir, "foo-project",
+				TerminalMessage.noop());
+		Method mergeMavenPom = ReflectionUtils.findMethod(ProjectMerger.class, "mergeMavenPom", Path.class,
+				Model.class, Model.class);
+		mergeMavenPom.setAccessible(true);
 
-		List<Path> paths = new ArrayList<>();
-		paths.add(mergedPomPath);
-		mergeMavenPlugins.invoke(merger, mergedPomPath, pomReader.readPom(pomExisting.toFile()),
-				pomReader.readPom(pomToMerge.toFile()), paths, mavenParser);
+		mergeMavenPom.invoke(merger, mergedPomPath, pomReader.readPom(pomExisting.toFile()),
+				pomReader.readPom(pomToMerge.toFile()));
 
 		Model mergedModel = pomReader.readPom(mergedPomPath.toFile());
 		for (Plugin plugin : mergedModel.getBuild().getPlugins()) {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.merger;
+
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.Repository;
+import org.jline.utils.AttributedString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.util.PomReader;
+import org.springframework.cli.util.TerminalMessage;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectMergerTests {
+
+	private final List<String> messages = new ArrayList<>();
+
+	private final TerminalMessage terminalMessage = new TerminalMessage() {
+
+		@Override
+		public void print(String... text) {
+			messages.addAll(List.of(text));
+		}
+
+		@Override
+		public void print(AttributedString... text) {
+			for (AttributedString attributedString : text) {
+				messages.add(attributedString.toString());
+			}
+		}
+	};
+
+	@Test
+	void mergePomInSinglePass(@TempDir Path tempDir) throws Exception {
+		Path currentPomPath = tempDir.resolve("pom.xml");
+		Files.copy(Paths.get("src/test/resources/pom-existing-project.xml"), currentPomPath);
+		Path pomToMerge = Paths.get("src/test/resources/pom-project-to-add.xml");
+
+		PomReader pomReader = new PomReader();
+		ProjectMerger merger = new ProjectMerger(tempDir.resolve("to-merge"), tempDir, "foo-project",
+				this.terminalMessage);
+		Method mergeMavenPom = ReflectionUtils.findMethod(ProjectMerger.class, "mergeMavenPom", Path.class,
+				Model.class, Model.class);
+		mergeMavenPom.setAccessible(true);
+		mergeMavenPom.invoke(merger, currentPomPath, pomReader.readPom(currentPomPath.toFile()),
+				pomReader.readPom(pomToMerge.toFile()));
+
+		Model mergedModel = pomReader.readPom(currentPomPath.toFile());
+		assertThat(mergedModel.getProperties()).containsEntry("spring-cloud.version", "2021.0.0")
+			.containsEntry("java.version", "1.8");
+		assertThat(mergedModel.getRepositories()).extracting(Repository::getId).containsExactly("spring-milestones");
+		assertThat(mergedModel.getDependencyManagement().getDependencies()).extracting(Dependency::getArtifactId)
+			.containsExactly("spring-cloud-dependencies");
+		assertThat(mergedModel.getDependencies()).extracting(Dependency::getArtifactId)
+			.contains("spring-boot-starter-data-jpa", "spring-boot-starter-actuator", "spring-boot-starter-web",
+					"spring-cloud-starter-config")
+			.doesNotHaveDuplicates();
+		assertThat(mergedModel.getBuild().getPlugins()).extracting(Plugin::getArtifactId)
+			.contains("spring-boot-maven-plugin", "maven-deploy-plugin", "maven-shade-plugin")
+			.doesNotHaveDuplicates();
+
+		assertThat(this.messages).containsExactly(
+				"Merging repository section spring-milestones, https://repo.spring.io/milestone",
+				"Merging maven property key spring-cloud.version",
+				"Merging dependency management section org.springframework.cloud:spring-cloud-dependencies",
+				"Merging dependency org.springframework.boot:spring-boot-starter-actuator",
+				"Merging dependency org.springframework.boot:spring-boot-starter-web",
+				"Merging dependency org.springframework.cloud:spring-cloud-starter-config");
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.roles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleVariablesTests {
+
+	@TempDir
+	Path workingDir;
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final AtomicInteger saves = new AtomicInteger();
+
+	private RoleService roleService;
+
+	@BeforeEach
+	void setup() throws IOException {
+		Files.writeString(this.workingDir.resolve("pom.xml"), "<project/>");
+		this.roleService = new RoleService(this.workingDir) {
+
+			@Override
+			public Map<String, Object> loadAsMap(String name) {
+				loads.incrementAndGet();
+				return super.loadAsMap(name);
+			}
+
+			@Override
+			public void saveRole(String roleName, Map<String, Object> map) {
+				saves.incrementAndGet();
+				super.saveRole(roleName, map);
+			}
+
+		};
+		this.roleService.updateRole("", "name", "John");
+		this.loads.set(0);
+		this.saves.set(0);
+	}
+
+	@Test
+	void variablesAreReadOnceAndWrittenBackOnce() {
+		RoleVariables roleVariables = new RoleVariables(this.roleService, "");
+
+		assertThat(roleVariables.getVariables()).containsEntry("name", "John");
+		assertThat(roleVariables.containsKey("age")).isFalse();
+		roleVariables.put("age", "42");
+		roleVariables.put("city", "Paris");
+		assertThat(roleVariables.getVariables()).containsEntry("age", 42).containsEntry("city", "Paris");
+		assertThat(this.loads).hasValue(1);
+		assertThat(this.saves).hasValue(0);
+
+		roleVariables.save();
+		roleVariables.save();
+
+		assertThat(this.saves).hasValue(1);
+		assertThat(this.roleService.loadAsMap("")).containsEntry("name", "John")
+			.containsEntry("age", 42)
+			.containsEntry("city", "Paris");
+	}
+
+	@Test
+	void unmodifiedVariablesAreNotWritten() {
+		RoleVariables roleVariables = new RoleVariables(this.roleService, "");
+
+		assertThat(roleVariables.containsKey("name")).isTrue();
+		roleVariables.save();
+
+		assertThat(this.saves).hasValue(0);
+	}
+
+}
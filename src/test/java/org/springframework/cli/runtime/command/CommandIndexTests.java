@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandIndexTests {
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	private final Function<File, Command> countingReader = (directory) -> {
+		reads.incrementAndGet();
+		return CommandScanner.getCommandObject(directory);
+	};
+
+	@TempDir
+	Path tempDir;
+
+	private Path commandsDir;
+
+	@BeforeEach
+	void createCommand() throws IOException {
+		this.commandsDir = this.tempDir.resolve(".spring/commands");
+		Path subCommandDir = Files.createDirectories(this.commandsDir.resolve("hello/world"));
+		Files.writeString(subCommandDir.resolve("command.yaml"), """
+				command:
+				  description: Say hello
+				  options:
+				    - name: greeting
+				      defaultValue: Hi
+				""");
+	}
+
+	@Test
+	void scanResultsAreReusedUntilCommandsChange() throws IOException {
+		CommandIndex index = new CommandIndex(false, countingReader);
+
+		assertThat(subCommandNames(index.getScanResults(this.commandsDir, null))).containsExactly("world");
+		assertThat(reads).hasValue(2);
+
+		index.getScanResults(this.commandsDir, null);
+		assertThat(reads).hasValue(2);
+
+		// only the changed command file is read again
+		Path commandFile = this.commandsDir.resolve("hello/world/command.yaml");
+		Files.writeString(commandFile, "command:\n  description: Say hello again\n");
+		Files.setLastModifiedTime(commandFile, FileTime.from(Instant.now().plusSeconds(10)));
+		CommandScanResults results = index.getScanResults(this.commandsDir, null);
+		assertThat(reads).hasValue(3);
+		assertThat(results.getCommandSubcommandMap().values().iterator().next().get(0).getDescription())
+			.isEqualTo("Say hello again");
+
+		Path helloDir = this.commandsDir.resolve("hello");
+		Files.createDirectories(helloDir.resolve("there"));
+		Files.setLastModifiedTime(helloDir, FileTime.from(Instant.now().plusSeconds(20)));
+		assertThat(subCommandNames(index.getScanResults(this.commandsDir, null))).containsExactlyInAnyOrder("world",
+				"there");
+		assertThat(reads).hasValue(4);
+	}
+
+	@Test
+	void indexFileIsSharedAcrossInstances() {
+		Path indexFile = this.tempDir.resolve(".spring/cache/command-index.json");
+
+		new CommandIndex(false, countingReader).getScanResults(this.commandsDir, indexFile);
+		assertThat(indexFile).exists();
+		assertThat(reads).hasValue(2);
+
+		CommandScanResults results = new CommandIndex(false, countingReader).getScanResults(this.commandsDir,
+				indexFile);
+		assertThat(reads).hasValue(2);
+		Map.Entry<Command, List<Command>> entry = results.getCommandSubcommandMap().entrySet().iterator().next();
+		assertThat(entry.getKey().getName()).isEqualTo("hello");
+		Command subCommand = entry.getValue().get(0);
+		assertThat(subCommand.getDescription()).isEqualTo("Say hello");
+		assertThat(subCommand.getOptions()).singleElement().satisfies((option) -> {
+			assertThat(option.getName()).isEqualTo("greeting");
+			assertThat(option.getDataType()).isEqualTo("string");
+			assertThat(option.getDefaultValue()).isEqualTo("Hi");
+		});
+	}
+
+	@Test
+	void missingCommandsDirectoryHasNoCommands() {
+		CommandIndex index = new CommandIndex(false, countingReader);
+
+		assertThat(index.getScanResults(this.tempDir.resolve("missing"), null).getCommandSubcommandMap()).isEmpty();
+	}
+
+	@Test
+	@DisabledOnOs(value = OS.MAC, disabledReason = "WatchService polls on macOS")
+	void watchingIndexNoticesNewCommands() throws Exception {
+		try (CommandIndex index = new CommandIndex(true, countingReader)) {
+			assertThat(subCommandNames(index.getScanResults(this.commandsDir, null))).containsExactly("world");
+
+			Files.createDirectories(this.commandsDir.resolve("hello/there"));
+
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (subCommandNames(index.getScanResults(this.commandsDir, null)).size() < 2
+					&& System.nanoTime() < deadline) {
+				Thread.sleep(50);
+			}
+			assertThat(subCommandNames(index.getScanResults(this.commandsDir, null)))
+				.containsExactlyInAnyOrder("world", "there");
+		}
+	}
+
+	private static List<String> subCommandNames(CommandScanResults results) {
+		return results.getCommandSubcommandMap().values().stream().flatMap(List::stream).map(Command::getName).toList();
+	}
+
+}
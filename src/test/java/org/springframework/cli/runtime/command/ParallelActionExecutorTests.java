@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jline.utils.AttributedString;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.runtime.command.ParallelActionExecutor.Task;
+import org.springframework.cli.util.TerminalMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelActionExecutorTests {
+
+	private final List<String> printed = new ArrayList<>();
+
+	private final TerminalMessage terminalMessage = new TerminalMessage() {
+
+		@Override
+		public void print(String... text) {
+			printed.addAll(List.of(text));
+		}
+
+		@Override
+		public void print(AttributedString... text) {
+		}
+
+	};
+
+	@Test
+	void independentActionsRunConcurrentlyWithOrderedOutput() {
+		CountDownLatch secondStarted = new CountDownLatch(1);
+		List<Task> tasks = List.of(new Task(Set.of(), (output) -> {
+			// only completes if the second action runs at the same time
+			await(secondStarted);
+			output.print("first");
+		}), new Task(Set.of(), (output) -> {
+			secondStarted.countDown();
+			output.print("second");
+		}));
+
+		new ParallelActionExecutor(terminalMessage, 2).execute(tasks);
+
+		assertThat(printed).containsExactly("first", "second");
+	}
+
+	@Test
+	void dependentActionsRunInOrder() {
+		List<String> executed = new ArrayList<>();
+		List<Task> tasks = List.of(new Task(Set.of(), (output) -> {
+			sleep(100);
+			executed.add("first");
+		}), new Task(Set.of(0), (output) -> executed.add("second")));
+
+		new ParallelActionExecutor(terminalMessage, 2).execute(tasks);
+
+		assertThat(executed).containsExactly("first", "second");
+	}
+
+	@Test
+	void failureSkipsDependentActions() {
+		AtomicBoolean dependentExecuted = new AtomicBoolean();
+		List<Task> tasks = List.of(new Task(Set.of(), (output) -> output.print("independent")),
+				new Task(Set.of(), (output) -> {
+					throw new SpringCliException("broken");
+				}), new Task(Set.of(1), (output) -> dependentExecuted.set(true)));
+
+		assertThatThrownBy(() -> new ParallelActionExecutor(terminalMessage, 2).execute(tasks))
+			.isInstanceOf(SpringCliException.class)
+			.hasMessage("broken");
+		assertThat(dependentExecuted).isFalse();
+		assertThat(printed).containsExactly("independent");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.command;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.jline.utils.AttributedString;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cli.support.CommandRunner;
+import org.springframework.cli.support.MockConfigurations.MockBaseConfig;
+import org.springframework.cli.support.MockConfigurations.MockUserConfig;
+import org.springframework.cli.util.PomReader;
+import org.springframework.cli.util.TerminalMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelActionsTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withUserConfiguration(MockBaseConfig.class);
+
+	private final List<String> messages = new ArrayList<>();
+
+	private final TerminalMessage terminalMessage = new TerminalMessage() {
+
+		@Override
+		public void print(String... text) {
+			messages.addAll(List.of(text));
+		}
+
+		@Override
+		public void print(AttributedString... text) {
+			for (AttributedString attributedString : text) {
+				messages.add(attributedString.toString());
+			}
+		}
+	};
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void actionsOnTheSameFileRunInOrder(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("parallel")
+				.executeCommand("files/create")
+				.withArguments("greeting", "World")
+				.withArguments("dir", workingDir.toAbsolutePath().toString())
+				.build();
+			commandRunner.run();
+
+			assertThat(workingDir.resolve("other.txt")).hasContent("Hello World");
+			// the injects wait for the generate of their file and for each other
+			assertThat(Files.readAllLines(workingDir.resolve("notes.txt"))).containsExactly("start", "first",
+					"second", "end");
+			// the exec waits for the action it depends on
+			assertThat(Files.readAllLines(workingDir.resolve("copy.txt"))).containsExactly("start", "first",
+					"second", "end");
+		});
+	}
+
+	@Test
+	void mavenActionsRunTogetherInOrder(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("parallel")
+				.executeCommand("maven/add")
+				.build();
+			commandRunner.run();
+
+			assertThat(workingDir.resolve("modulith.txt")).hasContent("Spring Modulith");
+			Path pomPath = workingDir.resolve("pom.xml");
+			assertThat(pomPath).content().contains("spring-modulith-bom");
+			assertThat(new PomReader().readPom(pomPath.toFile()).getDependencies())
+				.filteredOn((dependency) -> dependency.getArtifactId().equals("spring-modulith-starter-core"))
+				.singleElement()
+				.extracting(Dependency::getVersion)
+				.isNull();
+		});
+	}
+
+	@Test
+	void unknownDependencyIsReported(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("parallel")
+				.executeCommand("depends/unknown")
+				.withTerminalMessage(this.terminalMessage)
+				.build();
+			commandRunner.run();
+
+			assertThat(this.messages).contains(
+					"Action depends on 'missing', which is not the id of an earlier action in the same file.");
+			// the file is checked before any action runs
+			assertThat(workingDir.resolve("first.txt")).doesNotExist();
+		});
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void execCollectingResultsRunsBeforeLaterActions(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("parallel")
+				.executeCommand("results/collect")
+				.build();
+			commandRunner.run();
+
+			// the exec declares depends-on, but the generate after it reads its results
+			assertThat(workingDir.resolve("modules.txt")).hasContent("core web");
+			assertThat(workingDir.resolve("built.txt")).hasContent("core=0 web=0 ");
+		});
+	}
+
+}
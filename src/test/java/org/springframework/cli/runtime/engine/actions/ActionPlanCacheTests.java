@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActionPlanCacheTests {
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	private final ActionFileReader countingReader = new ActionFileReader() {
+
+		@Override
+		public Optional<ActionsFile> read(Path pathToFile) {
+			reads.incrementAndGet();
+			return super.read(pathToFile);
+		}
+
+	};
+
+	@Test
+	void planIsReusedUntilFilesChange(@TempDir Path tempDir) throws IOException {
+		Path commandDir = Files.createDirectories(tempDir.resolve("hello/world"));
+		Path actions = Files.writeString(commandDir.resolve("actions.yaml"), "actions: []\n");
+		ActionPlanCache cache = new ActionPlanCache(countingReader);
+
+		assertThat(cache.getActionFiles(commandDir, null)).containsOnlyKeys(actions);
+		assertThat(reads).hasValue(1);
+
+		assertThat(cache.getActionFiles(commandDir, null)).containsOnlyKeys(actions);
+		assertThat(reads).hasValue(1);
+
+		Files.setLastModifiedTime(actions, FileTime.from(Instant.now().plusSeconds(10)));
+		cache.getActionFiles(commandDir, null);
+		assertThat(reads).hasValue(2);
+
+		Path more = Files.writeString(commandDir.resolve("more.yml"), "actions: []\n");
+		Files.setLastModifiedTime(commandDir, FileTime.from(Instant.now().plusSeconds(20)));
+		assertThat(cache.getActionFiles(commandDir, null)).containsOnlyKeys(actions, more);
+		assertThat(reads).hasValue(4);
+	}
+
+	@Test
+	void indexIsSharedAcrossInstances(@TempDir Path tempDir) throws IOException {
+		Path commandDir = Files.createDirectories(tempDir.resolve("hello/world"));
+		Path actions = Files.writeString(commandDir.resolve("actions.yaml"), "actions: []\n");
+		Files.writeString(commandDir.resolve("template.txt"), "not an action file\n");
+		Path indexFile = tempDir.resolve("cache/hello-world.json");
+
+		new ActionPlanCache(countingReader).getActionFiles(commandDir, indexFile);
+		assertThat(indexFile).exists();
+		assertThat(reads).hasValue(2);
+
+		// the index only lists action files, other files are not looked at again
+		assertThat(new ActionPlanCache(countingReader).getActionFiles(commandDir, indexFile))
+			.containsOnlyKeys(actions);
+		assertThat(reads).hasValue(3);
+	}
+
+}
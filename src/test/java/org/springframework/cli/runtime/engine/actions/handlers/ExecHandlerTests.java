@@ -63,6 +63,49 @@ public class ExecHandlerTests {
 		});
 	}
 
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void fanOutExec(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir,
+			@TempDir(cleanup = CleanupMode.ALWAYS) Path tempPath) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			Path dir = tempPath.resolve("modules");
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("exec")
+				.executeCommand("util/mkdir-modules")
+				.withArguments("directory-to-create", dir.toFile().getAbsolutePath())
+				.build();
+			commandRunner.run();
+
+			assertThat(dir.resolve("core")).isDirectory();
+			assertThat(dir.resolve("web")).isDirectory();
+			assertThat(dir.resolve("cli")).isDirectory();
+			assertThat(dir.resolve("exit-values.txt")).hasContent("core=0 web=0 cli=0 ");
+		});
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void fanOutExecRejectsSharedRedirect(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir,
+			@TempDir(cleanup = CleanupMode.ALWAYS) Path tempPath) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			Path dir = tempPath.resolve("modules");
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("exec")
+				.executeCommand("util/mkdir-modules-log")
+				.withArguments("directory-to-create", dir.toFile().getAbsolutePath())
+				.build();
+			commandRunner.run();
+
+			// every module would write to the same log file, none of the commands is run
+			assertThat(dir).doesNotExist();
+			assertThat(tempPath.resolve("modules.log")).doesNotExist();
+		});
+	}
+
 	@Test
 	@Disabled
 	void testDefineVarUsingExecOutput(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir,
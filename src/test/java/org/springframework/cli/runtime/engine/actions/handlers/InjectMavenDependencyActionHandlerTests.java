@@ -18,6 +18,7 @@ package org.springframework.cli.runtime.engine.actions.handlers;
 
 import java.nio.file.Path;
 
+import org.apache.maven.model.Dependency;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.CleanupMode;
 import org.junit.jupiter.api.io.TempDir;
@@ -26,6 +27,7 @@ import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.cli.support.CommandRunner;
 import org.springframework.cli.support.MockConfigurations.MockBaseConfig;
 import org.springframework.cli.support.MockConfigurations.MockUserConfig;
+import org.springframework.cli.util.PomReader;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -67,6 +69,31 @@ class InjectMavenDependencyActionHandlerTests {
 		});
 	}
 
+	@Test
+	void injectSeveralMavenActions(@TempDir(cleanup = CleanupMode.ON_SUCCESS) Path workingDir) {
+		this.contextRunner.withUserConfiguration(MockUserConfig.class).run((context) -> {
+
+			CommandRunner commandRunner = new CommandRunner.Builder(context).prepareProject("rest-service", workingDir)
+				.installCommandGroup("inject-maven")
+				.executeCommand("dependency/add-many")
+				.build();
+			commandRunner.run();
+
+			Path pomPath = workingDir.resolve("pom.xml");
+			assertThat(pomPath).content()
+				.contains("spring-modulith-bom")
+				.contains("spring-modulith-starter-core")
+				.contains("com.h2database")
+				.contains("https://repo.spring.io/snapshot");
+			// the bom is added first, so it provides the version of the starter
+			assertThat(new PomReader().readPom(pomPath.toFile()).getDependencies())
+				.filteredOn((dependency) -> dependency.getArtifactId().equals("spring-modulith-starter-core"))
+				.singleElement()
+				.extracting(Dependency::getVersion)
+				.isNull();
+		});
+	}
+
 	private static void verifyMavenArtifactId(Path pomPath) {
 		assertThat(pomPath).content().contains("spring-boot-starter-data-jpa");
 		assertThat(pomPath).content().contains("spring-boot-starter-test");
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.actions.handlers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessOutputCaptureTests {
+
+	@Test
+	void linesAreStreamedAndCaptured() throws Exception {
+		List<String> streamed = new CopyOnWriteArrayList<>();
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("one\ntwo\nthree\n"), "stdout", 100,
+				streamed::add);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(streamed).containsExactly("one", "two", "three");
+		assertThat(capture.getOutput()).isEqualTo(String.join(System.lineSeparator(), "one", "two", "three"));
+		assertThat(capture.isTruncated()).isFalse();
+	}
+
+	@Test
+	void oldestLinesAreDroppedBeyondMaximumLength() throws Exception {
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("one\ntwo\nthree\n"), "stdout", 10, null);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(capture.getOutput()).isEqualTo(String.join(System.lineSeparator(), "two", "three"));
+		assertThat(capture.isTruncated()).isTrue();
+	}
+
+	@Test
+	void singleLineIsCutAtMaximumLength() throws Exception {
+		List<String> streamed = new CopyOnWriteArrayList<>();
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("x".repeat(100_000) + "\ndone"), "stdout",
+				10, streamed::add);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(streamed).containsExactly("x".repeat(10), "done");
+		assertThat(capture.getOutput()).isEqualTo("done");
+		assertThat(capture.isTruncated()).isTrue();
+	}
+
+	@Test
+	void singleLineWithoutLineBreakIsCutAtMaximumLength() throws Exception {
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("{\"name\": \"" + "x".repeat(100_000) + "\"}"),
+				"stdout", 10, null);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(capture.getOutput()).isEqualTo("{\"name\": \"");
+		assertThat(capture.isTruncated()).isTrue();
+	}
+
+	@Test
+	void carriageReturnsEndLines() throws Exception {
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("one\r\ntwo\rthree"), "stdout", 100, null);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(capture.getOutput()).isEqualTo(String.join(System.lineSeparator(), "one", "two", "three"));
+		assertThat(capture.isTruncated()).isFalse();
+	}
+
+	@Test
+	void inputStreamReadsCapturedLines() throws Exception {
+		ProcessOutputCapture capture = ProcessOutputCapture.start(stream("{\n\"name\": \"iPhone\"\n}\n"), "stdout",
+				100, null);
+
+		assertThat(capture.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(new String(capture.getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+			.isEqualTo("{\n\"name\": \"iPhone\"\n}\n");
+	}
+
+	@Test
+	@DisabledOnOs(OS.WINDOWS)
+	void bothStreamsOfChattyProcessAreDrained() throws Exception {
+		// writes more than a pipe buffer to stderr before anything to stdout
+		Process process = new ProcessBuilder("bash", "-c",
+				"for i in $(seq 1 20000); do echo \"error line $i\" >&2; done; echo done")
+			.start();
+		ProcessOutputCapture stdout = ProcessOutputCapture.start(process.getInputStream(), "stdout", 1024, null);
+		ProcessOutputCapture stderr = ProcessOutputCapture.start(process.getErrorStream(), "stderr", 1024, null);
+
+		assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(stdout.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(stderr.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(stdout.getOutput()).isEqualTo("done");
+		assertThat(stderr.getOutput()).endsWith("error line 20000");
+		assertThat(stderr.isTruncated()).isTrue();
+	}
+
+	private static ByteArrayInputStream stream(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.model;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyModelTests {
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	private final ModelPopulator countingPopulator = new ModelPopulator() {
+
+		@Override
+		public void contributeToModel(Path rootDirectory, Map<String, Object> model) {
+			runs.incrementAndGet();
+			model.put("greeting", "hello");
+			model.putIfAbsent("name", "world");
+		}
+
+		@Override
+		public Set<String> getModelKeys() {
+			return Set.of("greeting", "name");
+		}
+
+	};
+
+	@Test
+	void populatorRunsOnceOnFirstLookup() {
+		LazyModel model = new LazyModel(new HashMap<>(), Path.of("."), List.of(countingPopulator));
+		model.put("unrelated", "value");
+		assertThat(model.get("unrelated")).isEqualTo("value");
+		assertThat(runs).hasValue(0);
+		assertThat(model.getPopulated()).isEmpty();
+
+		String text = new HandlebarsTemplateEngine().process("{{greeting}} {{name}}", model);
+
+		assertThat(text).isEqualTo("hello world");
+		assertThat(model.get("greeting")).isEqualTo("hello");
+		assertThat(runs).hasValue(1);
+		assertThat(model.getPopulated()).hasSize(1);
+	}
+
+	@Test
+	void populatedValuesHavePrecedenceAsIfRunUpfront() {
+		Map<String, Object> initial = new HashMap<>(Map.of("greeting", "hi", "name", "Alice"));
+		LazyModel model = new LazyModel(initial, Path.of("."), List.of(countingPopulator));
+
+		assertThat(model.get("greeting")).isEqualTo("hello");
+		assertThat(model.get("name")).isEqualTo("Alice");
+		assertThat(initial).containsEntry("greeting", "hello");
+	}
+
+	@Test
+	void valuesPutLaterAreNotReplaced() {
+		LazyModel model = new LazyModel(new HashMap<>(), Path.of("."), List.of(countingPopulator));
+		model.put("greeting", "bye");
+
+		assertThat(model.get("name")).isEqualTo("world");
+		assertThat(model.get("greeting")).isEqualTo("bye");
+	}
+
+	@Test
+	void iteratingRunsAllPopulators() {
+		LazyModel model = new LazyModel(new HashMap<>(), Path.of("."), List.of(countingPopulator));
+
+		assertThat(new HashMap<>(model)).containsOnlyKeys("greeting", "name");
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void iteratingIsNotAffectedByLaterUpdates() {
+		LazyModel model = new LazyModel(new HashMap<>(), Path.of("."), List.of(countingPopulator));
+		Iterator<Map.Entry<String, Object>> entries = model.entrySet().iterator();
+
+		model.put("unrelated", "value");
+
+		assertThat(entries).toIterable().extracting(Map.Entry::getKey).containsOnly("greeting", "name");
+		assertThat(model).hasSize(3);
+	}
+
+}
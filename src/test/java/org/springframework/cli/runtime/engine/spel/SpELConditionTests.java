@@ -21,13 +21,18 @@ import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cli.SpringCliException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SpELConditionTests {
 
@@ -96,4 +101,55 @@ class SpELConditionTests {
 
 	}
 
+	@Test
+	void reusedEvaluationContextSeesModelUpdates() {
+		Map<String, Object> model = new HashMap<>();
+		model.put("temperature", 20);
+		EvaluationContext context = SpELCondition.createEvaluationContext(model, null);
+		SpELCondition isHot = new SpELCondition("#{ ['temperature'] > 30 }");
+		SpELCondition isHotVariable = new SpELCondition("#{ #temperature > 30 }");
+
+		assertThat(isHot.evaluate(context)).isFalse();
+		assertThat(isHotVariable.evaluate(context)).isFalse();
+
+		model.put("temperature", 40);
+		assertThat(isHot.evaluate(context)).isTrue();
+		assertThat(isHotVariable.evaluate(context)).isTrue();
+	}
+
+	@Test
+	void cachedExpressionsAreKeptApartByParserContext() {
+		Map<String, Object> map = new HashMap<>();
+		assertThat(new SpELCondition("true", (ParserContext) null).evaluate(map)).isTrue();
+		// as a template the same text is a string literal
+		assertThatThrownBy(() -> new SpELCondition("true").evaluate(map)).isInstanceOf(SpringCliException.class);
+	}
+
+	@Test
+	void cachedExpressionsAreKeptApartByParserConfiguration() {
+		SpelParserConfiguration mixed = SpELCondition.parserConfiguration(SpelCompilerMode.MIXED);
+		SpELCondition interpreted = new SpELCondition("#{ ['temperature'] > 30 }");
+		SpELCondition compiled = new SpELCondition("#{ ['temperature'] > 30 }", mixed);
+
+		assertThat(compiled.getExpression()).isNotSameAs(interpreted.getExpression());
+		assertThat(compiled.getExpression())
+			.isSameAs(new SpELCondition("#{ ['temperature'] > 30 }", mixed).getExpression());
+	}
+
+	@Test
+	void conditionsEvaluateInMixedCompilerMode() {
+		Map<String, Object> model = new HashMap<>();
+		model.put("temperature", 40);
+		EvaluationContext context = SpELCondition.createEvaluationContext(model, null);
+		SpELCondition isHot = new SpELCondition("#{ ['temperature'] > 30 }",
+				SpELCondition.parserConfiguration(SpelCompilerMode.MIXED));
+
+		// expressions are compiled after a number of interpreted evaluations
+		for (int i = 0; i < 200; i++) {
+			assertThat(isHot.evaluate(context)).isTrue();
+		}
+		model.put("temperature", 20);
+		assertThat(isHot.evaluate(context)).isFalse();
+	}
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.runtime.engine.templating;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cli.runtime.engine.templating.HandlebarsTemplateEngine.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HandlebarsTemplateEngineTests {
+
+	@Test
+	void compiledTemplatesAreReused() {
+		HandlebarsTemplateEngine engine = new HandlebarsTemplateEngine();
+
+		assertThat(engine.process("Hello {{name}}", Map.of("name", "Alice"))).isEqualTo("Hello Alice");
+		assertThat(engine.process("Hello {{name}}", Map.of("name", "Bob"))).isEqualTo("Hello Bob");
+		assertThat(engine.process("", Map.of())).isEmpty();
+
+		assertThat(engine.getStatistics()).isEqualTo(new Statistics(1, 1, 1));
+	}
+
+	@Test
+	void leastRecentlyUsedTemplateIsEvicted() {
+		HandlebarsTemplateEngine engine = new HandlebarsTemplateEngine(2);
+
+		engine.process("a{{x}}", null);
+		engine.process("b{{x}}", null);
+		engine.process("a{{x}}", null);
+		engine.process("c{{x}}", null);
+		engine.process("a{{x}}", null);
+		engine.process("b{{x}}", null);
+
+		assertThat(engine.getStatistics()).isEqualTo(new Statistics(2, 4, 2));
+	}
+
+}
@@ -56,6 +56,8 @@ public final class CommandRunner {
 
 	private final Terminal terminal;
 
+	private final TerminalMessage terminalMessage;
+
 	private CommandRunner(Builder builder) {
 		this.context = builder.context;
 		this.projectName = builder.projectName;
@@ -64,6 +66,7 @@ public final class CommandRunner {
 		this.executeCommand = builder.executeCommand;
 		this.arguments = builder.arguments;
 		this.terminal = builder.terminal;
+		this.terminalMessage = builder.terminalMessage;
 	}
 
 	public void run() {
@@ -72,7 +75,7 @@ public final class CommandRunner {
 			String[] commandAndSubCommand = executeCommand.split("\\/");
 			Map<String, ModelPopulator> modelPopulatorMap = context.getBeansOfType(ModelPopulator.class);
 			DynamicCommand dynamicCommand = new DynamicCommand(commandAndSubCommand[0], commandAndSubCommand[1],
-					new ArrayList<>(modelPopulatorMap.values()), TerminalMessage.noop(), Optional.of(this.terminal));
+					new ArrayList<>(modelPopulatorMap.values()), this.terminalMessage, Optional.of(this.terminal));
 
 			Map<String, Object> model = new HashMap<>();
 			for (Entry<String, String> argument : arguments) {
@@ -111,6 +114,8 @@ public final class CommandRunner {
 
 		private Terminal terminal = mock(Terminal.class);
 
+		private TerminalMessage terminalMessage = TerminalMessage.noop();
+
 		private List<Map.Entry<String, String>> arguments = new ArrayList<>();
 
 		public Builder(ApplicationContext context) {
@@ -163,6 +168,11 @@ public final class CommandRunner {
 			return this;
 		}
 
+		public Builder withTerminalMessage(TerminalMessage terminalMessage) {
+			this.terminalMessage = Objects.requireNonNull(terminalMessage);
+			return this;
+		}
+
 		public Builder withArguments(String key, String value) {
 			Map.Entry<String, String> entry = new AbstractMap.SimpleEntry<>(key, value);
 			this.arguments.add(entry);
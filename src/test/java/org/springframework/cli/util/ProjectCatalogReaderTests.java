@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.cli.SpringCliException;
+import org.springframework.cli.config.SpringCliUserConfig;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalog;
+import org.springframework.cli.config.SpringCliUserConfig.ProjectCatalogIndex;
+import org.springframework.cli.git.SourceRepositoryService;
+import org.springframework.cli.util.ProjectCatalogReader.CatalogContents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectCatalogReaderTests {
+
+	@Test
+	void failedAndSlowCatalogsDoNotAffectOthers(@TempDir Path tempDir) {
+		SourceRepositoryService sourceRepositoryService = (url) -> {
+			if (url.endsWith("broken")) {
+				throw new SpringCliException("not found");
+			}
+			if (url.endsWith("slow")) {
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return writeCatalog(tempDir.resolve(url.substring(url.lastIndexOf('/') + 1)));
+		};
+		ProjectCatalogReader reader = new ProjectCatalogReader(sourceRepositoryService, null,
+				Duration.ofMillis(500));
+
+		List<CatalogContents> contents = reader.read(List.of(catalog("good"), catalog("broken"), catalog("slow")),
+				false);
+
+		assertThat(contents).hasSize(3);
+		assertThat(contents.get(0).isFailed()).isFalse();
+		assertThat(contents.get(0).projectRepositories()).hasSize(1);
+		assertThat(contents.get(0).projectRepositories().get(0).getName()).isEqualTo("rest");
+		assertThat(contents.get(1).isFailed()).isTrue();
+		assertThat(contents.get(1).error()).contains("not found");
+		assertThat(contents.get(2).isFailed()).isTrue();
+		assertThat(contents.get(2).projectRepositories()).isEmpty();
+	}
+
+	@Test
+	void indexedCatalogsAreNotFetchedAgain(@TempDir Path tempDir) {
+		AtomicInteger retrievals = new AtomicInteger();
+		AtomicReference<String> commitSha = new AtomicReference<>("sha1");
+		SourceRepositoryService sourceRepositoryService = new SourceRepositoryService() {
+
+			@Override
+			public Path retrieveRepositoryContents(String sourceRepoUrl) {
+				retrievals.incrementAndGet();
+				return writeCatalog(tempDir.resolve("catalog-" + retrievals.get()));
+			}
+
+			@Override
+			public String resolveCommitSha(String sourceRepoUrl) {
+				return commitSha.get();
+			}
+
+		};
+		FileSystem fileSystem = Jimfs.newFileSystem();
+		SpringCliUserConfig userConfig = new SpringCliUserConfig((path) -> fileSystem.getPath(path));
+		ProjectCatalogReader reader = new ProjectCatalogReader(sourceRepositoryService, userConfig);
+		List<ProjectCatalog> catalogs = List.of(catalog("good"));
+
+		assertThat(reader.read(catalogs, false).get(0).projectRepositories()).hasSize(1);
+		assertThat(retrievals).hasValue(1);
+
+		// fresh index entry, no network access at all
+		assertThat(reader.read(catalogs, false).get(0).projectRepositories()).hasSize(1);
+		assertThat(retrievals).hasValue(1);
+
+		// expired entry at unchanged commit is revalidated without downloading
+		ProjectCatalogIndex index = userConfig.getProjectCatalogIndex();
+		index.setTtlSeconds(0);
+		userConfig.setProjectCatalogIndex(index);
+		assertThat(reader.read(catalogs, false).get(0).projectRepositories()).hasSize(1);
+		assertThat(retrievals).hasValue(1);
+
+		// changed commit is downloaded again
+		commitSha.set("sha2");
+		assertThat(reader.read(catalogs, false).get(0).projectRepositories()).hasSize(1);
+		assertThat(retrievals).hasValue(2);
+
+		// refresh always downloads
+		assertThat(reader.read(catalogs, true).get(0).projectRepositories()).hasSize(1);
+		assertThat(retrievals).hasValue(3);
+	}
+
+	private static ProjectCatalog catalog(String name) {
+		return ProjectCatalog.of(name, null, "https://github.com/example/" + name, List.of());
+	}
+
+	private static Path writeCatalog(Path dir) {
+		try {
+			Files.createDirectories(dir);
+			Files.writeString(dir.resolve(ProjectCatalogReader.PROJECT_CATALOG_FILE_NAME), """
+					project-repositories:
+					  - name: rest
+					    url: https://github.com/example/rest
+					""");
+			return dir;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefactorUtilsTests {
+
+	@Test
+	void onlyFilesReferencingPackageAreCandidates(@TempDir Path tempDir) throws IOException {
+		Path app = write(tempDir, "com/example/demo/App.java", "package com.example.demo;\n\nclass App {\n}\n");
+		Path sub = write(tempDir, "com/example/demo/sub/Sub.java",
+				"package com.example.demo.sub;\n\nclass Sub {\n}\n");
+		Path user = write(tempDir, "other/User.java",
+				"package other;\n\nimport com.example.demo.sub.Sub;\n\nclass User {\n}\n");
+		Path unrelated = write(tempDir, "other/Unrelated.java", "package other;\n\nclass Unrelated {\n}\n");
+
+		assertThat(RefactorUtils.findFilesContaining(List.of(app, sub, user, unrelated), "com.example.demo"))
+			.containsExactly(app, sub, user);
+	}
+
+	@Test
+	void refactorsPackageAndReferences(@TempDir Path tempDir) throws IOException {
+		write(tempDir, "com/example/demo/App.java", "package com.example.demo;\n\npublic class App {\n}\n");
+		write(tempDir, "other/User.java",
+				"package other;\n\nimport com.example.demo.App;\n\nclass User {\n\n\tApp app;\n\n}\n");
+		Path unrelated = write(tempDir, "other/Unrelated.java", "package other;\n\nclass Unrelated {\n}\n");
+
+		RefactorUtils.refactorPackage("org.acme", "com.example.demo", tempDir);
+
+		assertThat(tempDir.resolve("com/example/demo/App.java")).doesNotExist();
+		assertThat(tempDir.resolve("org/acme/App.java")).content().contains("package org.acme;");
+		assertThat(tempDir.resolve("other/User.java")).content().contains("import org.acme.App;");
+		assertThat(unrelated).hasContent("package other;\n\nclass Unrelated {\n}\n");
+	}
+
+	private static Path write(Path dir, String name, String content) throws IOException {
+		Path path = dir.resolve(name);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path, content);
+		return path;
+	}
+
+}
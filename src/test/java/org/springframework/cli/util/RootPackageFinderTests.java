@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RootPackageFinderTests {
+
+	@Test
+	void prefersMainSources(@TempDir Path tempDir) throws IOException {
+		writeApplication(tempDir, "src/test/java/com/example/test/TestApplication.java", "com.example.test");
+		Path application = writeApplication(tempDir, "src/main/java/com/example/demo/DemoApplication.java",
+				"com.example.demo");
+
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).contains("com.example.demo");
+		assertThat(RootPackageFinder.findSpringBootApplicationFile(tempDir.toFile()))
+			.contains(application.toFile());
+	}
+
+	@Test
+	void cachedResultIsInvalidatedWhenFilesChange(@TempDir Path tempDir) throws IOException {
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).isEmpty();
+
+		Path application = writeApplication(tempDir, "src/main/java/com/example/demo/DemoApplication.java",
+				"com.example.demo");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).contains("com.example.demo");
+
+		Files.delete(application);
+		writeApplication(tempDir, "src/main/java/org/acme/AcmeApplication.java", "org.acme");
+		assertThat(RootPackageFinder.findRootPackage(tempDir.toFile())).contains("org.acme");
+	}
+
+	private static Path writeApplication(Path dir, String name, String packageName) throws IOException {
+		Path path = dir.resolve(name);
+		Files.createDirectories(path.getParent());
+		Files.writeString(path,
+				"package " + packageName + ";\n\n@SpringBootApplication\npublic class Application {\n}\n");
+		return path;
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cli.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TarGzExtractorTests {
+
+	@Test
+	void extractsFilesAndDirectories(@TempDir Path tempDir) throws IOException {
+		byte[] archive = createArchive("repo-abc/", "repo-abc/README.md", "repo-abc/src/Main.java");
+		long files = TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir);
+		assertThat(files).isEqualTo(2);
+		assertThat(tempDir.resolve("repo-abc/README.md")).hasContent("repo-abc/README.md");
+		assertThat(tempDir.resolve("repo-abc/src/Main.java")).hasContent("repo-abc/src/Main.java");
+	}
+
+	@Test
+	void skipsFilteredEntries(@TempDir Path tempDir) throws IOException {
+		byte[] archive = createArchive("repo-abc/README.md", "repo-abc/sub/Main.java");
+		long files = TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir,
+				(name) -> name.startsWith("repo-abc/sub/"));
+		assertThat(files).isEqualTo(1);
+		assertThat(tempDir.resolve("repo-abc/README.md")).doesNotExist();
+		assertThat(tempDir.resolve("repo-abc/sub/Main.java")).exists();
+	}
+
+	@Test
+	void rejectsEntriesOutsideOfTarget(@TempDir Path tempDir) throws IOException {
+		byte[] archive = createArchive("../escape.txt");
+		assertThatThrownBy(() -> TarGzExtractor.extract(new ByteArrayInputStream(archive), tempDir.resolve("target")))
+			.isInstanceOf(IOException.class);
+	}
+
+	private static byte[] createArchive(String... names) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+			for (String name : names) {
+				TarArchiveEntry entry = new TarArchiveEntry(name);
+				if (name.endsWith("/")) {
+					tar.putArchiveEntry(entry);
+				}
+				else {
+					byte[] content = name.getBytes(StandardCharsets.UTF_8);
+					entry.setSize(content.length);
+					tar.putArchiveEntry(entry);
+					tar.write(content);
+				}
+				tar.closeArchiveEntry();
+			}
+		}
+		return out.toByteArray();
+	}
+
+}